@@ -1,6 +1,11 @@
 package com.exemplo.metas.config;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
 
 /**
  * Properties specific to Metas Enem.
@@ -13,12 +18,30 @@ public class ApplicationProperties {
 
     private final Liquibase liquibase = new Liquibase();
 
+    private final Persistence persistence = new Persistence();
+
+    private final Cache cache = new Cache();
+
+    private final Security security = new Security();
+
     // jhipster-needle-application-properties-property
 
     public Liquibase getLiquibase() {
         return liquibase;
     }
 
+    public Persistence getPersistence() {
+        return persistence;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public Security getSecurity() {
+        return security;
+    }
+
     // jhipster-needle-application-properties-property-getter
 
     public static class Liquibase {
@@ -33,5 +56,432 @@ public class ApplicationProperties {
             this.asyncStart = asyncStart;
         }
     }
+
+    public static class Persistence {
+
+        /**
+         * Update alunos on {@code PUT} with a single {@code UPDATE} statement, without loading them first.
+         * Hibernate evicts the whole {@code Aluno} second-level cache region on such bulk updates; the other instances
+         * are told through the cache invalidation bus, when enabled.
+         */
+        private boolean directUpdates = false;
+
+        public boolean isDirectUpdates() {
+            return directUpdates;
+        }
+
+        public void setDirectUpdates(boolean directUpdates) {
+            this.directUpdates = directUpdates;
+        }
+    }
+
+    public static class Cache {
+
+        public enum Mode {
+            /**
+             * Every instance keeps its own copy of the caches in a local Ehcache.
+             */
+            LOCAL,
+            /**
+             * The instances share partitioned caches in an embedded Hazelcast cluster.
+             */
+            DISTRIBUTED,
+        }
+
+        private Mode mode = Mode.LOCAL;
+
+        /**
+         * Per-region overrides of {@code jhipster.cache.ehcache}, keyed by cache name,
+         * e.g. {@code application.cache.regions[com.exemplo.metas.domain.Meta].max-entries}.
+         */
+        private final Map<String, Region> regions = new LinkedHashMap<>();
+
+        private final WarmUp warmUp = new WarmUp();
+
+        private final Invalidation invalidation = new Invalidation();
+
+        private final Distributed distributed = new Distributed();
+
+        public Mode getMode() {
+            return mode;
+        }
+
+        public void setMode(Mode mode) {
+            this.mode = mode;
+        }
+
+        public Map<String, Region> getRegions() {
+            return regions;
+        }
+
+        public WarmUp getWarmUp() {
+            return warmUp;
+        }
+
+        public Invalidation getInvalidation() {
+            return invalidation;
+        }
+
+        public Distributed getDistributed() {
+            return distributed;
+        }
+
+        public static class Region {
+
+            /**
+             * Number of entries kept on heap; exclusive with {@code heap-size}.
+             */
+            private Long maxEntries;
+
+            /**
+             * Size of the heap tier; exclusive with {@code max-entries}.
+             */
+            private DataSize heapSize;
+
+            /**
+             * Size of an optional off-heap tier, holding the entries evicted from the heap outside of the GC-managed memory.
+             */
+            private DataSize offHeapSize;
+
+            /**
+             * Time after which entries expire once written; exclusive with {@code time-to-idle-seconds}.
+             */
+            private Long timeToLiveSeconds;
+
+            /**
+             * Time after which entries expire once last read; exclusive with {@code time-to-live-seconds}.
+             */
+            private Long timeToIdleSeconds;
+
+            /**
+             * Number of entries of an optional near cache, a small Caffeine map read before the region itself.
+             * Only applies to the caches used through the Spring cache abstraction, such as {@code usersByLogin}.
+             */
+            private Long nearCacheMaxEntries;
+
+            /**
+             * Time after which near cache entries expire once written, bounding how long they may lag behind changes made
+             * to the region by other instances.
+             */
+            private long nearCacheTimeToLiveSeconds = 10;
+
+            public Long getMaxEntries() {
+                return maxEntries;
+            }
+
+            public void setMaxEntries(Long maxEntries) {
+                this.maxEntries = maxEntries;
+            }
+
+            public DataSize getHeapSize() {
+                return heapSize;
+            }
+
+            public void setHeapSize(DataSize heapSize) {
+                this.heapSize = heapSize;
+            }
+
+            public DataSize getOffHeapSize() {
+                return offHeapSize;
+            }
+
+            public void setOffHeapSize(DataSize offHeapSize) {
+                this.offHeapSize = offHeapSize;
+            }
+
+            public Long getTimeToLiveSeconds() {
+                return timeToLiveSeconds;
+            }
+
+            public void setTimeToLiveSeconds(Long timeToLiveSeconds) {
+                this.timeToLiveSeconds = timeToLiveSeconds;
+            }
+
+            public Long getTimeToIdleSeconds() {
+                return timeToIdleSeconds;
+            }
+
+            public void setTimeToIdleSeconds(Long timeToIdleSeconds) {
+                this.timeToIdleSeconds = timeToIdleSeconds;
+            }
+
+            public Long getNearCacheMaxEntries() {
+                return nearCacheMaxEntries;
+            }
+
+            public void setNearCacheMaxEntries(Long nearCacheMaxEntries) {
+                this.nearCacheMaxEntries = nearCacheMaxEntries;
+            }
+
+            public long getNearCacheTimeToLiveSeconds() {
+                return nearCacheTimeToLiveSeconds;
+            }
+
+            public void setNearCacheTimeToLiveSeconds(long nearCacheTimeToLiveSeconds) {
+                this.nearCacheTimeToLiveSeconds = nearCacheTimeToLiveSeconds;
+            }
+        }
+
+        public static class WarmUp {
+
+            /**
+             * Preload the caches in the background once the application is ready.
+             */
+            private boolean enabled = false;
+
+            /**
+             * Report the {@code cacheWarmUp} health indicator as out of service until the warm-up is over,
+             * so that a readiness group including it waits for the warm-up.
+             */
+            private boolean waitForReadiness = false;
+
+            /**
+             * Number of activated users, most recently modified first, preloaded into {@code usersByLogin}.
+             */
+            private int users = 100;
+
+            /**
+             * Ids of the alunos preloaded into the second-level cache.
+             */
+            private List<Long> alunoIds = new ArrayList<>();
+
+            /**
+             * Ids of the metas preloaded into the second-level cache.
+             */
+            private List<Long> metaIds = new ArrayList<>();
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public boolean isWaitForReadiness() {
+                return waitForReadiness;
+            }
+
+            public void setWaitForReadiness(boolean waitForReadiness) {
+                this.waitForReadiness = waitForReadiness;
+            }
+
+            public int getUsers() {
+                return users;
+            }
+
+            public void setUsers(int users) {
+                this.users = users;
+            }
+
+            public List<Long> getAlunoIds() {
+                return alunoIds;
+            }
+
+            public void setAlunoIds(List<Long> alunoIds) {
+                this.alunoIds = alunoIds;
+            }
+
+            public List<Long> getMetaIds() {
+                return metaIds;
+            }
+
+            public void setMetaIds(List<Long> metaIds) {
+                this.metaIds = metaIds;
+            }
+        }
+
+        public static class Invalidation {
+
+            /**
+             * Broadcast the cache evictions of this instance to its peers, and apply theirs.
+             */
+            private boolean enabled = false;
+
+            /**
+             * Address the UDP socket receiving the evictions of the peers is bound to; any address but a loopback one
+             * requires a {@code secret}.
+             */
+            private String bindAddress = "127.0.0.1";
+
+            /**
+             * Secret shared by the instances, authenticating their evictions with an HMAC.
+             */
+            private String secret;
+
+            /**
+             * Port of the UDP socket receiving the evictions of the peers.
+             */
+            private int port = 7600;
+
+            /**
+             * The other instances, as {@code host:port}; this instance may be listed too, its own evictions are ignored.
+             */
+            private List<String> peers = new ArrayList<>();
+
+            /**
+             * Interval at which queued evictions are coalesced and sent.
+             */
+            private long flushIntervalMillis = 20;
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public String getBindAddress() {
+                return bindAddress;
+            }
+
+            public void setBindAddress(String bindAddress) {
+                this.bindAddress = bindAddress;
+            }
+
+            public String getSecret() {
+                return secret;
+            }
+
+            public void setSecret(String secret) {
+                this.secret = secret;
+            }
+
+            public int getPort() {
+                return port;
+            }
+
+            public void setPort(int port) {
+                this.port = port;
+            }
+
+            public List<String> getPeers() {
+                return peers;
+            }
+
+            public void setPeers(List<String> peers) {
+                this.peers = peers;
+            }
+
+            public long getFlushIntervalMillis() {
+                return flushIntervalMillis;
+            }
+
+            public void setFlushIntervalMillis(long flushIntervalMillis) {
+                this.flushIntervalMillis = flushIntervalMillis;
+            }
+        }
+
+        /**
+         * Settings of the embedded cluster used in the {@code distributed} mode.
+         */
+        public static class Distributed {
+
+            /**
+             * Name of the cluster; only members with the same name join each other.
+             */
+            private String clusterName = "metasEnem";
+
+            /**
+             * First port the member listens on; the next free port is used when it is taken,
+             * e.g. by another instance on the same host.
+             */
+            private int port = 5701;
+
+            /**
+             * The members to join, as {@code host} or {@code host:port}.
+             */
+            private List<String> members = new ArrayList<>();
+
+            /**
+             * Number of synchronous backups of every cache entry, on other members.
+             */
+            private int backupCount = 1;
+
+            public String getClusterName() {
+                return clusterName;
+            }
+
+            public void setClusterName(String clusterName) {
+                this.clusterName = clusterName;
+            }
+
+            public int getPort() {
+                return port;
+            }
+
+            public void setPort(int port) {
+                this.port = port;
+            }
+
+            public List<String> getMembers() {
+                return members;
+            }
+
+            public void setMembers(List<String> members) {
+                this.members = members;
+            }
+
+            public int getBackupCount() {
+                return backupCount;
+            }
+
+            public void setBackupCount(int backupCount) {
+                this.backupCount = backupCount;
+            }
+        }
+    }
+
+    public static class Security {
+
+        private final JwtCache jwtCache = new JwtCache();
+
+        public JwtCache getJwtCache() {
+            return jwtCache;
+        }
+
+        /**
+         * Cache of the verified and rejected JWT tokens, sparing the parsing and signature check of tokens sent again.
+         */
+        public static class JwtCache {
+
+            private boolean enabled = true;
+
+            /**
+             * Maximum number of verified tokens kept, each one until it expires, and of rejected tokens kept.
+             */
+            private long maxEntries = 10_000;
+
+            /**
+             * How long a rejected token is rejected again without being parsed.
+             */
+            private long rejectedTimeToLiveSeconds = 60;
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public long getMaxEntries() {
+                return maxEntries;
+            }
+
+            public void setMaxEntries(long maxEntries) {
+                this.maxEntries = maxEntries;
+            }
+
+            public long getRejectedTimeToLiveSeconds() {
+                return rejectedTimeToLiveSeconds;
+            }
+
+            public void setRejectedTimeToLiveSeconds(long rejectedTimeToLiveSeconds) {
+                this.rejectedTimeToLiveSeconds = rejectedTimeToLiveSeconds;
+            }
+        }
+    }
     // jhipster-needle-application-properties-property-class
 }
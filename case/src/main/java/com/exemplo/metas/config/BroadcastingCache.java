@@ -0,0 +1,81 @@
+package com.exemplo.metas.config;
+
+import java.util.concurrent.Callable;
+import org.springframework.cache.Cache;
+
+/**
+ * A {@link Cache} broadcasting its evictions to the peers through the {@link CacheInvalidationBus}.
+ */
+final class BroadcastingCache implements Cache {
+
+    private final Cache delegate;
+
+    private final CacheInvalidationBus invalidationBus;
+
+    BroadcastingCache(Cache delegate, CacheInvalidationBus invalidationBus) {
+        this.delegate = delegate;
+        this.invalidationBus = invalidationBus;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return delegate.get(key);
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return delegate.get(key, type);
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return delegate.get(key, valueLoader);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        return delegate.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+        invalidationBus.publishCacheKey(getName(), key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean evicted = delegate.evictIfPresent(key);
+        // The peers may hold the key even when this instance does not
+        invalidationBus.publishCacheKey(getName(), key);
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+        invalidationBus.publishCacheClear(getName());
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean invalidated = delegate.invalidate();
+        invalidationBus.publishCacheClear(getName());
+        return invalidated;
+    }
+}
@@ -1,14 +1,32 @@
 package com.exemplo.metas.config;
 
+import com.hazelcast.config.CacheConfig;
+import com.hazelcast.config.EvictionConfig;
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.MaxSizePolicy;
 import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import javax.cache.Caching;
+import javax.cache.expiry.CreatedExpiryPolicy;
+import javax.cache.expiry.TouchedExpiryPolicy;
 import org.ehcache.config.builders.*;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.expiry.ExpiryPolicy;
+import org.ehcache.impl.serialization.PlainJavaSerializer;
 import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
 import org.hibernate.cache.jcache.ConfigSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.cache.JCacheManagerCustomizer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
 import org.springframework.boot.info.BuildProperties;
 import org.springframework.boot.info.GitProperties;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.interceptor.KeyGenerator;
 import org.springframework.context.annotation.*;
@@ -19,22 +37,134 @@ import tech.jhipster.config.cache.PrefixedKeyGenerator;
 @EnableCaching
 public class CacheConfiguration {
 
+    private static final Logger LOG = LoggerFactory.getLogger(CacheConfiguration.class);
+
     private GitProperties gitProperties;
     private BuildProperties buildProperties;
+    private final JHipsterProperties.Cache.Ehcache ehcache;
+    private final Map<String, ApplicationProperties.Cache.Region> regions;
+    private final ApplicationProperties.Cache.Mode mode;
+    private final int backupCount;
     private final javax.cache.configuration.Configuration<Object, Object> jcacheConfiguration;
 
-    public CacheConfiguration(JHipsterProperties jHipsterProperties) {
-        JHipsterProperties.Cache.Ehcache ehcache = jHipsterProperties.getCache().getEhcache();
-
+    public CacheConfiguration(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties) {
+        ehcache = jHipsterProperties.getCache().getEhcache();
+        regions = applicationProperties.getCache().getRegions();
+        mode = applicationProperties.getCache().getMode();
+        backupCount = applicationProperties.getCache().getDistributed().getBackupCount();
         jcacheConfiguration = Eh107Configuration.fromEhcacheCacheConfiguration(
-            CacheConfigurationBuilder.newCacheConfigurationBuilder(
-                Object.class,
-                Object.class,
-                ResourcePoolsBuilder.heap(ehcache.getMaxEntries())
-            )
-                .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(ehcache.getTimeToLiveSeconds())))
-                .build()
+            ehcacheConfiguration("default", new ApplicationProperties.Cache.Region(), ehcache)
+        );
+    }
+
+    /**
+     * Build the configuration of a region, falling back to the {@code jhipster.cache.ehcache} settings for what the
+     * region does not override.
+     */
+    static org.ehcache.config.CacheConfiguration<Object, Object> ehcacheConfiguration(
+        String cacheName,
+        ApplicationProperties.Cache.Region region,
+        JHipsterProperties.Cache.Ehcache ehcache
+    ) {
+        if (region.getMaxEntries() != null && region.getHeapSize() != null) {
+            throw new IllegalArgumentException("Cache " + cacheName + ": max-entries and heap-size are exclusive");
+        }
+        if (region.getTimeToLiveSeconds() != null && region.getTimeToIdleSeconds() != null) {
+            throw new IllegalArgumentException("Cache " + cacheName + ": time-to-live-seconds and time-to-idle-seconds are exclusive");
+        }
+
+        ResourcePoolsBuilder resourcePools = region.getHeapSize() != null
+            ? ResourcePoolsBuilder.newResourcePoolsBuilder().heap(region.getHeapSize().toBytes(), MemoryUnit.B)
+            : ResourcePoolsBuilder.heap(region.getMaxEntries() != null ? region.getMaxEntries() : ehcache.getMaxEntries());
+        if (region.getOffHeapSize() != null) {
+            resourcePools = resourcePools.offheap(region.getOffHeapSize().toBytes(), MemoryUnit.B);
+        }
+
+        ExpiryPolicy<Object, Object> expiry = region.getTimeToIdleSeconds() != null
+            ? ExpiryPolicyBuilder.timeToIdleExpiration(Duration.ofSeconds(region.getTimeToIdleSeconds()))
+            : ExpiryPolicyBuilder.timeToLiveExpiration(
+                Duration.ofSeconds(region.getTimeToLiveSeconds() != null ? region.getTimeToLiveSeconds() : ehcache.getTimeToLiveSeconds())
+            );
+
+        CacheConfigurationBuilder<Object, Object> builder = CacheConfigurationBuilder.newCacheConfigurationBuilder(
+            Object.class,
+            Object.class,
+            resourcePools
+        ).withExpiry(expiry);
+        if (region.getOffHeapSize() != null) {
+            // Entries leaving the heap are serialized; the keys and values of all our caches are Serializable
+            ClassLoader classLoader = CacheConfiguration.class.getClassLoader();
+            builder = builder
+                .withKeySerializer(new PlainJavaSerializer<>(classLoader))
+                .withValueSerializer(new PlainJavaSerializer<>(classLoader));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Build the configuration of a region of the {@code distributed} mode, falling back to the
+     * {@code jhipster.cache.ehcache} settings for what the region does not override.
+     * <p>
+     * Hazelcast keeps the entries on heap, spread across the members: the heap and off-heap sizes do not apply,
+     * and {@code max-entries} bounds the entries of each member.
+     */
+    static CacheConfig<Object, Object> hazelcastConfiguration(
+        String cacheName,
+        ApplicationProperties.Cache.Region region,
+        JHipsterProperties.Cache.Ehcache ehcache,
+        int backupCount
+    ) {
+        if (region.getTimeToLiveSeconds() != null && region.getTimeToIdleSeconds() != null) {
+            throw new IllegalArgumentException("Cache " + cacheName + ": time-to-live-seconds and time-to-idle-seconds are exclusive");
+        }
+        if (region.getHeapSize() != null || region.getOffHeapSize() != null) {
+            LOG.warn("Ignoring the heap-size and off-heap-size of cache {} in distributed mode", cacheName);
+        }
+
+        long maxEntries = region.getMaxEntries() != null ? region.getMaxEntries() : ehcache.getMaxEntries();
+        CacheConfig<Object, Object> configuration = new CacheConfig<>();
+        configuration.setBackupCount(backupCount);
+        configuration.setEvictionConfig(
+            new EvictionConfig()
+                .setMaxSizePolicy(MaxSizePolicy.ENTRY_COUNT)
+                .setEvictionPolicy(EvictionPolicy.LRU)
+                .setSize((int) Math.min(maxEntries, Integer.MAX_VALUE))
+        );
+        configuration.setExpiryPolicyFactory(
+            region.getTimeToIdleSeconds() != null
+                ? TouchedExpiryPolicy.factoryOf(new javax.cache.expiry.Duration(TimeUnit.SECONDS, region.getTimeToIdleSeconds()))
+                : CreatedExpiryPolicy.factoryOf(
+                    new javax.cache.expiry.Duration(
+                        TimeUnit.SECONDS,
+                        region.getTimeToLiveSeconds() != null ? region.getTimeToLiveSeconds() : ehcache.getTimeToLiveSeconds()
+                    )
+                )
         );
+        return configuration;
+    }
+
+    /**
+     * The JCache manager of the {@code local} mode, backed by Ehcache; the {@code distributed} mode gets its own from
+     * {@link DistributedCacheConfiguration}.
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "application.cache", name = "mode", havingValue = "local", matchIfMissing = true)
+    public javax.cache.CacheManager jCacheCacheManager(ObjectProvider<JCacheManagerCustomizer> customizers) {
+        javax.cache.CacheManager cacheManager = Caching.getCachingProvider(EhcacheCachingProvider.class.getName()).getCacheManager(
+            null,
+            CacheConfiguration.class.getClassLoader()
+        );
+        customizers.orderedStream().forEach(customizer -> customizer.customize(cacheManager));
+        return cacheManager;
+    }
+
+    /**
+     * The Spring cache manager, adding the configured near caches and the broadcasting of evictions to the JCache
+     * regions. Declaring it replaces the one of Spring Boot's cache auto-configuration, along with its JCache manager.
+     */
+    @Bean
+    public CacheManager cacheManager(javax.cache.CacheManager jCacheCacheManager, ObjectProvider<CacheInvalidationBus> invalidationBus) {
+        return new DecoratingJCacheCacheManager(jCacheCacheManager, regions, invalidationBus.getIfAvailable());
     }
 
     @Bean
@@ -47,12 +177,18 @@ public class CacheConfiguration {
         return cm -> {
             createCache(cm, com.exemplo.metas.repository.UserRepository.USERS_BY_LOGIN_CACHE);
             createCache(cm, com.exemplo.metas.repository.UserRepository.USERS_BY_EMAIL_CACHE);
+            createCache(cm, com.exemplo.metas.security.DomainUserDetailsService.USER_PRINCIPALS_CACHE);
             createCache(cm, com.exemplo.metas.domain.User.class.getName());
             createCache(cm, com.exemplo.metas.domain.Authority.class.getName());
             createCache(cm, com.exemplo.metas.domain.User.class.getName() + ".authorities");
             createCache(cm, com.exemplo.metas.domain.Aluno.class.getName());
             createCache(cm, com.exemplo.metas.domain.Meta.class.getName());
             // jhipster-needle-ehcache-add-entry
+            regions
+                .keySet()
+                .stream()
+                .filter(cacheName -> cm.getCache(cacheName) == null)
+                .forEach(cacheName -> LOG.warn("Ignoring the configuration of unknown cache {}", cacheName));
         };
     }
 
@@ -61,8 +197,21 @@ public class CacheConfiguration {
         if (cache != null) {
             cache.clear();
         } else {
-            cm.createCache(cacheName, jcacheConfiguration);
+            ApplicationProperties.Cache.Region region = regions.get(cacheName);
+            if (mode == ApplicationProperties.Cache.Mode.DISTRIBUTED) {
+                ApplicationProperties.Cache.Region distributedRegion = region != null ? region : new ApplicationProperties.Cache.Region();
+                cm.createCache(cacheName, hazelcastConfiguration(cacheName, distributedRegion, ehcache, backupCount));
+            } else if (region == null) {
+                cm.createCache(cacheName, jcacheConfiguration);
+            } else {
+                cm.createCache(
+                    cacheName,
+                    Eh107Configuration.fromEhcacheCacheConfiguration(ehcacheConfiguration(cacheName, region, ehcache))
+                );
+            }
         }
+        // Read by CacheStatisticsService
+        cm.enableStatistics(cacheName, true);
     }
 
     @Autowired(required = false)
@@ -0,0 +1,382 @@
+package com.exemplo.metas.config;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketException;
+import java.net.UnknownHostException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.util.StringUtils;
+
+/**
+ * Broadcasts cache evictions to the other instances of the application, over UDP.
+ * <p>
+ * Evictions are queued and sent every {@code flush-interval-millis}: duplicates are coalesced, and the eviction of a
+ * whole region supersedes the evictions of its single keys. Received evictions are applied to the local Hibernate
+ * second-level cache or to the local Spring caches, without being broadcast again.
+ * <p>
+ * The socket listens on the loopback interface unless configured otherwise, in which case a shared {@code secret} is
+ * required: every datagram is then prefixed with its HMAC-SHA256, and the datagrams whose HMAC does not match are
+ * dropped. The datagrams are not acknowledged, so a lost eviction is only bounded by the time-to-live of the region.
+ */
+public class CacheInvalidationBus implements SmartLifecycle {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CacheInvalidationBus.class);
+
+    /**
+     * Maximum payload of a datagram, below the usual MTU so that datagrams are not fragmented.
+     */
+    static final int MAX_PACKET_SIZE = 1400;
+
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+
+    static final int MAC_LENGTH = 32;
+
+    enum Kind {
+        ENTITY,
+        COLLECTION,
+        CACHE,
+    }
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final ApplicationProperties.Cache.Invalidation properties;
+
+    private final Map<String, Cache> localCaches = new ConcurrentHashMap<>();
+
+    private final Set<String> pending = new LinkedHashSet<>();
+
+    private volatile SessionFactory sessionFactory;
+
+    private List<InetSocketAddress> peers;
+
+    private SecretKeySpec secretKey;
+
+    private DatagramSocket socket;
+
+    private ScheduledExecutorService flusher;
+
+    private volatile boolean running;
+
+    public CacheInvalidationBus(ApplicationProperties.Cache.Invalidation properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Set the session factory whose second-level cache receives the entity and collection evictions.
+     */
+    public void setSessionFactory(SessionFactory sessionFactory) {
+        this.sessionFactory = sessionFactory;
+    }
+
+    /**
+     * Register the local view of a Spring cache, which receives the evictions of that cache.
+     */
+    public void registerCache(Cache cache) {
+        localCaches.put(cache.getName(), cache);
+    }
+
+    public void publishEntity(String entityName, Object id) {
+        publish(Kind.ENTITY, entityName, id);
+    }
+
+    public void publishCollection(String role, Object ownerId) {
+        publish(Kind.COLLECTION, role, ownerId);
+    }
+
+    public void publishCacheKey(String cacheName, Object key) {
+        publish(Kind.CACHE, cacheName, key);
+    }
+
+    public void publishCacheClear(String cacheName) {
+        publish(Kind.CACHE, cacheName, null);
+    }
+
+    private void publish(Kind kind, String region, Object key) {
+        if (!running) {
+            return;
+        }
+        String line = encode(kind, region, key);
+        synchronized (pending) {
+            pending.add(line);
+        }
+    }
+
+    /**
+     * Encode an eviction as a line; a key that cannot be encoded evicts the whole region.
+     */
+    static String encode(Kind kind, String region, Object key) {
+        String prefix = kind.name() + '\t' + region;
+        if (key instanceof Long) {
+            return prefix + "\tL:" + key;
+        }
+        if (key instanceof String string) {
+            return prefix + "\tS:" + URLEncoder.encode(string, StandardCharsets.UTF_8);
+        }
+        return prefix;
+    }
+
+    /**
+     * Drop the evictions of single keys of the regions that are evicted as a whole, and split the rest in datagrams.
+     */
+    static List<String> coalesce(String nodeId, Set<String> lines) {
+        Set<String> wholeRegions = new HashSet<>();
+        for (String line : lines) {
+            if (line.indexOf('\t') == line.lastIndexOf('\t')) {
+                wholeRegions.add(line);
+            }
+        }
+        List<String> payloads = new ArrayList<>();
+        StringBuilder payload = new StringBuilder(nodeId);
+        for (String line : lines) {
+            if (!wholeRegions.contains(line) && wholeRegions.contains(line.substring(0, line.lastIndexOf('\t')))) {
+                continue;
+            }
+            if (payload.length() + 1 + line.length() > MAX_PACKET_SIZE - MAC_LENGTH && payload.length() > nodeId.length()) {
+                payloads.add(payload.toString());
+                payload = new StringBuilder(nodeId);
+            }
+            payload.append('\n').append(line);
+        }
+        if (payload.length() > nodeId.length()) {
+            payloads.add(payload.toString());
+        }
+        return payloads;
+    }
+
+    void flush() {
+        Set<String> lines;
+        synchronized (pending) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            lines = new LinkedHashSet<>(pending);
+            pending.clear();
+        }
+        for (String payload : coalesce(nodeId, lines)) {
+            byte[] data = seal(payload.getBytes(StandardCharsets.UTF_8));
+            for (InetSocketAddress peer : peers) {
+                try {
+                    socket.send(new DatagramPacket(data, data.length, peer));
+                } catch (IOException e) {
+                    LOG.warn("Could not send cache evictions to {}: {}", peer, e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void receive() {
+        byte[] buffer = new byte[MAX_PACKET_SIZE * 2];
+        while (running) {
+            DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+            try {
+                socket.receive(packet);
+                String payload = open(packet.getData(), packet.getOffset(), packet.getLength());
+                if (payload == null) {
+                    LOG.warn("Ignoring unauthenticated cache evictions from {}", packet.getSocketAddress());
+                    continue;
+                }
+                apply(payload);
+            } catch (IOException e) {
+                if (running) {
+                    LOG.warn("Could not receive cache evictions: {}", e.getMessage());
+                }
+            } catch (RuntimeException e) {
+                LOG.warn("Could not apply cache evictions from {}: {}", packet.getSocketAddress(), e.toString());
+            }
+        }
+    }
+
+    /**
+     * Prefix a payload with its HMAC, when a secret is configured.
+     */
+    byte[] seal(byte[] payload) {
+        if (secretKey == null) {
+            return payload;
+        }
+        byte[] sealed = new byte[MAC_LENGTH + payload.length];
+        System.arraycopy(mac().doFinal(payload), 0, sealed, 0, MAC_LENGTH);
+        System.arraycopy(payload, 0, sealed, MAC_LENGTH, payload.length);
+        return sealed;
+    }
+
+    /**
+     * Read the payload of a datagram, when a secret is configured checking its HMAC.
+     *
+     * @return the payload, or {@code null} if its HMAC does not match.
+     */
+    String open(byte[] data, int offset, int length) {
+        if (secretKey == null) {
+            return new String(data, offset, length, StandardCharsets.UTF_8);
+        }
+        if (length < MAC_LENGTH) {
+            return null;
+        }
+        Mac mac = mac();
+        mac.update(data, offset + MAC_LENGTH, length - MAC_LENGTH);
+        if (!MessageDigest.isEqual(mac.doFinal(), Arrays.copyOfRange(data, offset, offset + MAC_LENGTH))) {
+            return null;
+        }
+        return new String(data, offset + MAC_LENGTH, length - MAC_LENGTH, StandardCharsets.UTF_8);
+    }
+
+    private Mac mac() {
+        try {
+            Mac mac = Mac.getInstance(MAC_ALGORITHM);
+            mac.init(secretKey);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not compute the HMAC of cache evictions", e);
+        }
+    }
+
+    void apply(String payload) {
+        String[] lines = payload.split("\n");
+        if (lines[0].equals(nodeId)) {
+            return;
+        }
+        for (int i = 1; i < lines.length; i++) {
+            String[] fields = lines[i].split("\t");
+            Kind kind = Kind.valueOf(fields[0]);
+            String region = fields[1];
+            Object key = fields.length > 2 ? decodeKey(fields[2]) : null;
+            LOG.debug("Evicting {} {} {} on behalf of node {}", kind, region, key, lines[0]);
+            evictLocally(kind, region, key);
+        }
+    }
+
+    private static Object decodeKey(String key) {
+        if (key.startsWith("L:")) {
+            return Long.valueOf(key.substring(2));
+        }
+        if (key.startsWith("S:")) {
+            return URLDecoder.decode(key.substring(2), StandardCharsets.UTF_8);
+        }
+        throw new IllegalArgumentException("Unknown key " + key);
+    }
+
+    private void evictLocally(Kind kind, String region, Object key) {
+        switch (kind) {
+            case ENTITY -> {
+                if (sessionFactory == null) {
+                    return;
+                }
+                if (key == null) {
+                    sessionFactory.getCache().evictEntityData(region);
+                } else {
+                    sessionFactory.getCache().evictEntityData(region, key);
+                }
+            }
+            case COLLECTION -> {
+                if (sessionFactory == null) {
+                    return;
+                }
+                if (key == null) {
+                    sessionFactory.getCache().evictCollectionData(region);
+                } else {
+                    sessionFactory.getCache().evictCollectionData(region, key);
+                }
+            }
+            case CACHE -> {
+                Cache cache = localCaches.get(region);
+                if (cache == null) {
+                    return;
+                }
+                if (key == null) {
+                    cache.clear();
+                } else {
+                    cache.evictIfPresent(key);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        peers = properties.getPeers().stream().map(CacheInvalidationBus::parsePeer).toList();
+        try {
+            InetAddress bindAddress = InetAddress.getByName(properties.getBindAddress());
+            if (StringUtils.hasText(properties.getSecret())) {
+                secretKey = new SecretKeySpec(properties.getSecret().getBytes(StandardCharsets.UTF_8), MAC_ALGORITHM);
+            } else if (!bindAddress.isLoopbackAddress()) {
+                throw new IllegalStateException("The cache invalidation bus needs a secret to listen on " + bindAddress);
+            }
+            socket = new DatagramSocket(new InetSocketAddress(bindAddress, properties.getPort()));
+        } catch (SocketException | UnknownHostException e) {
+            throw new IllegalStateException("Could not bind the cache invalidation bus to port " + properties.getPort(), e);
+        }
+        running = true;
+        Thread receiver = new Thread(this::receive, "cache-invalidation-receiver");
+        receiver.setDaemon(true);
+        receiver.start();
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cache-invalidation-sender");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getFlushIntervalMillis();
+        flusher.scheduleWithFixedDelay(this::flushQuietly, interval, interval, TimeUnit.MILLISECONDS);
+        LOG.info("Cache invalidation bus listening on {}, peers {}", socket.getLocalSocketAddress(), peers);
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            LOG.warn("Could not broadcast cache evictions: {}", e.toString());
+        }
+    }
+
+    private static InetSocketAddress parsePeer(String peer) {
+        int separator = peer.lastIndexOf(':');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Cache invalidation peer " + peer + " must be host:port");
+        }
+        return new InetSocketAddress(peer.substring(0, separator), Integer.parseInt(peer.substring(separator + 1)));
+    }
+
+    @Override
+    public void stop() {
+        flusher.shutdown();
+        flushQuietly();
+        running = false;
+        socket.close();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * @return the local port the bus listens on, once started.
+     */
+    public int getLocalPort() {
+        return socket.getLocalPort();
+    }
+}
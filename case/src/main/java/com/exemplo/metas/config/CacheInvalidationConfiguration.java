@@ -0,0 +1,41 @@
+package com.exemplo.metas.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration of the {@link CacheInvalidationBus}, keeping the caches of several instances of the application in sync.
+ * <p>
+ * The Spring caches are wired to the bus by {@link CacheConfiguration}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.cache.invalidation", name = "enabled", havingValue = "true")
+public class CacheInvalidationConfiguration {
+
+    @Bean
+    public CacheInvalidationBus cacheInvalidationBus(ApplicationProperties applicationProperties) {
+        return new CacheInvalidationBus(applicationProperties.getCache().getInvalidation());
+    }
+
+    @Bean
+    public CacheInvalidationEventListener cacheInvalidationEventListener(
+        CacheInvalidationBus cacheInvalidationBus,
+        EntityManagerFactory entityManagerFactory
+    ) {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        cacheInvalidationBus.setSessionFactory(sessionFactory);
+        CacheInvalidationEventListener listener = new CacheInvalidationEventListener(cacheInvalidationBus);
+        EventListenerRegistry registry = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_UPDATE, listener);
+        registry.appendListeners(EventType.POST_DELETE, listener);
+        registry.appendListeners(EventType.POST_COLLECTION_UPDATE, listener);
+        registry.appendListeners(EventType.POST_COLLECTION_REMOVE, listener);
+        registry.appendListeners(EventType.POST_COLLECTION_RECREATE, listener);
+        return listener;
+    }
+}
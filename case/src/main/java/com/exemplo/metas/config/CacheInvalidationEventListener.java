@@ -0,0 +1,109 @@
+package com.exemplo.metas.config;
+
+import com.exemplo.metas.service.EntityBulkUpdatedEvent;
+import org.hibernate.event.spi.AbstractCollectionEvent;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.PostCollectionRecreateEvent;
+import org.hibernate.event.spi.PostCollectionRecreateEventListener;
+import org.hibernate.event.spi.PostCollectionRemoveEvent;
+import org.hibernate.event.spi.PostCollectionRemoveEventListener;
+import org.hibernate.event.spi.PostCollectionUpdateEvent;
+import org.hibernate.event.spi.PostCollectionUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.collection.CollectionPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Hibernate listener broadcasting the second-level cache evictions caused by updates and deletions, once the
+ * transaction is committed.
+ * <p>
+ * Bulk JPQL updates are not seen by Hibernate event listeners: the services issuing them publish an
+ * {@link EntityBulkUpdatedEvent} instead, broadcast here once the transaction is committed.
+ */
+class CacheInvalidationEventListener
+    implements
+        PostUpdateEventListener,
+        PostDeleteEventListener,
+        PostCollectionUpdateEventListener,
+        PostCollectionRemoveEventListener,
+        PostCollectionRecreateEventListener {
+
+    private final CacheInvalidationBus invalidationBus;
+
+    CacheInvalidationEventListener(CacheInvalidationBus invalidationBus) {
+        this.invalidationBus = invalidationBus;
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        onEntityChanged(event.getSession(), event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        onEntityChanged(event.getSession(), event.getPersister(), event.getId());
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    @TransactionalEventListener
+    public void onEntityBulkUpdated(EntityBulkUpdatedEvent event) {
+        invalidationBus.publishEntity(event.getEntityName(), event.getId());
+    }
+
+    @Override
+    public void onPostUpdateCollection(PostCollectionUpdateEvent event) {
+        onCollectionChanged(event);
+    }
+
+    @Override
+    public void onPostRemoveCollection(PostCollectionRemoveEvent event) {
+        onCollectionChanged(event);
+    }
+
+    @Override
+    public void onPostRecreateCollection(PostCollectionRecreateEvent event) {
+        onCollectionChanged(event);
+    }
+
+    private void onEntityChanged(EventSource session, EntityPersister persister, Object id) {
+        if (!persister.canWriteToCache()) {
+            return;
+        }
+        String entityName = persister.getRootEntityName();
+        session
+            .getActionQueue()
+            .registerProcess((success, s) -> {
+                if (success) {
+                    invalidationBus.publishEntity(entityName, id);
+                }
+            });
+    }
+
+    private void onCollectionChanged(AbstractCollectionEvent event) {
+        Object ownerId = event.getAffectedOwnerIdOrNull();
+        String role = event.getCollection().getRole();
+        if (ownerId == null || role == null) {
+            return;
+        }
+        CollectionPersister persister = event.getFactory().getMappingMetamodel().getCollectionDescriptor(role);
+        if (!persister.hasCache()) {
+            return;
+        }
+        event
+            .getSession()
+            .getActionQueue()
+            .registerProcess((success, s) -> {
+                if (success) {
+                    invalidationBus.publishCollection(role, ownerId);
+                }
+            });
+    }
+}
@@ -0,0 +1,41 @@
+package com.exemplo.metas.config;
+
+import com.exemplo.metas.service.CacheWarmUpService;
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.stereotype.Component;
+
+/**
+ * Health indicator reporting the progress of the cache warm-up, as {@code cacheWarmUp}.
+ * <p>
+ * It is out of service while the warm-up runs only when {@code application.cache.warm-up.wait-for-readiness} is set;
+ * a failed warm-up is reported but does not make the application unhealthy.
+ */
+@Component
+public class CacheWarmUpHealthIndicator extends AbstractHealthIndicator {
+
+    private final CacheWarmUpService cacheWarmUpService;
+
+    public CacheWarmUpHealthIndicator(CacheWarmUpService cacheWarmUpService) {
+        super("Cache warm-up health check failed");
+        this.cacheWarmUpService = cacheWarmUpService;
+    }
+
+    @Override
+    protected void doHealthCheck(Health.Builder builder) {
+        CacheWarmUpService.Status status = cacheWarmUpService.getStatus();
+        boolean inProgress = status == CacheWarmUpService.Status.PENDING || status == CacheWarmUpService.Status.RUNNING;
+        if (inProgress && cacheWarmUpService.isWaitForReadiness()) {
+            builder.outOfService();
+        } else {
+            builder.up();
+        }
+        builder.withDetail("status", status).withDetail("loaded", cacheWarmUpService.getLoaded());
+        if (cacheWarmUpService.getDuration() != null) {
+            builder.withDetail("durationMs", cacheWarmUpService.getDuration().toMillis());
+        }
+        if (cacheWarmUpService.getError() != null) {
+            builder.withDetail("error", cacheWarmUpService.getError());
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.exemplo.metas.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+/**
+ * A {@link JwtDecoder} keeping the tokens verified by its delegate until they expire, so that a token sent again is
+ * neither parsed nor verified again.
+ * <p>
+ * The tokens the delegate rejects for good are also kept for a short time, and rejected again without being parsed.
+ * <p>
+ * The tokens are keyed by their SHA-256 digest, so that the cache does not hold usable bearer tokens. Tokens without
+ * an expiration time are not cached.
+ */
+final class CachingJwtDecoder implements JwtDecoder {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private final MeteredJwtDecoder delegate;
+
+    private final Clock clock;
+
+    private final Cache<ByteBuffer, Jwt> verified;
+
+    private final Cache<ByteBuffer, JwtFailure> rejected;
+
+    CachingJwtDecoder(MeteredJwtDecoder delegate, long maxEntries, Duration rejectedTimeToLive, Clock clock) {
+        this.delegate = delegate;
+        this.clock = clock;
+        this.verified = Caffeine.newBuilder().maximumSize(maxEntries).expireAfter(new UntilExpiresAt(clock)).build();
+        this.rejected = Caffeine.newBuilder().maximumSize(maxEntries).expireAfterWrite(rejectedTimeToLive).build();
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        ByteBuffer key = digest(token);
+        Jwt jwt = verified.getIfPresent(key);
+        if (jwt != null) {
+            return jwt;
+        }
+        JwtFailure failure = rejected.getIfPresent(key);
+        if (failure != null) {
+            throw delegate.reject(failure, null);
+        }
+        try {
+            jwt = delegate.decode(token);
+        } catch (RejectedJwtException e) {
+            if (e.getFailure().isPermanent()) {
+                rejected.put(key, e.getFailure());
+            }
+            throw e;
+        }
+        if (jwt.getExpiresAt() != null && jwt.getExpiresAt().isAfter(clock.instant())) {
+            verified.put(key, jwt);
+        }
+        return jwt;
+    }
+
+    long size() {
+        verified.cleanUp();
+        return verified.estimatedSize();
+    }
+
+    long rejectedSize() {
+        rejected.cleanUp();
+        return rejected.estimatedSize();
+    }
+
+    static ByteBuffer digest(String token) {
+        return ByteBuffer.wrap(SHA_256.get().digest(token.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static final class UntilExpiresAt implements Expiry<ByteBuffer, Jwt> {
+
+        private final Clock clock;
+
+        private UntilExpiresAt(Clock clock) {
+            this.clock = clock;
+        }
+
+        @Override
+        public long expireAfterCreate(ByteBuffer key, Jwt jwt, long currentTime) {
+            return Math.max(0, Duration.between(clock.instant(), jwt.getExpiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(ByteBuffer key, Jwt jwt, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, jwt, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(ByteBuffer key, Jwt jwt, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
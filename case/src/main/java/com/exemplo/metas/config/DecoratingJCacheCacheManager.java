@@ -0,0 +1,43 @@
+package com.exemplo.metas.config;
+
+import java.time.Duration;
+import java.util.Map;
+import org.springframework.cache.Cache;
+import org.springframework.cache.jcache.JCacheCacheManager;
+
+/**
+ * A {@link JCacheCacheManager} putting a {@link NearCache} in front of the regions configured with a near cache,
+ * and broadcasting the evictions of every cache when a {@link CacheInvalidationBus} is given. Without either, it
+ * behaves as a plain {@link JCacheCacheManager}.
+ */
+class DecoratingJCacheCacheManager extends JCacheCacheManager {
+
+    private final Map<String, ApplicationProperties.Cache.Region> regions;
+
+    private final CacheInvalidationBus invalidationBus;
+
+    DecoratingJCacheCacheManager(
+        javax.cache.CacheManager cacheManager,
+        Map<String, ApplicationProperties.Cache.Region> regions,
+        CacheInvalidationBus invalidationBus
+    ) {
+        super(cacheManager);
+        this.regions = regions;
+        this.invalidationBus = invalidationBus;
+    }
+
+    @Override
+    protected Cache decorateCache(Cache cache) {
+        ApplicationProperties.Cache.Region region = regions.get(cache.getName());
+        if (region != null && region.getNearCacheMaxEntries() != null) {
+            // Right above the region, so that the evictions received from the peers invalidate the near cache too
+            cache = new NearCache(cache, region.getNearCacheMaxEntries(), Duration.ofSeconds(region.getNearCacheTimeToLiveSeconds()));
+        }
+        if (invalidationBus != null) {
+            // Evictions received from the peers are applied below the broadcasting decorator, so they are not sent back
+            invalidationBus.registerCache(cache);
+            cache = new BroadcastingCache(cache, invalidationBus);
+        }
+        return super.decorateCache(cache);
+    }
+}
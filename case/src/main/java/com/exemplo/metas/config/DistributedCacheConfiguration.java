@@ -0,0 +1,67 @@
+package com.exemplo.metas.config;
+
+import com.hazelcast.cache.HazelcastCachingProvider;
+import com.hazelcast.cache.HazelcastMemberCachingProvider;
+import com.hazelcast.config.Config;
+import com.hazelcast.config.JoinConfig;
+import com.hazelcast.config.NetworkConfig;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.cache.JCacheManagerCustomizer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration of the {@code distributed} cache mode: the caches live in an embedded Hazelcast cluster shared by
+ * all the instances of the application, instead of a local Ehcache.
+ * <p>
+ * Hibernate's second-level cache and the Spring caches keep going through the JCache API, backed by Hazelcast's
+ * JCache implementation. The members find each other from the static {@code application.cache.distributed.members}
+ * list; multicast and cloud discovery are disabled.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.cache", name = "mode", havingValue = "distributed")
+public class DistributedCacheConfiguration {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DistributedCacheConfiguration.class);
+
+    @Bean(destroyMethod = "shutdown")
+    public HazelcastInstance hazelcastInstance(ApplicationProperties applicationProperties) {
+        LOG.debug("Starting the embedded Hazelcast member");
+        return Hazelcast.newHazelcastInstance(hazelcastConfig(applicationProperties.getCache().getDistributed()));
+    }
+
+    static Config hazelcastConfig(ApplicationProperties.Cache.Distributed distributed) {
+        Config config = new Config();
+        config.setClusterName(distributed.getClusterName());
+        config.setProperty("hazelcast.logging.type", "slf4j");
+        config.setProperty("hazelcast.phone.home.enabled", "false");
+        NetworkConfig network = config.getNetworkConfig();
+        network.setPort(distributed.getPort()).setPortAutoIncrement(true);
+        JoinConfig join = network.getJoin();
+        join.getMulticastConfig().setEnabled(false);
+        join.getAutoDetectionConfig().setEnabled(false);
+        join.getTcpIpConfig().setEnabled(true).setMembers(distributed.getMembers());
+        return config;
+    }
+
+    /**
+     * The JCache manager of the member, replacing the one Spring Boot would create from the default provider.
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager jCacheCacheManager(HazelcastInstance hazelcastInstance, ObjectProvider<JCacheManagerCustomizer> customizers) {
+        CacheManager cacheManager = Caching.getCachingProvider(HazelcastMemberCachingProvider.class.getName()).getCacheManager(
+            null,
+            DistributedCacheConfiguration.class.getClassLoader(),
+            HazelcastCachingProvider.propertiesByInstanceItself(hazelcastInstance)
+        );
+        customizers.orderedStream().forEach(customizer -> customizer.customize(cacheManager));
+        return cacheManager;
+    }
+}
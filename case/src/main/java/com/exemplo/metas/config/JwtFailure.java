@@ -0,0 +1,35 @@
+package com.exemplo.metas.config;
+
+/**
+ * The reasons why a JWT token is rejected.
+ */
+enum JwtFailure {
+    MALFORMED("Malformed token", true),
+    INVALID_SIGNATURE("Invalid signature", true),
+    UNSUPPORTED("Unsupported token", true),
+    EXPIRED("Jwt expired", true),
+    /**
+     * The token is used before its {@code nbf} time; it may become valid, so it is not remembered as rejected.
+     */
+    NOT_YET_VALID("Jwt used before its not-before time", false);
+
+    private final String description;
+
+    private final boolean permanent;
+
+    JwtFailure(String description, boolean permanent) {
+        this.description = description;
+        this.permanent = permanent;
+    }
+
+    String getDescription() {
+        return description;
+    }
+
+    /**
+     * Whether a token rejected for this reason will always be rejected.
+     */
+    boolean isPermanent() {
+        return permanent;
+    }
+}
@@ -0,0 +1,113 @@
+package com.exemplo.metas.config;
+
+import com.exemplo.metas.management.SecurityMetersService;
+import com.nimbusds.jose.proc.BadJWSException;
+import java.text.ParseException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.oauth2.core.OAuth2TokenValidatorResult;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+/**
+ * A {@link JwtDecoder} decoding the tokens in two stages, so that each rejected token is classified by the stage and
+ * the exception type that rejected it, then tracked by {@link SecurityMetersService}:
+ * <ol>
+ *     <li>the parsing and the signature check, by the Nimbus decoder;</li>
+ *     <li>the validation of the {@code exp} and {@code nbf} claims.</li>
+ * </ol>
+ * Rejected tokens are reported as {@link RejectedJwtException}s.
+ */
+final class MeteredJwtDecoder implements JwtDecoder {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MeteredJwtDecoder.class);
+
+    /**
+     * Same leeway as Spring Security's {@link org.springframework.security.oauth2.jwt.JwtTimestampValidator}.
+     */
+    static final Duration CLOCK_SKEW = Duration.ofSeconds(60);
+
+    private final NimbusJwtDecoder parser;
+
+    private final SecurityMetersService metersService;
+
+    private final Clock clock;
+
+    /**
+     * @param parser the decoder checking the signature; its own validation is replaced by the one of this decoder.
+     * @param metersService the counters of the rejected tokens.
+     * @param clock the clock the claims are validated against.
+     */
+    MeteredJwtDecoder(NimbusJwtDecoder parser, SecurityMetersService metersService, Clock clock) {
+        this.parser = parser;
+        this.parser.setJwtValidator(jwt -> OAuth2TokenValidatorResult.success());
+        this.metersService = metersService;
+        this.clock = clock;
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        Jwt jwt;
+        try {
+            jwt = parser.decode(token);
+        } catch (BadJwtException e) {
+            throw reject(classify(e), e);
+        } catch (JwtException e) {
+            LOG.error("Unknown JWT error {}", e.getMessage());
+            throw e;
+        }
+        JwtFailure failure = validate(jwt);
+        if (failure != null) {
+            throw reject(failure, null);
+        }
+        return jwt;
+    }
+
+    private static JwtFailure classify(BadJwtException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof BadJWSException) {
+            return JwtFailure.INVALID_SIGNATURE;
+        }
+        // The claims of a signed token are only parsed once its signature is checked
+        if (cause instanceof ParseException || (cause != null && cause.getCause() instanceof ParseException)) {
+            return JwtFailure.MALFORMED;
+        }
+        // Unsecured tokens, or tokens signed with another algorithm
+        return JwtFailure.UNSUPPORTED;
+    }
+
+    private JwtFailure validate(Jwt jwt) {
+        Instant now = clock.instant();
+        if (jwt.getExpiresAt() != null && now.minus(CLOCK_SKEW).isAfter(jwt.getExpiresAt())) {
+            return JwtFailure.EXPIRED;
+        }
+        if (jwt.getNotBefore() != null && now.plus(CLOCK_SKEW).isBefore(jwt.getNotBefore())) {
+            return JwtFailure.NOT_YET_VALID;
+        }
+        return null;
+    }
+
+    RejectedJwtException reject(JwtFailure failure, Throwable cause) {
+        track(failure);
+        LOG.debug("Rejected JWT token: {}", failure.getDescription());
+        return cause != null ? new RejectedJwtException(failure, cause) : new RejectedJwtException(failure);
+    }
+
+    private void track(JwtFailure failure) {
+        switch (failure) {
+            case MALFORMED -> metersService.trackTokenMalformed();
+            case INVALID_SIGNATURE -> metersService.trackTokenInvalidSignature();
+            case UNSUPPORTED -> metersService.trackTokenUnsupported();
+            case EXPIRED -> metersService.trackTokenExpired();
+            case NOT_YET_VALID -> {
+                // No counter for this cause
+            }
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.exemplo.metas.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.cache.Cache;
+
+/**
+ * A {@link Cache} reading through a small Caffeine map before its delegate.
+ * <p>
+ * Every write and eviction goes to the delegate first and then invalidates the near entry. A value read from the
+ * delegate is only kept in the near map if no write or eviction went through this cache since the read began, so a
+ * read racing with an eviction cannot put the previous value back. Near entries also expire after a short time, to
+ * bound how long they can lag behind changes made to the delegate by other means, such as another instance.
+ */
+final class NearCache implements Cache {
+
+    private final Cache delegate;
+
+    private final com.github.benmanes.caffeine.cache.Cache<Object, ValueWrapper> near;
+
+    /**
+     * Incremented by every write and eviction, after it reached the delegate and before the near entries are
+     * invalidated.
+     */
+    private final AtomicLong writes = new AtomicLong();
+
+    NearCache(Cache delegate, long maxEntries, Duration timeToLive) {
+        this.delegate = delegate;
+        this.near = Caffeine.newBuilder().maximumSize(maxEntries).expireAfterWrite(timeToLive).build();
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper value = near.getIfPresent(key);
+        if (value == null) {
+            long writesBefore = writes.get();
+            value = delegate.get(key);
+            if (value != null) {
+                populate(key, value, writesBefore);
+            }
+        }
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper value = get(key);
+        Object result = value != null ? value.get() : null;
+        if (result != null && type != null && !type.isInstance(result)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + result);
+        }
+        return (T) result;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper value = near.getIfPresent(key);
+        if (value != null) {
+            return (T) value.get();
+        }
+        long writesBefore = writes.get();
+        T result = delegate.get(key, valueLoader);
+        populate(key, () -> result, writesBefore);
+        return result;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, value);
+        invalidateNear(key);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = delegate.putIfAbsent(key, value);
+        invalidateNear(key);
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+        invalidateNear(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean evicted = delegate.evictIfPresent(key);
+        invalidateNear(key);
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+        invalidateNear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean invalidated = delegate.invalidate();
+        invalidateNear();
+        return invalidated;
+    }
+
+    /**
+     * Keep a value read from the delegate, unless a write happened since the read began. The check and the put are
+     * atomic with respect to the invalidation of the same key, so either the write sees the value and invalidates
+     * it, or the value sees the write and is dropped.
+     */
+    private void populate(Object key, ValueWrapper value, long writesBefore) {
+        near.asMap().compute(key, (k, current) -> writes.get() == writesBefore ? value : current);
+    }
+
+    private void invalidateNear(Object key) {
+        writes.incrementAndGet();
+        near.invalidate(key);
+    }
+
+    private void invalidateNear() {
+        writes.incrementAndGet();
+        near.invalidateAll();
+    }
+}
@@ -0,0 +1,27 @@
+package com.exemplo.metas.config;
+
+import org.springframework.security.oauth2.jwt.BadJwtException;
+
+/**
+ * A {@link BadJwtException} telling why the token was rejected.
+ */
+class RejectedJwtException extends BadJwtException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final JwtFailure failure;
+
+    RejectedJwtException(JwtFailure failure) {
+        super("An error occurred while attempting to decode the Jwt: " + failure.getDescription());
+        this.failure = failure;
+    }
+
+    RejectedJwtException(JwtFailure failure, Throwable cause) {
+        super("An error occurred while attempting to decode the Jwt: " + failure.getDescription(), cause);
+        this.failure = failure;
+    }
+
+    JwtFailure getFailure() {
+        return failure;
+    }
+}
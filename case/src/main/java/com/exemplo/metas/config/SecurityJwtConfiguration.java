@@ -1,14 +1,16 @@
 package com.exemplo.metas.config;
 
+import static com.exemplo.metas.security.SecurityUtils.AUTHORITIES_KEY;
 import static com.exemplo.metas.security.SecurityUtils.JWT_ALGORITHM;
 
 import com.exemplo.metas.management.SecurityMetersService;
+import com.exemplo.metas.security.AuthorityRegistry;
 import com.nimbusds.jose.jwk.source.ImmutableSecret;
 import com.nimbusds.jose.util.Base64;
+import java.time.Clock;
+import java.time.Duration;
 import javax.crypto.SecretKey;
 import javax.crypto.spec.SecretKeySpec;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -16,38 +18,39 @@ import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
 import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
 
 @Configuration
 public class SecurityJwtConfiguration {
 
-    private static final Logger LOG = LoggerFactory.getLogger(SecurityJwtConfiguration.class);
-
     @Value("${jhipster.security.authentication.jwt.base64-secret}")
     private String jwtKey;
 
     @Bean
-    public JwtDecoder jwtDecoder(SecurityMetersService metersService) {
+    public JwtDecoder jwtDecoder(SecurityMetersService metersService, ApplicationProperties applicationProperties) {
         NimbusJwtDecoder jwtDecoder = NimbusJwtDecoder.withSecretKey(getSecretKey()).macAlgorithm(JWT_ALGORITHM).build();
-        return token -> {
-            try {
-                return jwtDecoder.decode(token);
-            } catch (Exception e) {
-                if (e.getMessage().contains("Invalid signature")) {
-                    metersService.trackTokenInvalidSignature();
-                } else if (e.getMessage().contains("Jwt expired at")) {
-                    metersService.trackTokenExpired();
-                } else if (
-                    e.getMessage().contains("Invalid JWT serialization") ||
-                    e.getMessage().contains("Malformed token") ||
-                    e.getMessage().contains("Invalid unsecured/JWS/JWE")
-                ) {
-                    metersService.trackTokenMalformed();
-                } else {
-                    LOG.error("Unknown JWT error {}", e.getMessage());
-                }
-                throw e;
-            }
-        };
+        MeteredJwtDecoder meteredJwtDecoder = new MeteredJwtDecoder(jwtDecoder, metersService, Clock.systemUTC());
+        ApplicationProperties.Security.JwtCache jwtCache = applicationProperties.getSecurity().getJwtCache();
+        if (!jwtCache.isEnabled()) {
+            return meteredJwtDecoder;
+        }
+        return new CachingJwtDecoder(
+            meteredJwtDecoder,
+            jwtCache.getMaxEntries(),
+            Duration.ofSeconds(jwtCache.getRejectedTimeToLiveSeconds()),
+            Clock.systemUTC()
+        );
+    }
+
+    /**
+     * Map the {@link com.exemplo.metas.security.SecurityUtils#AUTHORITIES_KEY} claim to the shared sets of the
+     * {@link AuthorityRegistry}, instead of splitting it into new authorities for each request.
+     */
+    @Bean
+    public JwtAuthenticationConverter jwtAuthenticationConverter() {
+        JwtAuthenticationConverter converter = new JwtAuthenticationConverter();
+        converter.setJwtGrantedAuthoritiesConverter(jwt -> AuthorityRegistry.forClaim(jwt.getClaimAsString(AUTHORITIES_KEY)));
+        return converter;
     }
 
     @Bean
@@ -28,6 +28,10 @@ public class Aluno implements Serializable {
     @Column(name = "nome", nullable = false)
     private String nome;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here
 
     public Long getId() {
@@ -56,6 +60,19 @@ public class Aluno implements Serializable {
         this.nome = nome;
     }
 
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public Aluno version(Long version) {
+        this.setVersion(version);
+        return this;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
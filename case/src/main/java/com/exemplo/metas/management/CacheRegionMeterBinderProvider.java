@@ -0,0 +1,100 @@
+package com.exemplo.metas.management;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import java.util.concurrent.TimeUnit;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.cache.Cache;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Binds the {@code cache.*} meters of every cache region, tagged with the region name, to the JCache statistics.
+ * <p>
+ * It takes precedence over the JCache binder of Spring Boot, which only binds the regions not behind a near cache, and
+ * does not time their lookups.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class CacheRegionMeterBinderProvider implements CacheMeterBinderProvider<Cache> {
+
+    private final CacheStatisticsService cacheStatisticsService;
+
+    public CacheRegionMeterBinderProvider(CacheStatisticsService cacheStatisticsService) {
+        this.cacheStatisticsService = cacheStatisticsService;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public MeterBinder getMeterBinder(Cache cache, Iterable<Tag> tags) {
+        // JCache regions, possibly behind a near cache
+        if (!(cache.getNativeCache() instanceof javax.cache.Cache<?, ?> nativeCache)) {
+            return null;
+        }
+        javax.cache.Cache<Object, Object> jcache = (javax.cache.Cache<Object, Object>) nativeCache;
+        return cacheStatisticsService
+            .getRegionStatistics(cache.getName())
+            .<MeterBinder>map(statistics -> new CacheRegionMetrics(jcache, statistics, tags))
+            .orElseGet(() -> new JCacheMetrics<>(jcache, tags));
+    }
+
+    static class CacheRegionMetrics extends CacheMeterBinder<javax.cache.Cache<Object, Object>> {
+
+        private final CacheRegionStatistics statistics;
+
+        CacheRegionMetrics(javax.cache.Cache<Object, Object> cache, CacheRegionStatistics statistics, Iterable<Tag> tags) {
+            super(cache, statistics.getName(), tags);
+            this.statistics = statistics;
+        }
+
+        @Override
+        protected Long size() {
+            // Not reported by JCache
+            return null;
+        }
+
+        @Override
+        protected long hitCount() {
+            return statistics.getHits();
+        }
+
+        @Override
+        protected Long missCount() {
+            return statistics.getMisses();
+        }
+
+        @Override
+        protected Long evictionCount() {
+            return statistics.getEvictions();
+        }
+
+        @Override
+        protected long putCount() {
+            return statistics.getPuts();
+        }
+
+        @Override
+        protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+            FunctionCounter.builder("cache.removals", statistics, CacheRegionStatistics::getRemovals)
+                .tags(getTagsWithCacheName())
+                .description("Cache removals")
+                .register(registry);
+            FunctionTimer.builder(
+                "cache.gets.latency",
+                statistics,
+                CacheRegionStatistics::getGetCount,
+                CacheRegionStatistics::getGetTimeNanos,
+                TimeUnit.NANOSECONDS
+            )
+                .tags(getTagsWithCacheName())
+                .description("The time taken by cache lookups")
+                .register(registry);
+        }
+    }
+}
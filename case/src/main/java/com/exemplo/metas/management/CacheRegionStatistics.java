@@ -0,0 +1,70 @@
+package com.exemplo.metas.management;
+
+import javax.cache.management.CacheStatisticsMXBean;
+
+/**
+ * Live statistics of a single cache region, read from the JCache statistics MXBean of the region.
+ * <p>
+ * Every getter reads the current value, so an instance can back meters as well as be serialized as is.
+ */
+public class CacheRegionStatistics {
+
+    private final String name;
+
+    private final CacheStatisticsMXBean statistics;
+
+    CacheRegionStatistics(String name, CacheStatisticsMXBean statistics) {
+        this.name = name;
+        this.statistics = statistics;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getHits() {
+        return statistics.getCacheHits();
+    }
+
+    public long getMisses() {
+        return statistics.getCacheMisses();
+    }
+
+    public float getHitPercentage() {
+        return statistics.getCacheHitPercentage();
+    }
+
+    public long getPuts() {
+        return statistics.getCachePuts();
+    }
+
+    public long getRemovals() {
+        return statistics.getCacheRemovals();
+    }
+
+    public long getEvictions() {
+        return statistics.getCacheEvictions();
+    }
+
+    /**
+     * @return the number of {@code get} operations.
+     */
+    public long getGetCount() {
+        return statistics.getCacheGets();
+    }
+
+    /**
+     * @return the total time spent in {@code get} operations, in nanoseconds, derived from their average time since
+     * JCache does not report the total.
+     */
+    public long getGetTimeNanos() {
+        return Math.round(statistics.getAverageGetTime() * 1000.0 * statistics.getCacheGets());
+    }
+
+    /**
+     * @return the average time of a {@code get} operation, in microseconds.
+     */
+    public double getAverageGetTimeMicros() {
+        return statistics.getAverageGetTime();
+    }
+}
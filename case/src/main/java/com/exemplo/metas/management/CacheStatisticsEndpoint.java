@@ -0,0 +1,25 @@
+package com.exemplo.metas.management;
+
+import java.util.Map;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.stereotype.Component;
+
+/**
+ * Endpoint exposing the statistics of the cache regions, mapped to {@code /management/caches/stats}.
+ */
+@Component
+@WebEndpoint(id = "cachestats")
+public class CacheStatisticsEndpoint {
+
+    private final CacheStatisticsService cacheStatisticsService;
+
+    public CacheStatisticsEndpoint(CacheStatisticsService cacheStatisticsService) {
+        this.cacheStatisticsService = cacheStatisticsService;
+    }
+
+    @ReadOperation
+    public Map<String, CacheRegionStatistics> cacheStatistics() {
+        return cacheStatisticsService.getAllRegionStatistics();
+    }
+}
@@ -0,0 +1,103 @@
+package com.exemplo.metas.management;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.cache.CacheManager;
+import javax.cache.management.CacheStatisticsMXBean;
+import javax.management.JMX;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service giving access to the statistics of the cache regions.
+ * <p>
+ * The statistics are read from the JCache statistics MXBeans, which {@code CacheConfiguration} enables for every
+ * region it creates. JCache does not report the number of entries of a region: its evictions tell whether its
+ * {@code max-entries} is reached.
+ */
+@Service
+public class CacheStatisticsService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CacheStatisticsService.class);
+
+    private final CacheManager cacheManager;
+
+    private final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+
+    private final Map<String, CacheRegionStatistics> regions = new ConcurrentHashMap<>();
+
+    public CacheStatisticsService(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Get the statistics of a cache region.
+     *
+     * @param cacheName the name of the region.
+     * @return the statistics of the region, or empty if the region does not exist or has no statistics.
+     */
+    public Optional<CacheRegionStatistics> getRegionStatistics(String cacheName) {
+        if (cacheManager.isClosed() || cacheManager.getCache(cacheName) == null) {
+            return Optional.empty();
+        }
+        CacheRegionStatistics statistics = regions.get(cacheName);
+        if (statistics != null) {
+            return Optional.of(statistics);
+        }
+        ObjectName objectName;
+        try {
+            objectName = statisticsObjectName(cacheName);
+        } catch (MalformedObjectNameException e) {
+            LOG.debug("No statistics for cache {}: {}", cacheName, e.getMessage());
+            return Optional.empty();
+        }
+        if (!mBeanServer.isRegistered(objectName)) {
+            LOG.debug("Statistics are not enabled for cache {}", cacheName);
+            return Optional.empty();
+        }
+        return Optional.of(
+            regions.computeIfAbsent(
+                cacheName,
+                name -> new CacheRegionStatistics(name, JMX.newMXBeanProxy(mBeanServer, objectName, CacheStatisticsMXBean.class))
+            )
+        );
+    }
+
+    /**
+     * Get the statistics of all the cache regions.
+     *
+     * @return the statistics, by region name.
+     */
+    public Map<String, CacheRegionStatistics> getAllRegionStatistics() {
+        Map<String, CacheRegionStatistics> result = new LinkedHashMap<>();
+        if (!cacheManager.isClosed()) {
+            for (String cacheName : cacheManager.getCacheNames()) {
+                getRegionStatistics(cacheName).ifPresent(statistics -> result.put(cacheName, statistics));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * The name under which JCache providers register the statistics MXBean of a cache.
+     */
+    private ObjectName statisticsObjectName(String cacheName) throws MalformedObjectNameException {
+        return new ObjectName(
+            "javax.cache:type=CacheStatistics,CacheManager=" +
+            mBeanSafe(cacheManager.getURI().toString()) +
+            ",Cache=" +
+            mBeanSafe(cacheName)
+        );
+    }
+
+    private static String mBeanSafe(String string) {
+        return string.replaceAll("[,:=\n]", ".");
+    }
+}
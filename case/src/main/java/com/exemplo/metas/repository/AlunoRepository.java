@@ -1,7 +1,13 @@
 package com.exemplo.metas.repository;
 
 import com.exemplo.metas.domain.Aluno;
+import jakarta.persistence.QueryHint;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +15,38 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface AlunoRepository extends JpaRepository<Aluno, Long> {}
+public interface AlunoRepository extends JpaRepository<Aluno, Long> {
+    /**
+     * JDBC fetch size used by the streaming queries, so that the driver pulls rows in batches
+     * instead of materializing the whole result set.
+     */
+    String STREAM_FETCH_SIZE = "500";
+
+    /**
+     * Stream all alunos in id order through a forward-only cursor, bypassing the second-level cache.
+     * Must be consumed inside a read-only transaction.
+     */
+    @QueryHints(
+        {
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE"),
+        }
+    )
+    @Query("select aluno from Aluno aluno order by aluno.id")
+    Stream<Aluno> streamAll();
+
+    /**
+     * Seek the alunos with an id greater than the given one. Returns a {@link Slice}, so no count query is run.
+     */
+    Slice<Aluno> findAllByIdGreaterThan(Long id, Pageable pageable);
+
+    /**
+     * Overwrite the nome of an aluno and increment its version with a single statement, without loading it.
+     *
+     * @return the number of updated rows, {@code 0} if the aluno does not exist.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Aluno aluno set aluno.nome = :nome, aluno.version = aluno.version + 1 where aluno.id = :id")
+    int updateNome(@Param("id") Long id, @Param("nome") String nome);
+}
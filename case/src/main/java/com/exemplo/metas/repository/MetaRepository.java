@@ -1,7 +1,16 @@
 package com.exemplo.metas.repository;
 
 import com.exemplo.metas.domain.Meta;
+import com.exemplo.metas.domain.enumeration.AreaDoEnem;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +18,82 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface MetaRepository extends JpaRepository<Meta, Long> {}
+public interface MetaRepository extends JpaRepository<Meta, Long> {
+    /**
+     * JDBC fetch size used by the streaming queries, so that the driver pulls rows in batches
+     * instead of materializing the whole result set.
+     */
+    String STREAM_FETCH_SIZE = "500";
+
+    /**
+     * Stream all metas in id order through a forward-only cursor, bypassing the second-level cache.
+     * Must be consumed inside a read-only transaction.
+     */
+    @QueryHints(
+        {
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE"),
+        }
+    )
+    @Query("select meta from Meta meta order by meta.id")
+    Stream<Meta> streamAll();
+
+    /**
+     * Stream the ranking data of all the metas attached to an aluno, without loading the entities.
+     * Must be consumed inside a read-only transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query(
+        "select meta.id as id, meta.aluno.id as alunoId, meta.area as area, meta.valor as valor from Meta meta where meta.aluno is not null"
+    )
+    Stream<LeaderboardRow> streamLeaderboardRows();
+
+    /**
+     * Seek the metas with an id greater than the given one. Returns a {@link Slice}, so no count query is run.
+     */
+    Slice<Meta> findAllByIdGreaterThan(Long id, Pageable pageable);
+
+    /**
+     * Find the metas of an aluno, ordered by area. Served by the {@code idx_meta__aluno_id_area} index.
+     */
+    @Query("select meta from Meta meta where meta.aluno.id = :alunoId order by meta.area, meta.id")
+    List<Meta> findAllByAlunoId(@Param("alunoId") Long alunoId);
+
+    /**
+     * Find the metas of many alunos in a single query, ordered by aluno and area.
+     * Served by the {@code idx_meta__aluno_id_area} index.
+     */
+    @Query("select meta from Meta meta where meta.aluno.id in :alunoIds order by meta.aluno.id, meta.area, meta.id")
+    List<Meta> findAllByAlunoIdIn(@Param("alunoIds") Collection<Long> alunoIds);
+
+    /**
+     * Count the metas of every distinct (area, valor) pair.
+     */
+    @Query("select meta.area as area, meta.valor as valor, count(meta) as total from Meta meta group by meta.area, meta.valor")
+    List<ValorCount> countByAreaAndValor();
+
+    /**
+     * Projection of {@link #countByAreaAndValor()}.
+     */
+    interface ValorCount {
+        AreaDoEnem getArea();
+
+        Integer getValor();
+
+        Long getTotal();
+    }
+
+    /**
+     * Projection of {@link #streamLeaderboardRows()}.
+     */
+    interface LeaderboardRow {
+        Long getId();
+
+        Long getAlunoId();
+
+        AreaDoEnem getArea();
+
+        Integer getValor();
+    }
+}
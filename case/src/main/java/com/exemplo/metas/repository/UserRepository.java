@@ -2,6 +2,7 @@ package com.exemplo.metas.repository;
 
 import com.exemplo.metas.domain.User;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.cache.annotation.Cacheable;
@@ -32,5 +33,17 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Cacheable(cacheNames = USERS_BY_EMAIL_CACHE, unless = "#result == null")
     Optional<User> findOneWithAuthoritiesByEmailIgnoreCase(String email);
 
+    // Not cached, DomainUserDetailsService caches the principal built from the user
+    @EntityGraph(attributePaths = "authorities")
+    Optional<User> findOneForAuthenticationByLogin(String login);
+
+    @EntityGraph(attributePaths = "authorities")
+    Optional<User> findOneForAuthenticationByEmailIgnoreCase(String email);
+
+    @EntityGraph(attributePaths = "authorities")
+    List<User> findAllWithAuthoritiesByLoginIn(Collection<String> logins);
+
     Page<User> findAllByIdNotNullAndActivatedIsTrue(Pageable pageable);
+
+    Slice<User> findAllByIdGreaterThan(Long id, Pageable pageable);
 }
@@ -0,0 +1,96 @@
+package com.exemplo.metas.security;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+/**
+ * Registry of the canonical, immutable sets of authorities, shared by the JWT decoding and the login.
+ * <p>
+ * There are only a handful of distinct combinations of authorities, so each set is built once, keyed by the raw
+ * value of the {@link SecurityUtils#AUTHORITIES_KEY} claim, and then reused by all the requests.
+ */
+public final class AuthorityRegistry {
+
+    /**
+     * Upper bound of the interned sets and authorities; past it, they are still built but no longer kept.
+     */
+    static final int MAX_INTERNED_SETS = 1024;
+
+    private static final Map<String, Set<GrantedAuthority>> SETS = new ConcurrentHashMap<>();
+
+    private static final Map<String, GrantedAuthority> AUTHORITIES = new ConcurrentHashMap<>();
+
+    private AuthorityRegistry() {}
+
+    /**
+     * Get the authorities of a claim.
+     *
+     * @param claim the space-separated authorities, as put in the {@link SecurityUtils#AUTHORITIES_KEY} claim.
+     * @return the canonical set of authorities, empty if the claim is {@code null}.
+     */
+    public static Set<GrantedAuthority> forClaim(String claim) {
+        if (claim == null) {
+            return Collections.emptySet();
+        }
+        Set<GrantedAuthority> authorities = SETS.get(claim);
+        if (authorities != null) {
+            return authorities;
+        }
+        authorities = build(claim);
+        if (SETS.size() < MAX_INTERNED_SETS) {
+            Set<GrantedAuthority> previous = SETS.putIfAbsent(claim, authorities);
+            return previous != null ? previous : authorities;
+        }
+        return authorities;
+    }
+
+    /**
+     * Get the authorities of a collection of names.
+     *
+     * @param names the names of the authorities.
+     * @return the canonical set of authorities.
+     */
+    public static Set<GrantedAuthority> forNames(Collection<String> names) {
+        return forClaim(toClaim(names));
+    }
+
+    /**
+     * Get the value of the {@link SecurityUtils#AUTHORITIES_KEY} claim for some authorities.
+     *
+     * @param names the names of the authorities.
+     * @return the sorted, space-separated names.
+     */
+    public static String toClaim(Collection<String> names) {
+        return names.stream().sorted().collect(Collectors.joining(" "));
+    }
+
+    private static Set<GrantedAuthority> build(String claim) {
+        Set<GrantedAuthority> authorities = new LinkedHashSet<>();
+        for (String name : claim.split(" ")) {
+            if (!name.isEmpty()) {
+                authorities.add(authority(name));
+            }
+        }
+        return Collections.unmodifiableSet(authorities);
+    }
+
+    private static GrantedAuthority authority(String name) {
+        GrantedAuthority authority = AUTHORITIES.get(name);
+        if (authority != null) {
+            return authority;
+        }
+        authority = new SimpleGrantedAuthority(name);
+        if (AUTHORITIES.size() < MAX_INTERNED_SETS) {
+            GrantedAuthority previous = AUTHORITIES.putIfAbsent(name, authority);
+            return previous != null ? previous : authority;
+        }
+        return authority;
+    }
+}
@@ -1,62 +1,70 @@
 package com.exemplo.metas.security;
 
-import com.exemplo.metas.domain.Authority;
-import com.exemplo.metas.domain.User;
 import com.exemplo.metas.repository.UserRepository;
 import java.util.*;
 import org.hibernate.validator.internal.constraintvalidators.hv.EmailValidator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Authenticate a user from the database.
+ * <p>
+ * The users are kept as compact {@link UserPrincipal}s in the {@link #USER_PRINCIPALS_CACHE} cache, keyed by their
+ * lowercase login or email, so that a cached user is authenticated without going to the database. The users are
+ * loaded without going through the caches of {@link UserRepository}, which would keep the whole entity as well.
  */
 @Component("userDetailsService")
 public class DomainUserDetailsService implements UserDetailsService {
 
+    public static final String USER_PRINCIPALS_CACHE = "userPrincipals";
+
     private static final Logger LOG = LoggerFactory.getLogger(DomainUserDetailsService.class);
 
     private final UserRepository userRepository;
 
-    public DomainUserDetailsService(UserRepository userRepository) {
+    private final CacheManager cacheManager;
+
+    public DomainUserDetailsService(UserRepository userRepository, CacheManager cacheManager) {
         this.userRepository = userRepository;
+        this.cacheManager = cacheManager;
     }
 
     @Override
-    @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(final String login) {
         LOG.debug("Authenticating {}", login);
 
+        String lowercaseLogin = login.toLowerCase(Locale.ENGLISH);
+        Cache cache = cacheManager.getCache(USER_PRINCIPALS_CACHE);
+        UserPrincipal principal = cache != null ? cache.get(lowercaseLogin, UserPrincipal.class) : null;
+        if (principal == null) {
+            principal = loadUserPrincipal(login, lowercaseLogin);
+            if (cache != null) {
+                cache.put(lowercaseLogin, principal);
+            }
+        }
+        if (!principal.activated()) {
+            throw new UserNotActivatedException("User " + lowercaseLogin + " was not activated");
+        }
+        return principal;
+    }
+
+    private UserPrincipal loadUserPrincipal(String login, String lowercaseLogin) {
         if (new EmailValidator().isValid(login, null)) {
             return userRepository
-                .findOneWithAuthoritiesByEmailIgnoreCase(login)
-                .map(user -> createSpringSecurityUser(login, user))
+                .findOneForAuthenticationByEmailIgnoreCase(login)
+                .map(UserPrincipal::of)
                 .orElseThrow(() -> new UsernameNotFoundException("User with email " + login + " was not found in the database"));
         }
 
-        String lowercaseLogin = login.toLowerCase(Locale.ENGLISH);
         return userRepository
-            .findOneWithAuthoritiesByLogin(lowercaseLogin)
-            .map(user -> createSpringSecurityUser(lowercaseLogin, user))
+            .findOneForAuthenticationByLogin(lowercaseLogin)
+            .map(UserPrincipal::of)
             .orElseThrow(() -> new UsernameNotFoundException("User " + lowercaseLogin + " was not found in the database"));
     }
-
-    private org.springframework.security.core.userdetails.User createSpringSecurityUser(String lowercaseLogin, User user) {
-        if (!user.isActivated()) {
-            throw new UserNotActivatedException("User " + lowercaseLogin + " was not activated");
-        }
-        List<SimpleGrantedAuthority> grantedAuthorities = user
-            .getAuthorities()
-            .stream()
-            .map(Authority::getName)
-            .map(SimpleGrantedAuthority::new)
-            .toList();
-        return new org.springframework.security.core.userdetails.User(user.getLogin(), user.getPassword(), grantedAuthorities);
-    }
 }
@@ -0,0 +1,61 @@
+package com.exemplo.metas.security;
+
+import com.exemplo.metas.domain.Authority;
+import com.exemplo.metas.domain.User;
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Set;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+/**
+ * The immutable view of a {@link User} needed to authenticate them, kept in the
+ * {@link DomainUserDetailsService#USER_PRINCIPALS_CACHE} cache instead of the whole entity.
+ * <p>
+ * It is returned as is by {@link DomainUserDetailsService}, so that a cached principal is authenticated without
+ * building a new {@link UserDetails} and new authorities. It is not a
+ * {@link org.springframework.security.core.CredentialsContainer}: the password hash of a cached instance must not be
+ * erased after an authentication.
+ *
+ * @param login the login of the user.
+ * @param password the password hash of the user.
+ * @param activated whether the user is activated.
+ * @param authorities the authorities of the user, from the {@link AuthorityRegistry}.
+ */
+public record UserPrincipal(String login, String password, boolean activated, Set<GrantedAuthority> authorities)
+    implements UserDetails, Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Build the principal of a user, whose authorities must be loaded.
+     *
+     * @param user the user.
+     * @return the principal of the user.
+     */
+    public static UserPrincipal of(User user) {
+        Set<GrantedAuthority> authorities = AuthorityRegistry.forNames(user.getAuthorities().stream().map(Authority::getName).toList());
+        return new UserPrincipal(user.getLogin(), user.getPassword(), user.isActivated(), authorities);
+    }
+
+    @Override
+    public String getUsername() {
+        return login;
+    }
+
+    @Override
+    public String getPassword() {
+        return password;
+    }
+
+    @Override
+    public Set<GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String toString() {
+        // Keep the password hash out of the logs
+        return "UserPrincipal{login='" + login + "', activated=" + activated + ", authorities=" + authorities + "}";
+    }
+}
@@ -1,14 +1,28 @@
 package com.exemplo.metas.service;
 
+import com.exemplo.metas.config.ApplicationProperties;
 import com.exemplo.metas.domain.Aluno;
 import com.exemplo.metas.repository.AlunoRepository;
 import com.exemplo.metas.service.dto.AlunoDTO;
 import com.exemplo.metas.service.mapper.AlunoMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -25,9 +39,28 @@ public class AlunoService {
 
     private final AlunoMapper alunoMapper;
 
-    public AlunoService(AlunoRepository alunoRepository, AlunoMapper alunoMapper) {
+    private final EntityManager entityManager;
+
+    private final NdjsonExportWriter exportWriter;
+
+    private final boolean directUpdates;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public AlunoService(
+        AlunoRepository alunoRepository,
+        AlunoMapper alunoMapper,
+        ObjectMapper objectMapper,
+        EntityManager entityManager,
+        ApplicationProperties applicationProperties,
+        ApplicationEventPublisher eventPublisher
+    ) {
         this.alunoRepository = alunoRepository;
         this.alunoMapper = alunoMapper;
+        this.entityManager = entityManager;
+        this.exportWriter = new NdjsonExportWriter(objectMapper, entityManager, Integer.parseInt(AlunoRepository.STREAM_FETCH_SIZE));
+        this.directUpdates = applicationProperties.getPersistence().isDirectUpdates();
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -45,34 +78,59 @@ public class AlunoService {
 
     /**
      * Update a aluno.
+     * <p>
+     * With {@code application.persistence.direct-updates} enabled and no expected version, the aluno is written
+     * with a single {@code UPDATE} statement instead of being loaded and merged; its new version is then unknown.
+     * Hibernate event listeners do not see that statement, so an {@link EntityBulkUpdatedEvent} is published for it.
      *
      * @param alunoDTO the entity to save.
-     * @return the persisted entity.
+     * @param expectedVersions the versions the entity is expected to have, {@code null} to skip the check.
+     * @return the persisted entity, or empty if the aluno does not exist.
+     * @throws VersionMismatchException if the entity does not have one of the expected versions.
      */
-    public AlunoDTO update(AlunoDTO alunoDTO) {
+    public Optional<AlunoDTO> update(AlunoDTO alunoDTO, Collection<Long> expectedVersions) {
         LOG.debug("Request to update Aluno : {}", alunoDTO);
-        Aluno aluno = alunoMapper.toEntity(alunoDTO);
-        aluno = alunoRepository.save(aluno);
-        return alunoMapper.toDto(aluno);
+        if (directUpdates && expectedVersions == null) {
+            alunoDTO.setVersion(null);
+            if (alunoRepository.updateNome(alunoDTO.getId(), alunoDTO.getNome()) == 0) {
+                return Optional.empty();
+            }
+            eventPublisher.publishEvent(new EntityBulkUpdatedEvent(Aluno.class.getName(), alunoDTO.getId()));
+            return Optional.of(alunoDTO);
+        }
+        return alunoRepository
+            .findById(alunoDTO.getId())
+            .map(existingAluno -> {
+                checkVersion(existingAluno.getVersion(), expectedVersions);
+                Aluno aluno = alunoMapper.toEntity(alunoDTO);
+                aluno.setVersion(existingAluno.getVersion());
+                // The merge copies the new state onto the instance loaded above, without selecting it again;
+                // flushing makes the incremented version available to the result
+                return alunoRepository.saveAndFlush(aluno);
+            })
+            .map(alunoMapper::toDto);
     }
 
     /**
      * Partially update a aluno.
      *
      * @param alunoDTO the entity to update partially.
+     * @param expectedVersions the versions the entity is expected to have, {@code null} to skip the check.
      * @return the persisted entity.
+     * @throws VersionMismatchException if the entity does not have one of the expected versions.
      */
-    public Optional<AlunoDTO> partialUpdate(AlunoDTO alunoDTO) {
+    public Optional<AlunoDTO> partialUpdate(AlunoDTO alunoDTO, Collection<Long> expectedVersions) {
         LOG.debug("Request to partially update Aluno : {}", alunoDTO);
 
         return alunoRepository
             .findById(alunoDTO.getId())
             .map(existingAluno -> {
+                checkVersion(existingAluno.getVersion(), expectedVersions);
                 alunoMapper.partialUpdate(existingAluno, alunoDTO);
 
                 return existingAluno;
             })
-            .map(alunoRepository::save)
+            .map(alunoRepository::saveAndFlush)
             .map(alunoMapper::toDto);
     }
 
@@ -88,6 +146,74 @@ public class AlunoService {
         return alunoRepository.findAll(pageable).map(alunoMapper::toDto);
     }
 
+    /**
+     * Get the alunos following the given id, in id order, without counting the total.
+     *
+     * @param afterId the id after which alunos are returned, {@code null} to start from the first one.
+     * @param size the maximum number of alunos to return.
+     * @return the slice of entities.
+     */
+    @Transactional(readOnly = true)
+    public Slice<AlunoDTO> findAllAfter(Long afterId, int size) {
+        LOG.debug("Request to get Alunos after : {}", afterId);
+        return alunoRepository
+            .findAllByIdGreaterThan(afterId == null ? Long.MIN_VALUE : afterId, PageRequest.of(0, size, Sort.by("id")))
+            .map(alunoMapper::toDto);
+    }
+
+    /**
+     * Export all the alunos as newline delimited JSON, streaming them from the database.
+     *
+     * @param outputStream the target of the export.
+     * @return the number of exported entities.
+     * @throws IOException if the target cannot be written.
+     */
+    @Transactional(readOnly = true)
+    public long exportAll(OutputStream outputStream) throws IOException {
+        LOG.debug("Request to export all Alunos");
+        return exportWriter.write(alunoRepository.streamAll(), alunoMapper::toDto, outputStream);
+    }
+
+    /**
+     * Get the alunos with the given ids.
+     * <p>
+     * Alunos already in the second-level cache are resolved from it; only the misses are fetched, with a single query.
+     *
+     * @param ids the ids of the entities.
+     * @return the entities in the order of the given ids; unknown ids are skipped.
+     */
+    @Transactional(readOnly = true)
+    public List<AlunoDTO> findAllByIds(Collection<Long> ids) {
+        LOG.debug("Request to get Alunos : {}", ids);
+        List<Long> distinctIds = ids.stream().distinct().toList();
+        if (distinctIds.isEmpty()) {
+            return List.of();
+        }
+        return entityManager
+            .unwrap(Session.class)
+            .byMultipleIds(Aluno.class)
+            .with(CacheMode.NORMAL)
+            .withBatchSize(distinctIds.size())
+            .enableOrderedReturn(true)
+            .multiLoad(distinctIds)
+            .stream()
+            .filter(Objects::nonNull)
+            .map(alunoMapper::toDto)
+            .toList();
+    }
+
+    /**
+     * Get the version of one aluno by id, without mapping it.
+     *
+     * @param id the id of the entity.
+     * @return the version of the entity.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Long> findVersion(Long id) {
+        LOG.debug("Request to get the version of Aluno : {}", id);
+        return alunoRepository.findById(id).map(Aluno::getVersion);
+    }
+
     /**
      * Get one aluno by id.
      *
@@ -109,4 +235,10 @@ public class AlunoService {
         LOG.debug("Request to delete Aluno : {}", id);
         alunoRepository.deleteById(id);
     }
+
+    private static void checkVersion(Long version, Collection<Long> expectedVersions) {
+        if (expectedVersions != null && !expectedVersions.contains(version)) {
+            throw new VersionMismatchException();
+        }
+    }
 }
@@ -0,0 +1,179 @@
+package com.exemplo.metas.service;
+
+import com.exemplo.metas.config.ApplicationProperties;
+import com.exemplo.metas.domain.Authority;
+import com.exemplo.metas.domain.User;
+import com.exemplo.metas.repository.AuthorityRepository;
+import com.exemplo.metas.repository.UserRepository;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service preloading the caches once the application is ready, so that the first requests after a deploy
+ * do not all hit the database.
+ * <p>
+ * The warm-up runs on the {@code taskExecutor} and never blocks the startup; its progress is reported by
+ * {@link #getStatus()} and {@link #getLoaded()}.
+ */
+@Service
+public class CacheWarmUpService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CacheWarmUpService.class);
+
+    public enum Status {
+        PENDING,
+        RUNNING,
+        COMPLETED,
+        FAILED,
+        DISABLED,
+    }
+
+    private final ApplicationProperties.Cache.WarmUp properties;
+
+    private final AuthorityRepository authorityRepository;
+
+    private final UserRepository userRepository;
+
+    private final AlunoService alunoService;
+
+    private final MetaService metaService;
+
+    private final CacheManager cacheManager;
+
+    private final Executor taskExecutor;
+
+    private final Map<String, Integer> loaded = new LinkedHashMap<>();
+
+    private volatile Status status = Status.PENDING;
+
+    private volatile Duration duration;
+
+    private volatile String error;
+
+    public CacheWarmUpService(
+        ApplicationProperties applicationProperties,
+        AuthorityRepository authorityRepository,
+        UserRepository userRepository,
+        AlunoService alunoService,
+        MetaService metaService,
+        CacheManager cacheManager,
+        @Qualifier("taskExecutor") Executor taskExecutor
+    ) {
+        this.properties = applicationProperties.getCache().getWarmUp();
+        this.authorityRepository = authorityRepository;
+        this.userRepository = userRepository;
+        this.alunoService = alunoService;
+        this.metaService = metaService;
+        this.cacheManager = cacheManager;
+        this.taskExecutor = taskExecutor;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!properties.isEnabled()) {
+            status = Status.DISABLED;
+            return;
+        }
+        taskExecutor.execute(this::warmUp);
+    }
+
+    /**
+     * Preload all the authorities, the most recently modified users and the configured alunos and metas.
+     * <p>
+     * A failure stops the warm-up but is otherwise harmless: the caches are filled on demand as usual.
+     */
+    public void warmUp() {
+        LOG.debug("Warming up the caches");
+        status = Status.RUNNING;
+        Instant start = Instant.now();
+        try {
+            List<Authority> authorities = authorityRepository.findAll();
+            recordLoaded(Authority.class.getName(), authorities.size());
+
+            if (properties.getUsers() > 0) {
+                List<String> logins = userRepository
+                    .findAllByIdNotNullAndActivatedIsTrue(
+                        PageRequest.of(0, properties.getUsers(), Sort.by(Sort.Direction.DESC, "lastModifiedDate"))
+                    )
+                    .map(User::getLogin)
+                    .toList();
+                Cache usersByLogin = Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE));
+                List<User> users = logins.isEmpty() ? List.of() : userRepository.findAllWithAuthoritiesByLoginIn(logins);
+                // Same key as the @Cacheable lookup, without replacing an entry cached by a request meanwhile
+                users.forEach(user -> usersByLogin.putIfAbsent(user.getLogin(), user));
+                recordLoaded(UserRepository.USERS_BY_LOGIN_CACHE, users.size());
+            }
+
+            if (!properties.getAlunoIds().isEmpty()) {
+                recordLoaded(com.exemplo.metas.domain.Aluno.class.getName(), alunoService.findAllByIds(properties.getAlunoIds()).size());
+            }
+            if (!properties.getMetaIds().isEmpty()) {
+                recordLoaded(com.exemplo.metas.domain.Meta.class.getName(), metaService.findAllByIds(properties.getMetaIds()).size());
+            }
+
+            duration = Duration.between(start, Instant.now());
+            status = Status.COMPLETED;
+            LOG.info("Caches warmed up in {} ms: {}", duration.toMillis(), getLoaded());
+        } catch (RuntimeException e) {
+            duration = Duration.between(start, Instant.now());
+            error = e.toString();
+            status = Status.FAILED;
+            LOG.warn("Cache warm-up failed after {} ms: {}", duration.toMillis(), e.getMessage(), e);
+        }
+    }
+
+    private void recordLoaded(String cacheName, int count) {
+        synchronized (loaded) {
+            loaded.put(cacheName, count);
+        }
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * @return the number of entries loaded so far, by cache name.
+     */
+    public Map<String, Integer> getLoaded() {
+        synchronized (loaded) {
+            return new LinkedHashMap<>(loaded);
+        }
+    }
+
+    /**
+     * @return the duration of the warm-up, once over.
+     */
+    public Duration getDuration() {
+        return duration;
+    }
+
+    /**
+     * @return the error that stopped the warm-up, if it failed.
+     */
+    public String getError() {
+        return error;
+    }
+
+    /**
+     * @return whether the readiness should wait for the warm-up.
+     */
+    public boolean isWaitForReadiness() {
+        return properties.isWaitForReadiness();
+    }
+}
@@ -0,0 +1,34 @@
+package com.exemplo.metas.service;
+
+/**
+ * Event published by the services updating an entity with a bulk JPQL statement, which Hibernate event listeners do
+ * not see, so that the cached copies of that entity can be evicted once the transaction commits.
+ */
+public class EntityBulkUpdatedEvent {
+
+    private final String entityName;
+
+    private final Object id;
+
+    public EntityBulkUpdatedEvent(String entityName, Object id) {
+        this.entityName = entityName;
+        this.id = id;
+    }
+
+    public String getEntityName() {
+        return entityName;
+    }
+
+    public Object getId() {
+        return id;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "EntityBulkUpdatedEvent{" +
+            "entityName=" + getEntityName() +
+            ", id=" + getId() +
+            "}";
+    }
+}
@@ -0,0 +1,120 @@
+package com.exemplo.metas.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Applies the {@link MetaChangedEvent}s to an in-memory view of the metas, and swaps in the views rebuilt from the
+ * database only when no change can have been lost or applied twice.
+ * <p>
+ * A change is tracked from the moment its transaction starts to commit, before the change is visible to other
+ * transactions, until that transaction completes, after the change was applied. A rebuild which starts while no
+ * change is tracked, and during which no commit starts, reads exactly the changes already applied to the old view.
+ */
+final class MetaChangeTracker {
+
+    private static final int MAX_REBUILD_ATTEMPTS = 10;
+
+    private static final long PENDING_CHANGES_DELAY_MILLIS = 10;
+
+    private final AtomicLong started = new AtomicLong();
+
+    private final AtomicLong completed = new AtomicLong();
+
+    /**
+     * Held for reading while a change is applied, and for writing while a rebuilt view is swapped in.
+     */
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Apply a change once its transaction commits, or right away outside of a transaction.
+     *
+     * @param event the change.
+     * @param action applies the change to the current view.
+     */
+    void onMetaChanged(MetaChangedEvent event, Consumer<MetaChangedEvent> action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            started.incrementAndGet();
+            try {
+                apply(event, action);
+            } finally {
+                completed.incrementAndGet();
+            }
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                private boolean committing;
+
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    committing = true;
+                    started.incrementAndGet();
+                }
+
+                @Override
+                public void afterCommit() {
+                    apply(event, action);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    if (committing) {
+                        completed.incrementAndGet();
+                    }
+                }
+            }
+        );
+    }
+
+    /**
+     * Rebuild the view, retrying while changes are committed concurrently.
+     *
+     * @param rebuilder reads the view from the database.
+     * @param swap replaces the current view with the rebuilt one.
+     * @param <T> the type of the view.
+     * @return {@code true} if the rebuilt view was swapped in, {@code false} if changes kept being committed.
+     */
+    <T> boolean rebuild(Supplier<T> rebuilder, Consumer<T> swap) {
+        for (int attempt = 1; attempt <= MAX_REBUILD_ATTEMPTS; attempt++) {
+            // Read in this order, equal counts mean that no change was pending when completed was read
+            long completedBefore = completed.get();
+            long startedBefore = started.get();
+            if (startedBefore != completedBefore) {
+                try {
+                    TimeUnit.MILLISECONDS.sleep(PENDING_CHANGES_DELAY_MILLIS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+                continue;
+            }
+            T rebuilt = rebuilder.get();
+            lock.writeLock().lock();
+            try {
+                if (started.get() == startedBefore) {
+                    swap.accept(rebuilt);
+                    return true;
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        return false;
+    }
+
+    private void apply(MetaChangedEvent event, Consumer<MetaChangedEvent> action) {
+        lock.readLock().lock();
+        try {
+            action.accept(event);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.exemplo.metas.service;
+
+import com.exemplo.metas.service.dto.MetaDTO;
+
+/**
+ * Event published by the services writing {@link com.exemplo.metas.domain.Meta} rows, so that the
+ * in-memory views of the metas can be adjusted incrementally once the transaction commits.
+ * <p>
+ * {@code previous} is {@code null} for a creation, {@code current} is {@code null} for a deletion.
+ */
+public class MetaChangedEvent {
+
+    private final MetaDTO previous;
+
+    private final MetaDTO current;
+
+    public MetaChangedEvent(MetaDTO previous, MetaDTO current) {
+        this.previous = previous;
+        this.current = current;
+    }
+
+    public MetaDTO getPrevious() {
+        return previous;
+    }
+
+    public MetaDTO getCurrent() {
+        return current;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "MetaChangedEvent{" +
+            "previous=" + getPrevious() +
+            ", current=" + getCurrent() +
+            "}";
+    }
+}
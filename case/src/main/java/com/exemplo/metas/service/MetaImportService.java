@@ -0,0 +1,286 @@
+package com.exemplo.metas.service;
+
+import com.exemplo.metas.domain.Meta;
+import com.exemplo.metas.domain.enumeration.AreaDoEnem;
+import com.exemplo.metas.repository.MetaRepository;
+import com.exemplo.metas.service.dto.AlunoDTO;
+import com.exemplo.metas.service.dto.MetaDTO;
+import com.exemplo.metas.service.dto.MetaImportResultDTO;
+import com.exemplo.metas.service.mapper.MetaMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service for importing large amounts of {@link Meta} rows from a streamed payload.
+ * <p>
+ * The payload is read line by line, so only the rows of the current chunk are kept in memory.
+ * Each chunk is written in its own transaction and has the size of {@code hibernate.jdbc.batch_size},
+ * so that Hibernate sends every chunk as a single JDBC batch.
+ */
+@Service
+public class MetaImportService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MetaImportService.class);
+
+    /**
+     * Maximum number of row errors reported back to the client; further errors are only counted.
+     */
+    public static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final MetaRepository metaRepository;
+
+    private final MetaMapper metaMapper;
+
+    private final ObjectMapper objectMapper;
+
+    private final Validator validator;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final int chunkSize;
+
+    public MetaImportService(
+        MetaRepository metaRepository,
+        MetaMapper metaMapper,
+        ObjectMapper objectMapper,
+        Validator validator,
+        PlatformTransactionManager transactionManager,
+        ApplicationEventPublisher eventPublisher,
+        @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:25}") int chunkSize
+    ) {
+        this.metaRepository = metaRepository;
+        this.metaMapper = metaMapper;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    /**
+     * Import metas from a newline delimited JSON payload, one {@link MetaDTO} per line.
+     *
+     * @param inputStream the payload.
+     * @return the import report.
+     * @throws IOException if the payload cannot be read.
+     */
+    public MetaImportResultDTO importNdjson(InputStream inputStream) throws IOException {
+        LOG.debug("Request to import Metas from NDJSON");
+        ImportRun run = new ImportRun();
+        try (BufferedReader reader = newReader(inputStream)) {
+            String line;
+            long lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    run.accept(lineNumber, objectMapper.readValue(line, MetaDTO.class));
+                } catch (JsonProcessingException e) {
+                    run.reject(lineNumber, "Malformed JSON: " + e.getOriginalMessage());
+                }
+            }
+        }
+        return run.finish();
+    }
+
+    /**
+     * Import metas from a CSV payload.
+     * <p>
+     * The first line is a header naming the {@code valor}, {@code area} and (optionally) {@code aluno} columns,
+     * in any order, separated by {@code ,} or {@code ;}.
+     *
+     * @param inputStream the payload.
+     * @return the import report.
+     * @throws IOException if the payload cannot be read.
+     */
+    public MetaImportResultDTO importCsv(InputStream inputStream) throws IOException {
+        LOG.debug("Request to import Metas from CSV");
+        ImportRun run = new ImportRun();
+        try (BufferedReader reader = newReader(inputStream)) {
+            String header = reader.readLine();
+            if (header == null) {
+                return run.finish();
+            }
+            String separator = header.contains(";") ? ";" : ",";
+            String[] columns = split(header, separator);
+            int valorIndex = indexOf(columns, "valor");
+            int areaIndex = indexOf(columns, "area");
+            int alunoIndex = Math.max(indexOf(columns, "aluno"), indexOf(columns, "aluno_id"));
+            if (valorIndex < 0 || areaIndex < 0) {
+                run.reject(1, "Header must contain the 'valor' and 'area' columns");
+                return run.finish();
+            }
+
+            String line;
+            long lineNumber = 1;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                String[] values = split(line, separator);
+                try {
+                    MetaDTO metaDTO = new MetaDTO();
+                    String valor = valueAt(values, valorIndex);
+                    metaDTO.setValor(valor == null ? null : Integer.valueOf(valor));
+                    String area = valueAt(values, areaIndex);
+                    metaDTO.setArea(area == null ? null : AreaDoEnem.valueOf(area.toUpperCase(Locale.ROOT)));
+                    String aluno = valueAt(values, alunoIndex);
+                    if (aluno != null) {
+                        AlunoDTO alunoDTO = new AlunoDTO();
+                        alunoDTO.setId(Long.valueOf(aluno));
+                        metaDTO.setAluno(alunoDTO);
+                    }
+                    run.accept(lineNumber, metaDTO);
+                } catch (IllegalArgumentException e) {
+                    run.reject(lineNumber, "Invalid value: " + e.getMessage());
+                }
+            }
+        }
+        return run.finish();
+    }
+
+    private static BufferedReader newReader(InputStream inputStream) {
+        return new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+    }
+
+    private static String[] split(String line, String separator) {
+        String[] values = line.split(separator, -1);
+        for (int i = 0; i < values.length; i++) {
+            String value = values[i].trim();
+            if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+                value = value.substring(1, value.length() - 1).trim();
+            }
+            values[i] = value;
+        }
+        return values;
+    }
+
+    private static int indexOf(String[] columns, String name) {
+        for (int i = 0; i < columns.length; i++) {
+            if (columns[i].equalsIgnoreCase(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static String valueAt(String[] values, int index) {
+        if (index < 0 || index >= values.length || values[index].isEmpty()) {
+            return null;
+        }
+        return values[index];
+    }
+
+    /**
+     * State of a single import: the pending chunk and the report being built.
+     */
+    private final class ImportRun {
+
+        private final MetaImportResultDTO result = new MetaImportResultDTO();
+
+        private final List<MetaDTO> chunk = new ArrayList<>(chunkSize);
+
+        private final List<Long> chunkLines = new ArrayList<>(chunkSize);
+
+        void accept(long lineNumber, MetaDTO metaDTO) {
+            if (metaDTO == null) {
+                reject(lineNumber, "Empty row");
+                return;
+            }
+            if (metaDTO.getId() != null) {
+                reject(lineNumber, "A new meta cannot already have an ID");
+                return;
+            }
+            Set<ConstraintViolation<MetaDTO>> violations = validator.validate(metaDTO);
+            if (!violations.isEmpty()) {
+                reject(
+                    lineNumber,
+                    violations
+                        .stream()
+                        .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining("; "))
+                );
+                return;
+            }
+            chunk.add(metaDTO);
+            chunkLines.add(lineNumber);
+            if (chunk.size() >= chunkSize) {
+                flushChunk();
+            }
+        }
+
+        void reject(long lineNumber, String message) {
+            result.setFailed(result.getFailed() + 1);
+            if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+                result.getErrors().add(new MetaImportResultDTO.RowError(lineNumber, message));
+            } else {
+                result.setErrorsTruncated(true);
+            }
+        }
+
+        MetaImportResultDTO finish() {
+            flushChunk();
+            LOG.debug("Imported Metas : {}", result);
+            return result;
+        }
+
+        private void flushChunk() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            try {
+                saveAll(chunk);
+                result.setImported(result.getImported() + chunk.size());
+            } catch (DataAccessException | TransactionException e) {
+                // One bad row rolls back the whole batch, so retry the rows one by one to find it
+                LOG.debug("Chunk ending at line {} failed, retrying row by row: {}", chunkLines.get(chunkLines.size() - 1), e.getMessage());
+                for (int i = 0; i < chunk.size(); i++) {
+                    try {
+                        saveAll(List.of(chunk.get(i)));
+                        result.setImported(result.getImported() + 1);
+                    } catch (DataAccessException | TransactionException rowException) {
+                        reject(chunkLines.get(i), "Could not be saved: " + rowException.getMostSpecificCause().getMessage());
+                    }
+                }
+            }
+            chunk.clear();
+            chunkLines.clear();
+        }
+
+        private void saveAll(List<MetaDTO> metaDTOs) {
+            List<Meta> metas = metaMapper.toEntity(metaDTOs);
+            transactionTemplate.executeWithoutResult(status -> {
+                for (Meta meta : metaRepository.saveAll(metas)) {
+                    eventPublisher.publishEvent(new MetaChangedEvent(null, metaMapper.toDto(meta)));
+                }
+            });
+        }
+    }
+}
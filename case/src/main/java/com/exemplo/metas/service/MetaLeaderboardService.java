@@ -0,0 +1,315 @@
+package com.exemplo.metas.service;
+
+import com.exemplo.metas.domain.enumeration.AreaDoEnem;
+import com.exemplo.metas.repository.MetaRepository;
+import com.exemplo.metas.service.dto.LeaderboardEntryDTO;
+import com.exemplo.metas.service.dto.MetaDTO;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service keeping an in-memory leaderboard of the alunos, per {@link AreaDoEnem}.
+ * <p>
+ * Each aluno is ranked once per area, by the highest {@code valor} of their metas in this area, ties sharing the same
+ * rank. As {@code valor} is bounded to {@code 0..1000}, each area keeps a Fenwick tree of the number of alunos per
+ * best valor, which gives the rank of an aluno in O(log 1001), and a sorted map of the non-empty buckets of alunos per
+ * best valor, which gives the top K in O(K + log 1001) by walking down the buckets. The leaderboard is
+ * rebuilt from the database when the application starts and adjusted on every committed {@link MetaChangedEvent}, the
+ * {@link MetaChangeTracker} keeping the changes committed during the rebuild from being lost.
+ */
+@Service
+public class MetaLeaderboardService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MetaLeaderboardService.class);
+
+    private static final AreaDoEnem[] AREAS = AreaDoEnem.values();
+
+    private final MetaRepository metaRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final MetaChangeTracker metaChangeTracker = new MetaChangeTracker();
+
+    private volatile AreaLeaderboard[] leaderboards = newLeaderboards();
+
+    public MetaLeaderboardService(MetaRepository metaRepository, PlatformTransactionManager transactionManager) {
+        this.metaRepository = metaRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Rebuild the leaderboards from the {@code meta} table.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        LOG.debug("Rebuilding Meta leaderboards");
+        try {
+            boolean rebuilt = metaChangeTracker.rebuild(
+                () -> transactionTemplate.execute(status -> readLeaderboards()),
+                rebuiltLeaderboards -> leaderboards = rebuiltLeaderboards
+            );
+            if (!rebuilt) {
+                LOG.warn("Could not rebuild Meta leaderboards: metas kept changing during the rebuild");
+            }
+        } catch (DataAccessException | TransactionException e) {
+            LOG.warn("Could not rebuild Meta leaderboards: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Apply a change of a meta to the leaderboards, once its transaction commits.
+     *
+     * @param event the change.
+     */
+    @EventListener
+    public void onMetaChanged(MetaChangedEvent event) {
+        metaChangeTracker.onMetaChanged(event, this::adjust);
+    }
+
+    /**
+     * Get the best ranked alunos of an area.
+     *
+     * @param area the area.
+     * @param size the maximum number of entries to return.
+     * @return the entries, one per aluno with their best meta, best first.
+     */
+    public List<LeaderboardEntryDTO> getTop(AreaDoEnem area, int size) {
+        return leaderboards[area.ordinal()].top(size);
+    }
+
+    /**
+     * Get the rank of an aluno in an area, that is the rank of their best meta in this area.
+     *
+     * @param area the area.
+     * @param alunoId the id of the aluno.
+     * @return the entry of the aluno, or empty if they have no meta in this area.
+     */
+    public Optional<LeaderboardEntryDTO> getRank(AreaDoEnem area, Long alunoId) {
+        return leaderboards[area.ordinal()].rankOf(alunoId);
+    }
+
+    private AreaLeaderboard[] readLeaderboards() {
+        AreaLeaderboard[] rebuilt = newLeaderboards();
+        try (Stream<MetaRepository.LeaderboardRow> rows = metaRepository.streamLeaderboardRows()) {
+            rows
+                .filter(row -> isInRange(row.getValor()))
+                .forEach(row -> rebuilt[row.getArea().ordinal()].put(row.getId(), row.getAlunoId(), row.getValor()));
+        }
+        return rebuilt;
+    }
+
+    private void adjust(MetaChangedEvent event) {
+        MetaDTO previous = event.getPrevious();
+        if (previous != null && previous.getId() != null && previous.getArea() != null) {
+            leaderboards[previous.getArea().ordinal()].remove(previous.getId());
+        }
+        MetaDTO current = event.getCurrent();
+        if (
+            current != null &&
+            current.getId() != null &&
+            current.getArea() != null &&
+            current.getAluno() != null &&
+            current.getAluno().getId() != null &&
+            isInRange(current.getValor())
+        ) {
+            leaderboards[current.getArea().ordinal()].put(current.getId(), current.getAluno().getId(), current.getValor());
+        }
+    }
+
+    private static boolean isInRange(Integer valor) {
+        return valor != null && valor >= 0 && valor <= MetaStatisticsService.MAX_VALOR;
+    }
+
+    private static AreaLeaderboard[] newLeaderboards() {
+        AreaLeaderboard[] newLeaderboards = new AreaLeaderboard[AREAS.length];
+        for (int i = 0; i < newLeaderboards.length; i++) {
+            newLeaderboards[i] = new AreaLeaderboard();
+        }
+        return newLeaderboards;
+    }
+
+    /**
+     * Leaderboard of a single area, guarded by a read/write lock.
+     */
+    private static final class AreaLeaderboard {
+
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+        /**
+         * Fenwick tree of the number of alunos per best valor, {@code valor + 1} being the 1-based index.
+         */
+        private final long[] tree = new long[MetaStatisticsService.MAX_VALOR + 2];
+
+        /**
+         * Alunos per best valor, each bucket mapping the aluno id to the id of their best meta. Empty buckets are removed.
+         */
+        private final NavigableMap<Integer, NavigableMap<Long, Long>> buckets = new TreeMap<>();
+
+        private final Map<Long, Integer> valorByMeta = new HashMap<>();
+
+        private final Map<Long, Long> alunoByMeta = new HashMap<>();
+
+        private final Map<Long, AlunoMetas> alunos = new HashMap<>();
+
+        private long size;
+
+        void put(Long metaId, Long alunoId, int valor) {
+            lock.writeLock().lock();
+            try {
+                Long previousAlunoId = removeMeta(metaId);
+                valorByMeta.put(metaId, valor);
+                alunoByMeta.put(metaId, alunoId);
+                alunos.computeIfAbsent(alunoId, id -> new AlunoMetas()).metaIds.add(metaId);
+                if (previousAlunoId != null && !previousAlunoId.equals(alunoId)) {
+                    reindex(previousAlunoId);
+                }
+                reindex(alunoId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void remove(Long metaId) {
+            lock.writeLock().lock();
+            try {
+                Long alunoId = removeMeta(metaId);
+                if (alunoId != null) {
+                    reindex(alunoId);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        List<LeaderboardEntryDTO> top(int limit) {
+            List<LeaderboardEntryDTO> top = new ArrayList<>(Math.min(limit, 100));
+            lock.readLock().lock();
+            try {
+                long above = 0;
+                for (Map.Entry<Integer, NavigableMap<Long, Long>> bucket : buckets.descendingMap().entrySet()) {
+                    for (Map.Entry<Long, Long> entry : bucket.getValue().entrySet()) {
+                        if (top.size() >= limit) {
+                            return top;
+                        }
+                        top.add(new LeaderboardEntryDTO(above + 1, entry.getKey(), entry.getValue(), bucket.getKey()));
+                    }
+                    above += bucket.getValue().size();
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+            return top;
+        }
+
+        Optional<LeaderboardEntryDTO> rankOf(Long alunoId) {
+            lock.readLock().lock();
+            try {
+                AlunoMetas aluno = alunos.get(alunoId);
+                if (aluno == null) {
+                    return Optional.empty();
+                }
+                long above = size - prefixCount(aluno.bestValor);
+                return Optional.of(new LeaderboardEntryDTO(above + 1, alunoId, aluno.bestMetaId, aluno.bestValor));
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        /**
+         * Remove a meta, without re-indexing its aluno.
+         *
+         * @return the id of the aluno of the meta, or {@code null} if the meta was not in the leaderboard.
+         */
+        private Long removeMeta(Long metaId) {
+            Long alunoId = alunoByMeta.remove(metaId);
+            if (alunoId == null) {
+                return null;
+            }
+            valorByMeta.remove(metaId);
+            alunos.get(alunoId).metaIds.remove(metaId);
+            return alunoId;
+        }
+
+        /**
+         * Index an aluno by their best meta, the one with the highest valor and then the lowest id, after their
+         * metas changed.
+         */
+        private void reindex(Long alunoId) {
+            AlunoMetas aluno = alunos.get(alunoId);
+            if (aluno.bestMetaId != null) {
+                NavigableMap<Long, Long> bucket = buckets.get(aluno.bestValor);
+                bucket.remove(alunoId);
+                if (bucket.isEmpty()) {
+                    buckets.remove(aluno.bestValor);
+                }
+                addToTree(aluno.bestValor, -1);
+                size--;
+            }
+            if (aluno.metaIds.isEmpty()) {
+                alunos.remove(alunoId);
+                return;
+            }
+            aluno.bestMetaId = null;
+            aluno.bestValor = -1;
+            for (Long metaId : aluno.metaIds) {
+                int valor = valorByMeta.get(metaId);
+                if (valor > aluno.bestValor || (valor == aluno.bestValor && metaId < aluno.bestMetaId)) {
+                    aluno.bestMetaId = metaId;
+                    aluno.bestValor = valor;
+                }
+            }
+            buckets.computeIfAbsent(aluno.bestValor, valor -> new TreeMap<>()).put(alunoId, aluno.bestMetaId);
+            addToTree(aluno.bestValor, 1);
+            size++;
+        }
+
+        private void addToTree(int valor, long delta) {
+            for (int i = valor + 1; i < tree.length; i += i & -i) {
+                tree[i] += delta;
+            }
+        }
+
+        /**
+         * Number of alunos with a best valor lower than or equal to the given one.
+         */
+        private long prefixCount(int valor) {
+            long count = 0;
+            for (int i = valor + 1; i > 0; i -= i & -i) {
+                count += tree[i];
+            }
+            return count;
+        }
+    }
+
+    /**
+     * Metas of an aluno in an area, and the one they are ranked by.
+     */
+    private static final class AlunoMetas {
+
+        private final Set<Long> metaIds = new HashSet<>();
+
+        private Long bestMetaId;
+
+        private int bestValor = -1;
+    }
+}
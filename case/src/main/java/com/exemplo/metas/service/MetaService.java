@@ -2,13 +2,36 @@ package com.exemplo.metas.service;
 
 import com.exemplo.metas.domain.Meta;
 import com.exemplo.metas.repository.MetaRepository;
+import com.exemplo.metas.service.dto.MetaBulkUpdateResultDTO;
 import com.exemplo.metas.service.dto.MetaDTO;
 import com.exemplo.metas.service.mapper.MetaMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -25,9 +48,28 @@ public class MetaService {
 
     private final MetaMapper metaMapper;
 
-    public MetaService(MetaRepository metaRepository, MetaMapper metaMapper) {
+    private final EntityManager entityManager;
+
+    private final NdjsonExportWriter exportWriter;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Validator validator;
+
+    public MetaService(
+        MetaRepository metaRepository,
+        MetaMapper metaMapper,
+        ObjectMapper objectMapper,
+        EntityManager entityManager,
+        ApplicationEventPublisher eventPublisher,
+        Validator validator
+    ) {
         this.metaRepository = metaRepository;
         this.metaMapper = metaMapper;
+        this.entityManager = entityManager;
+        this.exportWriter = new NdjsonExportWriter(objectMapper, entityManager, Integer.parseInt(MetaRepository.STREAM_FETCH_SIZE));
+        this.eventPublisher = eventPublisher;
+        this.validator = validator;
     }
 
     /**
@@ -40,40 +82,123 @@ public class MetaService {
         LOG.debug("Request to save Meta : {}", metaDTO);
         Meta meta = metaMapper.toEntity(metaDTO);
         meta = metaRepository.save(meta);
-        return metaMapper.toDto(meta);
+        MetaDTO result = metaMapper.toDto(meta);
+        eventPublisher.publishEvent(new MetaChangedEvent(null, result));
+        return result;
     }
 
     /**
      * Update a meta.
      *
      * @param metaDTO the entity to save.
-     * @return the persisted entity.
+     * @param expectedVersions the versions the entity is expected to have, {@code null} to skip the check.
+     * @return the persisted entity, or empty if the meta does not exist.
+     * @throws VersionMismatchException if the entity does not have one of the expected versions.
      */
-    public MetaDTO update(MetaDTO metaDTO) {
+    public Optional<MetaDTO> update(MetaDTO metaDTO, Collection<Long> expectedVersions) {
         LOG.debug("Request to update Meta : {}", metaDTO);
-        Meta meta = metaMapper.toEntity(metaDTO);
-        meta = metaRepository.save(meta);
-        return metaMapper.toDto(meta);
+        return metaRepository
+            .findById(metaDTO.getId())
+            .map(existingMeta -> {
+                checkVersion(existingMeta.getVersion(), expectedVersions);
+                MetaDTO previous = metaMapper.toDto(existingMeta);
+                Meta meta = metaMapper.toEntity(metaDTO);
+                meta.setVersion(existingMeta.getVersion());
+                // The merge copies the new state onto the instance loaded above, without selecting it again;
+                // flushing makes the incremented version available to the result
+                MetaDTO result = metaMapper.toDto(metaRepository.saveAndFlush(meta));
+                eventPublisher.publishEvent(new MetaChangedEvent(previous, result));
+                return result;
+            });
     }
 
     /**
      * Partially update a meta.
      *
      * @param metaDTO the entity to update partially.
+     * @param expectedVersions the versions the entity is expected to have, {@code null} to skip the check.
      * @return the persisted entity.
+     * @throws VersionMismatchException if the entity does not have one of the expected versions.
      */
-    public Optional<MetaDTO> partialUpdate(MetaDTO metaDTO) {
+    public Optional<MetaDTO> partialUpdate(MetaDTO metaDTO, Collection<Long> expectedVersions) {
         LOG.debug("Request to partially update Meta : {}", metaDTO);
 
         return metaRepository
             .findById(metaDTO.getId())
             .map(existingMeta -> {
+                checkVersion(existingMeta.getVersion(), expectedVersions);
+                MetaDTO previous = metaMapper.toDto(existingMeta);
                 metaMapper.partialUpdate(existingMeta, metaDTO);
+                MetaDTO result = metaMapper.toDto(metaRepository.saveAndFlush(existingMeta));
+                eventPublisher.publishEvent(new MetaChangedEvent(previous, result));
+                return result;
+            });
+    }
 
-                return existingMeta;
-            })
-            .map(metaRepository::save)
-            .map(metaMapper::toDto);
+    /**
+     * Partially update many metas in a single transaction.
+     * <p>
+     * All the targeted metas are loaded with one query and patched in memory; the changes are then flushed once,
+     * as batched updates. Metas that are not found or would become invalid are reported and left untouched.
+     *
+     * @param metaDTOs the entities to update partially, identified by their id.
+     * @return the updated entities and the per-id errors.
+     */
+    public MetaBulkUpdateResultDTO partialUpdateAll(List<MetaDTO> metaDTOs) {
+        LOG.debug("Request to partially update {} Metas", metaDTOs.size());
+        MetaBulkUpdateResultDTO result = new MetaBulkUpdateResultDTO();
+        Map<Long, Meta> existingMetas = metaRepository
+            .findAllById(metaDTOs.stream().map(MetaDTO::getId).filter(Objects::nonNull).collect(Collectors.toSet()))
+            .stream()
+            .collect(Collectors.toMap(Meta::getId, Function.identity()));
+
+        Map<Long, MetaDTO> previousMetas = new HashMap<>();
+        List<Meta> patchedMetas = new ArrayList<>();
+        for (MetaDTO metaDTO : metaDTOs) {
+            Long id = metaDTO.getId();
+            Meta meta = id == null ? null : existingMetas.get(id);
+            if (id == null) {
+                result.getErrors().add(new MetaBulkUpdateResultDTO.ItemError(null, "idnull", "Invalid id"));
+            } else if (previousMetas.containsKey(id)) {
+                result.getErrors().add(new MetaBulkUpdateResultDTO.ItemError(id, "idduplicate", "Duplicate id"));
+            } else if (meta == null) {
+                result.getErrors().add(new MetaBulkUpdateResultDTO.ItemError(id, "idnotfound", "Entity not found"));
+            } else {
+                MetaDTO previous = metaMapper.toDto(meta);
+                previousMetas.put(id, previous);
+                metaMapper.partialUpdate(meta, metaDTO);
+                Set<ConstraintViolation<MetaDTO>> violations = validator.validate(metaMapper.toDto(meta));
+                if (violations.isEmpty()) {
+                    patchedMetas.add(meta);
+                } else {
+                    // Keep the invalid changes out of the flush
+                    entityManager.detach(meta);
+                    result.getErrors().add(new MetaBulkUpdateResultDTO.ItemError(id, "invalid", toMessage(violations)));
+                }
+            }
+        }
+
+        metaRepository.flush();
+        for (Meta meta : patchedMetas) {
+            MetaDTO updated = metaMapper.toDto(meta);
+            result.getUpdated().add(updated);
+            eventPublisher.publishEvent(new MetaChangedEvent(previousMetas.get(meta.getId()), updated));
+        }
+        return result;
+    }
+
+    private static void checkVersion(Long version, Collection<Long> expectedVersions) {
+        if (expectedVersions != null && !expectedVersions.contains(version)) {
+            throw new VersionMismatchException();
+        }
+    }
+
+    private static String toMessage(Set<ConstraintViolation<MetaDTO>> violations) {
+        return violations
+            .stream()
+            .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+            .sorted()
+            .collect(Collectors.joining("; "));
     }
 
     /**
@@ -88,6 +213,108 @@ public class MetaService {
         return metaRepository.findAll(pageable).map(metaMapper::toDto);
     }
 
+    /**
+     * Get the metas following the given id, in id order, without counting the total.
+     *
+     * @param afterId the id after which metas are returned, {@code null} to start from the first one.
+     * @param size the maximum number of metas to return.
+     * @return the slice of entities.
+     */
+    @Transactional(readOnly = true)
+    public Slice<MetaDTO> findAllAfter(Long afterId, int size) {
+        LOG.debug("Request to get Metas after : {}", afterId);
+        return metaRepository
+            .findAllByIdGreaterThan(afterId == null ? Long.MIN_VALUE : afterId, PageRequest.of(0, size, Sort.by("id")))
+            .map(metaMapper::toDto);
+    }
+
+    /**
+     * Get all the metas of an aluno, ordered by area.
+     *
+     * @param alunoId the id of the aluno.
+     * @return the list of entities.
+     */
+    @Transactional(readOnly = true)
+    public List<MetaDTO> findAllByAluno(Long alunoId) {
+        LOG.debug("Request to get Metas of Aluno : {}", alunoId);
+        return metaMapper.toDto(metaRepository.findAllByAlunoId(alunoId));
+    }
+
+    /**
+     * Get all the metas of many alunos, loaded with a single query.
+     *
+     * @param alunoIds the ids of the alunos.
+     * @return the metas of every requested aluno, keyed by aluno id in request order; alunos without metas map to an empty list.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, List<MetaDTO>> findAllByAlunos(Collection<Long> alunoIds) {
+        LOG.debug("Request to get Metas of Alunos : {}", alunoIds);
+        Map<Long, List<MetaDTO>> result = new LinkedHashMap<>();
+        for (Long alunoId : alunoIds) {
+            result.put(alunoId, new ArrayList<>());
+        }
+        if (result.isEmpty()) {
+            return result;
+        }
+        for (Meta meta : metaRepository.findAllByAlunoIdIn(result.keySet())) {
+            result.get(meta.getAluno().getId()).add(metaMapper.toDto(meta));
+        }
+        return result;
+    }
+
+    /**
+     * Export all the metas as newline delimited JSON, streaming them from the database.
+     *
+     * @param outputStream the target of the export.
+     * @return the number of exported entities.
+     * @throws IOException if the target cannot be written.
+     */
+    @Transactional(readOnly = true)
+    public long exportAll(OutputStream outputStream) throws IOException {
+        LOG.debug("Request to export all Metas");
+        return exportWriter.write(metaRepository.streamAll(), metaMapper::toDto, outputStream);
+    }
+
+    /**
+     * Get the metas with the given ids.
+     * <p>
+     * Metas already in the second-level cache are resolved from it; only the misses are fetched, with a single query.
+     *
+     * @param ids the ids of the entities.
+     * @return the entities in the order of the given ids; unknown ids are skipped.
+     */
+    @Transactional(readOnly = true)
+    public List<MetaDTO> findAllByIds(Collection<Long> ids) {
+        LOG.debug("Request to get Metas : {}", ids);
+        List<Long> distinctIds = ids.stream().distinct().toList();
+        if (distinctIds.isEmpty()) {
+            return List.of();
+        }
+        return entityManager
+            .unwrap(Session.class)
+            .byMultipleIds(Meta.class)
+            .with(CacheMode.NORMAL)
+            .withBatchSize(distinctIds.size())
+            .enableOrderedReturn(true)
+            .multiLoad(distinctIds)
+            .stream()
+            .filter(Objects::nonNull)
+            .map(metaMapper::toDto)
+            .toList();
+    }
+
+    /**
+     * Get the version of one meta by id, without mapping it.
+     *
+     * @param id the id of the entity.
+     * @return the version of the entity.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Long> findVersion(Long id) {
+        LOG.debug("Request to get the version of Meta : {}", id);
+        return metaRepository.findById(id).map(Meta::getVersion);
+    }
+
     /**
      * Get one meta by id.
      *
@@ -107,6 +334,12 @@ public class MetaService {
      */
     public void delete(Long id) {
         LOG.debug("Request to delete Meta : {}", id);
-        metaRepository.deleteById(id);
+        metaRepository
+            .findById(id)
+            .ifPresent(meta -> {
+                MetaDTO previous = metaMapper.toDto(meta);
+                metaRepository.delete(meta);
+                eventPublisher.publishEvent(new MetaChangedEvent(previous, null));
+            });
     }
 }
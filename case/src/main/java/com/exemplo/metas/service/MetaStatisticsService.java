@@ -0,0 +1,178 @@
+package com.exemplo.metas.service;
+
+import com.exemplo.metas.domain.enumeration.AreaDoEnem;
+import com.exemplo.metas.repository.MetaRepository;
+import com.exemplo.metas.service.dto.MetaDTO;
+import com.exemplo.metas.service.dto.MetaStatisticsDTO;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service keeping the distribution of {@link com.exemplo.metas.domain.Meta#getValor()} per {@link AreaDoEnem} in memory.
+ * <p>
+ * As {@code valor} is bounded to {@code 0..1000}, each area is a histogram of 1001 counters. It is rebuilt from the
+ * database when the application starts and then adjusted on every committed {@link MetaChangedEvent}, so statistics
+ * are answered without any database access. The {@link MetaChangeTracker} keeps the changes committed while the
+ * histograms are rebuilt from being lost or counted twice.
+ */
+@Service
+public class MetaStatisticsService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MetaStatisticsService.class);
+
+    /**
+     * Upper bound of {@link com.exemplo.metas.domain.Meta#getValor()}, the lower bound being 0.
+     */
+    public static final int MAX_VALOR = 1000;
+
+    private static final AreaDoEnem[] AREAS = AreaDoEnem.values();
+
+    private final MetaRepository metaRepository;
+
+    private final MetaChangeTracker metaChangeTracker = new MetaChangeTracker();
+
+    private volatile AtomicLongArray[] histograms = newHistograms();
+
+    public MetaStatisticsService(MetaRepository metaRepository) {
+        this.metaRepository = metaRepository;
+    }
+
+    /**
+     * Rebuild the histograms from the {@code meta} table.
+     * <p>
+     * This reads one row per distinct (area, valor) pair, so at most 4004 rows whatever the size of the table.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        LOG.debug("Rebuilding Meta statistics");
+        try {
+            boolean rebuilt = metaChangeTracker.rebuild(this::readHistograms, rebuiltHistograms -> histograms = rebuiltHistograms);
+            if (!rebuilt) {
+                LOG.warn("Could not rebuild Meta statistics: metas kept changing during the rebuild");
+            }
+        } catch (DataAccessException e) {
+            LOG.warn("Could not rebuild Meta statistics: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Apply a change of a meta to the histograms, once its transaction commits.
+     *
+     * @param event the change.
+     */
+    @EventListener
+    public void onMetaChanged(MetaChangedEvent event) {
+        metaChangeTracker.onMetaChanged(event, this::adjust);
+    }
+
+    /**
+     * Get the statistics of all the areas.
+     *
+     * @return the statistics, in {@link AreaDoEnem} order.
+     */
+    public List<MetaStatisticsDTO> getStatistics() {
+        List<MetaStatisticsDTO> statistics = new ArrayList<>(AREAS.length);
+        for (AreaDoEnem area : AREAS) {
+            statistics.add(getStatistics(area));
+        }
+        return statistics;
+    }
+
+    /**
+     * Get the statistics of one area.
+     *
+     * @param area the area.
+     * @return the statistics.
+     */
+    public MetaStatisticsDTO getStatistics(AreaDoEnem area) {
+        AtomicLongArray histogram = histograms[area.ordinal()];
+        long[] counts = new long[MAX_VALOR + 1];
+        long count = 0;
+        long sum = 0;
+        int min = -1;
+        int max = -1;
+        for (int valor = 0; valor <= MAX_VALOR; valor++) {
+            long valorCount = histogram.get(valor);
+            if (valorCount > 0) {
+                counts[valor] = valorCount;
+                count += valorCount;
+                sum += valorCount * valor;
+                if (min < 0) {
+                    min = valor;
+                }
+                max = valor;
+            }
+        }
+
+        MetaStatisticsDTO statistics = new MetaStatisticsDTO();
+        statistics.setArea(area);
+        statistics.setCount(count);
+        if (count > 0) {
+            statistics.setMin(min);
+            statistics.setMax(max);
+            statistics.setAverage((double) sum / count);
+            statistics.setP50(percentile(counts, count, 0.50));
+            statistics.setP75(percentile(counts, count, 0.75));
+            statistics.setP90(percentile(counts, count, 0.90));
+            statistics.setP95(percentile(counts, count, 0.95));
+            statistics.setP99(percentile(counts, count, 0.99));
+        }
+        return statistics;
+    }
+
+    private AtomicLongArray[] readHistograms() {
+        AtomicLongArray[] rebuilt = newHistograms();
+        for (MetaRepository.ValorCount valorCount : metaRepository.countByAreaAndValor()) {
+            if (isInRange(valorCount.getValor())) {
+                rebuilt[valorCount.getArea().ordinal()].addAndGet(valorCount.getValor(), valorCount.getTotal());
+            }
+        }
+        return rebuilt;
+    }
+
+    private void adjust(MetaChangedEvent event) {
+        adjust(event.getPrevious(), -1);
+        adjust(event.getCurrent(), 1);
+    }
+
+    private void adjust(MetaDTO metaDTO, int delta) {
+        if (metaDTO == null || metaDTO.getArea() == null || !isInRange(metaDTO.getValor())) {
+            return;
+        }
+        histograms[metaDTO.getArea().ordinal()].addAndGet(metaDTO.getValor(), delta);
+    }
+
+    private static boolean isInRange(Integer valor) {
+        return valor != null && valor >= 0 && valor <= MAX_VALOR;
+    }
+
+    /**
+     * Nearest-rank percentile over a histogram snapshot.
+     */
+    private static int percentile(long[] counts, long count, double percentile) {
+        long rank = Math.max(1, (long) Math.ceil(percentile * count));
+        long cumulated = 0;
+        for (int valor = 0; valor <= MAX_VALOR; valor++) {
+            cumulated += counts[valor];
+            if (cumulated >= rank) {
+                return valor;
+            }
+        }
+        return MAX_VALOR;
+    }
+
+    private static AtomicLongArray[] newHistograms() {
+        AtomicLongArray[] newHistograms = new AtomicLongArray[AREAS.length];
+        for (int i = 0; i < newHistograms.length; i++) {
+            newHistograms[i] = new AtomicLongArray(MAX_VALOR + 1);
+        }
+        return newHistograms;
+    }
+}
@@ -0,0 +1,63 @@
+package com.exemplo.metas.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Writes a stream of entities as newline delimited JSON.
+ * <p>
+ * The persistence context is cleared every {@code clearInterval} rows, so memory stays flat
+ * whatever the size of the exported table.
+ */
+final class NdjsonExportWriter {
+
+    private final ObjectMapper objectMapper;
+
+    private final ObjectWriter objectWriter;
+
+    private final EntityManager entityManager;
+
+    private final int clearInterval;
+
+    NdjsonExportWriter(ObjectMapper objectMapper, EntityManager entityManager, int clearInterval) {
+        this.objectMapper = objectMapper;
+        this.objectWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.entityManager = entityManager;
+        this.clearInterval = Math.max(1, clearInterval);
+    }
+
+    /**
+     * Map and write every entity of the stream, one JSON document per line.
+     *
+     * @param entities the entities to export, consumed and closed by this method.
+     * @param toDto the entity to DTO mapping.
+     * @param outputStream the target, flushed but left open.
+     * @return the number of exported rows.
+     * @throws IOException if the target cannot be written.
+     */
+    <E, D> long write(Stream<E> entities, Function<E, D> toDto, OutputStream outputStream) throws IOException {
+        long count = 0;
+        try (Stream<E> stream = entities; JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            Iterator<E> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                objectWriter.writeValue(generator, toDto.apply(iterator.next()));
+                generator.writeRaw('\n');
+                if (++count % clearInterval == 0) {
+                    entityManager.clear();
+                    generator.flush();
+                }
+            }
+            generator.flush();
+        }
+        return count;
+    }
+}
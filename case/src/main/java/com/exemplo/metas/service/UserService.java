@@ -6,6 +6,7 @@ import com.exemplo.metas.domain.User;
 import com.exemplo.metas.repository.AuthorityRepository;
 import com.exemplo.metas.repository.UserRepository;
 import com.exemplo.metas.security.AuthoritiesConstants;
+import com.exemplo.metas.security.DomainUserDetailsService;
 import com.exemplo.metas.security.SecurityUtils;
 import com.exemplo.metas.service.dto.AdminUserDTO;
 import com.exemplo.metas.service.dto.UserDTO;
@@ -15,9 +16,13 @@ import java.util.*;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -182,15 +187,30 @@ public class UserService {
 
     /**
      * Update all information for a specific user, and return the modified user.
+     * <p>
+     * The email and login are only checked for uniqueness when they change.
      *
      * @param userDTO user to update.
-     * @return updated user.
+     * @return updated user, or empty if the user does not exist.
+     * @throws EmailAlreadyUsedException if the new email is already used by another user.
+     * @throws UsernameAlreadyUsedException if the new login is already used by another user.
      */
     public Optional<AdminUserDTO> updateUser(AdminUserDTO userDTO) {
         return Optional.of(userRepository.findById(userDTO.getId()))
             .filter(Optional::isPresent)
             .map(Optional::get)
             .map(user -> {
+                if (
+                    userDTO.getEmail() != null &&
+                    !userDTO.getEmail().equalsIgnoreCase(user.getEmail()) &&
+                    userRepository.findOneByEmailIgnoreCase(userDTO.getEmail()).isPresent()
+                ) {
+                    throw new EmailAlreadyUsedException();
+                }
+                String login = userDTO.getLogin().toLowerCase();
+                if (!login.equals(user.getLogin()) && userRepository.findOneByLogin(login).isPresent()) {
+                    throw new UsernameAlreadyUsedException();
+                }
                 this.clearUserCaches(user);
                 user.setLogin(userDTO.getLogin().toLowerCase());
                 user.setFirstName(userDTO.getFirstName());
@@ -241,6 +261,8 @@ public class UserService {
         SecurityUtils.getCurrentUserLogin()
             .flatMap(userRepository::findOneByLogin)
             .ifPresent(user -> {
+                // Under the previous email
+                this.clearUserCaches(user);
                 user.setFirstName(firstName);
                 user.setLastName(lastName);
                 if (email != null) {
@@ -275,6 +297,20 @@ public class UserService {
         return userRepository.findAll(pageable).map(AdminUserDTO::new);
     }
 
+    /**
+     * Get the users following the given id, in id order, without counting the total.
+     *
+     * @param afterId the id after which users are returned, {@code null} to start from the first one.
+     * @param size the maximum number of users to return.
+     * @return the slice of users.
+     */
+    @Transactional(readOnly = true)
+    public Slice<AdminUserDTO> getAllManagedUsersAfter(Long afterId, int size) {
+        return userRepository
+            .findAllByIdGreaterThan(afterId == null ? Long.MIN_VALUE : afterId, PageRequest.of(0, size, Sort.by("id")))
+            .map(AdminUserDTO::new);
+    }
+
     @Transactional(readOnly = true)
     public Page<UserDTO> getAllPublicUsers(Pageable pageable) {
         return userRepository.findAllByIdNotNullAndActivatedIsTrue(pageable).map(UserDTO::new);
@@ -317,8 +353,11 @@ public class UserService {
 
     private void clearUserCaches(User user) {
         Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE)).evictIfPresent(user.getLogin());
+        Cache userPrincipals = Objects.requireNonNull(cacheManager.getCache(DomainUserDetailsService.USER_PRINCIPALS_CACHE));
+        userPrincipals.evictIfPresent(user.getLogin());
         if (user.getEmail() != null) {
             Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_EMAIL_CACHE)).evictIfPresent(user.getEmail());
+            userPrincipals.evictIfPresent(user.getEmail().toLowerCase(Locale.ENGLISH));
         }
     }
 }
@@ -0,0 +1,10 @@
+package com.exemplo.metas.service;
+
+public class VersionMismatchException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public VersionMismatchException() {
+        super("The entity has been modified since the given version!");
+    }
+}
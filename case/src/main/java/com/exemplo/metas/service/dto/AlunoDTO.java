@@ -1,5 +1,6 @@
 package com.exemplo.metas.service.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.validation.constraints.*;
 import java.io.Serializable;
 import java.util.Objects;
@@ -16,6 +17,12 @@ public class AlunoDTO implements Serializable {
     @Size(min = 3)
     private String nome;
 
+    /**
+     * Version of the entity, sent in the {@code ETag} header instead of the body.
+     */
+    @JsonIgnore
+    private Long version;
+
     public Long getId() {
         return id;
     }
@@ -32,6 +39,14 @@ public class AlunoDTO implements Serializable {
         this.nome = nome;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -0,0 +1,73 @@
+package com.exemplo.metas.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * A DTO for the position of an aluno in the per area leaderboard, with their best {@link com.exemplo.metas.domain.Meta}.
+ */
+public class LeaderboardEntryDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private long rank;
+
+    private Long alunoId;
+
+    private Long metaId;
+
+    private Integer valor;
+
+    public LeaderboardEntryDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public LeaderboardEntryDTO(long rank, Long alunoId, Long metaId, Integer valor) {
+        this.rank = rank;
+        this.alunoId = alunoId;
+        this.metaId = metaId;
+        this.valor = valor;
+    }
+
+    public long getRank() {
+        return rank;
+    }
+
+    public void setRank(long rank) {
+        this.rank = rank;
+    }
+
+    public Long getAlunoId() {
+        return alunoId;
+    }
+
+    public void setAlunoId(Long alunoId) {
+        this.alunoId = alunoId;
+    }
+
+    public Long getMetaId() {
+        return metaId;
+    }
+
+    public void setMetaId(Long metaId) {
+        this.metaId = metaId;
+    }
+
+    public Integer getValor() {
+        return valor;
+    }
+
+    public void setValor(Integer valor) {
+        this.valor = valor;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "LeaderboardEntryDTO{" +
+            "rank=" + getRank() +
+            ", alunoId=" + getAlunoId() +
+            ", metaId=" + getMetaId() +
+            ", valor=" + getValor() +
+            "}";
+    }
+}
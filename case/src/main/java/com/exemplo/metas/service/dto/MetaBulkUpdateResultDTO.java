@@ -0,0 +1,92 @@
+package com.exemplo.metas.service.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A DTO reporting the outcome of a bulk partial update of {@link com.exemplo.metas.domain.Meta} entities.
+ */
+public class MetaBulkUpdateResultDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<MetaDTO> updated = new ArrayList<>();
+
+    private final List<ItemError> errors = new ArrayList<>();
+
+    public List<MetaDTO> getUpdated() {
+        return updated;
+    }
+
+    public List<ItemError> getErrors() {
+        return errors;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "MetaBulkUpdateResultDTO{" +
+            "updated=" + getUpdated().size() +
+            ", errors=" + getErrors().size() +
+            "}";
+    }
+
+    /**
+     * An error attached to a single meta of the bulk update.
+     */
+    public static class ItemError implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private Long id;
+
+        private String error;
+
+        private String message;
+
+        public ItemError() {
+            // Empty constructor needed for Jackson.
+        }
+
+        public ItemError(Long id, String error, String message) {
+            this.id = id;
+            this.error = error;
+            this.message = message;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getError() {
+            return error;
+        }
+
+        public void setError(String error) {
+            this.error = error;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public void setMessage(String message) {
+            this.message = message;
+        }
+
+        // prettier-ignore
+        @Override
+        public String toString() {
+            return "ItemError{" +
+                "id=" + getId() +
+                ", error='" + getError() + "'" +
+                ", message='" + getMessage() + "'" +
+                "}";
+        }
+    }
+}
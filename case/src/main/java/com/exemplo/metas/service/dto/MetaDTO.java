@@ -1,6 +1,7 @@
 package com.exemplo.metas.service.dto;
 
 import com.exemplo.metas.domain.enumeration.AreaDoEnem;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.validation.constraints.*;
 import java.io.Serializable;
 import java.util.Objects;
@@ -23,6 +24,12 @@ public class MetaDTO implements Serializable {
 
     private AlunoDTO aluno;
 
+    /**
+     * Version of the entity, sent in the {@code ETag} header instead of the body.
+     */
+    @JsonIgnore
+    private Long version;
+
     public Long getId() {
         return id;
     }
@@ -55,6 +62,14 @@ public class MetaDTO implements Serializable {
         this.aluno = aluno;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -0,0 +1,105 @@
+package com.exemplo.metas.service.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A DTO reporting the outcome of a bulk import of {@link com.exemplo.metas.domain.Meta} rows.
+ */
+public class MetaImportResultDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private long imported;
+
+    private long failed;
+
+    private boolean errorsTruncated;
+
+    private final List<RowError> errors = new ArrayList<>();
+
+    public long getImported() {
+        return imported;
+    }
+
+    public void setImported(long imported) {
+        this.imported = imported;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public void setFailed(long failed) {
+        this.failed = failed;
+    }
+
+    public boolean isErrorsTruncated() {
+        return errorsTruncated;
+    }
+
+    public void setErrorsTruncated(boolean errorsTruncated) {
+        this.errorsTruncated = errorsTruncated;
+    }
+
+    public List<RowError> getErrors() {
+        return errors;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "MetaImportResultDTO{" +
+            "imported=" + getImported() +
+            ", failed=" + getFailed() +
+            ", errorsTruncated=" + isErrorsTruncated() +
+            "}";
+    }
+
+    /**
+     * An error attached to a single line of the imported payload.
+     */
+    public static class RowError implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private long line;
+
+        private String message;
+
+        public RowError() {
+            // Empty constructor needed for Jackson.
+        }
+
+        public RowError(long line, String message) {
+            this.line = line;
+            this.message = message;
+        }
+
+        public long getLine() {
+            return line;
+        }
+
+        public void setLine(long line) {
+            this.line = line;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public void setMessage(String message) {
+            this.message = message;
+        }
+
+        // prettier-ignore
+        @Override
+        public String toString() {
+            return "RowError{" +
+                "line=" + getLine() +
+                ", message='" + getMessage() + "'" +
+                "}";
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.exemplo.metas.service.dto;
+
+import com.exemplo.metas.domain.enumeration.AreaDoEnem;
+import java.io.Serializable;
+
+/**
+ * A DTO with the distribution of {@link com.exemplo.metas.domain.Meta#getValor()} for one {@link AreaDoEnem}.
+ * <p>
+ * All the values but {@code count} are {@code null} when the area has no meta.
+ */
+public class MetaStatisticsDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private AreaDoEnem area;
+
+    private long count;
+
+    private Integer min;
+
+    private Integer max;
+
+    private Double average;
+
+    private Integer p50;
+
+    private Integer p75;
+
+    private Integer p90;
+
+    private Integer p95;
+
+    private Integer p99;
+
+    public AreaDoEnem getArea() {
+        return area;
+    }
+
+    public void setArea(AreaDoEnem area) {
+        this.area = area;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public Integer getMin() {
+        return min;
+    }
+
+    public void setMin(Integer min) {
+        this.min = min;
+    }
+
+    public Integer getMax() {
+        return max;
+    }
+
+    public void setMax(Integer max) {
+        this.max = max;
+    }
+
+    public Double getAverage() {
+        return average;
+    }
+
+    public void setAverage(Double average) {
+        this.average = average;
+    }
+
+    public Integer getP50() {
+        return p50;
+    }
+
+    public void setP50(Integer p50) {
+        this.p50 = p50;
+    }
+
+    public Integer getP75() {
+        return p75;
+    }
+
+    public void setP75(Integer p75) {
+        this.p75 = p75;
+    }
+
+    public Integer getP90() {
+        return p90;
+    }
+
+    public void setP90(Integer p90) {
+        this.p90 = p90;
+    }
+
+    public Integer getP95() {
+        return p95;
+    }
+
+    public void setP95(Integer p95) {
+        this.p95 = p95;
+    }
+
+    public Integer getP99() {
+        return p99;
+    }
+
+    public void setP99(Integer p99) {
+        this.p99 = p99;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "MetaStatisticsDTO{" +
+            "area='" + getArea() + "'" +
+            ", count=" + getCount() +
+            ", min=" + getMin() +
+            ", max=" + getMax() +
+            ", average=" + getAverage() +
+            ", p50=" + getP50() +
+            ", p75=" + getP75() +
+            ", p90=" + getP90() +
+            ", p95=" + getP95() +
+            ", p99=" + getP99() +
+            "}";
+    }
+}
@@ -8,4 +8,14 @@ import org.mapstruct.*;
  * Mapper for the entity {@link Aluno} and its DTO {@link AlunoDTO}.
  */
 @Mapper(componentModel = "spring")
-public interface AlunoMapper extends EntityMapper<AlunoDTO, Aluno> {}
+public interface AlunoMapper extends EntityMapper<AlunoDTO, Aluno> {
+    @Override
+    @Mapping(target = "version", ignore = true)
+    Aluno toEntity(AlunoDTO dto);
+
+    @Override
+    @Named("partialUpdate")
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "version", ignore = true)
+    void partialUpdate(@MappingTarget Aluno entity, AlunoDTO dto);
+}
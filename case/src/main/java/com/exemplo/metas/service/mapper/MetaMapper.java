@@ -14,6 +14,16 @@ public interface MetaMapper extends EntityMapper<MetaDTO, Meta> {
     @Mapping(target = "aluno", source = "aluno", qualifiedByName = "alunoId")
     MetaDTO toDto(Meta s);
 
+    @Override
+    @Mapping(target = "version", ignore = true)
+    Meta toEntity(MetaDTO dto);
+
+    @Override
+    @Named("partialUpdate")
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "version", ignore = true)
+    void partialUpdate(@MappingTarget Meta entity, MetaDTO dto);
+
     @Named("alunoId")
     @BeanMapping(ignoreByDefault = true)
     @Mapping(target = "id", source = "id")
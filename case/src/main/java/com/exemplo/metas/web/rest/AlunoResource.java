@@ -2,13 +2,18 @@ package com.exemplo.metas.web.rest;
 
 import com.exemplo.metas.repository.AlunoRepository;
 import com.exemplo.metas.service.AlunoService;
+import com.exemplo.metas.service.MetaService;
 import com.exemplo.metas.service.dto.AlunoDTO;
+import com.exemplo.metas.service.dto.MetaDTO;
 import com.exemplo.metas.web.rest.errors.BadRequestAlertException;
+import com.exemplo.metas.web.util.ETagUtil;
+import com.exemplo.metas.web.util.KeysetPaginationUtil;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import org.slf4j.Logger;
@@ -16,9 +21,13 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
@@ -35,6 +44,8 @@ public class AlunoResource {
 
     private static final String ENTITY_NAME = "aluno";
 
+    private static final int MAX_BATCH_SIZE = 1000;
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
@@ -42,9 +53,12 @@ public class AlunoResource {
 
     private final AlunoRepository alunoRepository;
 
-    public AlunoResource(AlunoService alunoService, AlunoRepository alunoRepository) {
+    private final MetaService metaService;
+
+    public AlunoResource(AlunoService alunoService, AlunoRepository alunoRepository, MetaService metaService) {
         this.alunoService = alunoService;
         this.alunoRepository = alunoRepository;
+        this.metaService = metaService;
     }
 
     /**
@@ -70,15 +84,18 @@ public class AlunoResource {
      * {@code PUT  /alunos/:id} : Updates an existing aluno.
      *
      * @param id the id of the alunoDTO to save.
+     * @param ifMatch the entity tags the aluno is expected to have, for lost-update protection.
      * @param alunoDTO the alunoDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated alunoDTO,
-     * or with status {@code 400 (Bad Request)} if the alunoDTO is not valid,
+     * or with status {@code 400 (Bad Request)} if the alunoDTO is not valid or is not found,
+     * or with status {@code 412 (Precondition Failed)} if the aluno does not match {@code If-Match},
      * or with status {@code 500 (Internal Server Error)} if the alunoDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/{id}")
     public ResponseEntity<AlunoDTO> updateAluno(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @Valid @RequestBody AlunoDTO alunoDTO
     ) throws URISyntaxException {
         LOG.debug("REST request to update Aluno : {}, {}", id, alunoDTO);
@@ -89,13 +106,12 @@ public class AlunoResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!alunoRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-
-        alunoDTO = alunoService.update(alunoDTO);
+        alunoDTO = alunoService
+            .update(alunoDTO, ETagUtil.parseIfMatch(ifMatch))
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, alunoDTO.getId().toString()))
+            .headers(ETagUtil.generateETagHeaders(alunoDTO.getVersion()))
             .body(alunoDTO);
     }
 
@@ -103,16 +119,18 @@ public class AlunoResource {
      * {@code PATCH  /alunos/:id} : Partial updates given fields of an existing aluno, field will ignore if it is null
      *
      * @param id the id of the alunoDTO to save.
+     * @param ifMatch the entity tags the aluno is expected to have, for lost-update protection.
      * @param alunoDTO the alunoDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated alunoDTO,
-     * or with status {@code 400 (Bad Request)} if the alunoDTO is not valid,
-     * or with status {@code 404 (Not Found)} if the alunoDTO is not found,
+     * or with status {@code 400 (Bad Request)} if the alunoDTO is not valid or is not found,
+     * or with status {@code 412 (Precondition Failed)} if the aluno does not match {@code If-Match},
      * or with status {@code 500 (Internal Server Error)} if the alunoDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/{id}", consumes = { "application/json", "application/merge-patch+json" })
     public ResponseEntity<AlunoDTO> partialUpdateAluno(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @NotNull @RequestBody AlunoDTO alunoDTO
     ) throws URISyntaxException {
         LOG.debug("REST request to partial update Aluno partially : {}, {}", id, alunoDTO);
@@ -123,43 +141,132 @@ public class AlunoResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!alunoRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-
-        Optional<AlunoDTO> result = alunoService.partialUpdate(alunoDTO);
-
-        return ResponseUtil.wrapOrNotFound(
-            result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, alunoDTO.getId().toString())
-        );
+        AlunoDTO result = alunoService
+            .partialUpdate(alunoDTO, ETagUtil.parseIfMatch(ifMatch))
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+        return ResponseEntity.ok()
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
+            .headers(ETagUtil.generateETagHeaders(result.getVersion()))
+            .body(result);
     }
 
     /**
      * {@code GET  /alunos} : get all the alunos.
+     * <p>
+     * When the {@code after} parameter is present, alunos are returned in id order after the given cursor
+     * (empty for the first page), without total count; the next cursor is sent in the {@code Link} header.
+     * <p>
+     * When the {@code ids} parameter is present, only the alunos with these ids are returned, in the same order and
+     * without pagination; alunos found in the second-level cache are not read from the database.
      *
      * @param pageable the pagination information.
+     * @param after the keyset cursor, enabling keyset pagination.
+     * @param ids the ids of the alunos to get, at most {@value #MAX_BATCH_SIZE}.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of alunos in body.
      */
     @GetMapping("")
-    public ResponseEntity<List<AlunoDTO>> getAllAlunos(@org.springdoc.core.annotations.ParameterObject Pageable pageable) {
+    public ResponseEntity<List<AlunoDTO>> getAllAlunos(
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(name = KeysetPaginationUtil.AFTER_PARAMETER, required = false) String after,
+        @RequestParam(name = "ids", required = false) List<Long> ids
+    ) {
+        if (ids != null) {
+            LOG.debug("REST request to get Alunos by ids : {}", ids);
+            if (ids.size() > MAX_BATCH_SIZE) {
+                throw new BadRequestAlertException("Invalid number of ids", ENTITY_NAME, "idsinvalid");
+            }
+            return ResponseEntity.ok(alunoService.findAllByIds(ids));
+        }
+        if (after != null) {
+            LOG.debug("REST request to get a keyset page of Alunos");
+            Slice<AlunoDTO> slice = alunoService.findAllAfter(
+                KeysetPaginationUtil.decodeCursor(after, ENTITY_NAME),
+                pageable.getPageSize()
+            );
+            HttpHeaders headers = KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(
+                ServletUriComponentsBuilder.fromCurrentRequest(),
+                slice,
+                AlunoDTO::getId
+            );
+            return ResponseEntity.ok().headers(headers).body(slice.getContent());
+        }
         LOG.debug("REST request to get a page of Alunos");
         Page<AlunoDTO> page = alunoService.findAll(pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * {@code GET  /alunos/export} : export all the alunos as newline delimited JSON.
+     * <p>
+     * Rows are streamed from the database with a forward-only cursor, without count or offset queries.
+     *
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the streamed alunos in body.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportAlunos() {
+        LOG.debug("REST request to export all Alunos");
+        StreamingResponseBody body = outputStream -> alunoService.exportAll(outputStream);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    /**
+     * {@code GET  /alunos/metas} : get the metas of many alunos, loaded with a single query.
+     *
+     * @param ids the ids of the alunos.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the metas keyed by aluno id in body,
+     * or with status {@code 400 (Bad Request)} if no id or more than {@value #MAX_BATCH_SIZE} ids are given.
+     */
+    @GetMapping("/metas")
+    public ResponseEntity<Map<Long, List<MetaDTO>>> getMetasOfAlunos(@RequestParam(name = "ids") List<Long> ids) {
+        LOG.debug("REST request to get Metas of Alunos : {}", ids);
+        if (ids.isEmpty() || ids.size() > MAX_BATCH_SIZE) {
+            throw new BadRequestAlertException("Invalid number of ids", ENTITY_NAME, "idsinvalid");
+        }
+        return ResponseEntity.ok(metaService.findAllByAlunos(ids));
+    }
+
     /**
      * {@code GET  /alunos/:id} : get the "id" aluno.
      *
      * @param id the id of the alunoDTO to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the alunoDTO, or with status {@code 404 (Not Found)}.
+     * @param ifNoneMatch the entity tags of the representations the client already has.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the alunoDTO,
+     * or with status {@code 304 (Not Modified)} if the aluno matches {@code If-None-Match},
+     * or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<AlunoDTO> getAluno(@PathVariable("id") Long id) {
+    public ResponseEntity<AlunoDTO> getAluno(
+        @PathVariable("id") Long id,
+        @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
         LOG.debug("REST request to get Aluno : {}", id);
+        if (ifNoneMatch != null) {
+            Optional<Long> version = alunoService.findVersion(id);
+            if (version.isPresent() && ETagUtil.matchesIfNoneMatch(ifNoneMatch, version.orElseThrow())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(ETagUtil.generateETagHeaders(version.orElseThrow())).build();
+            }
+        }
         Optional<AlunoDTO> alunoDTO = alunoService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(alunoDTO);
+        return ResponseUtil.wrapOrNotFound(alunoDTO, ETagUtil.generateETagHeaders(alunoDTO.map(AlunoDTO::getVersion).orElse(null)));
+    }
+
+    /**
+     * {@code GET  /alunos/:id/metas} : get the metas of the "id" aluno, ordered by area.
+     *
+     * @param id the id of the aluno.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of metas in body,
+     * or with status {@code 404 (Not Found)} if the aluno does not exist.
+     */
+    @GetMapping("/{id}/metas")
+    public ResponseEntity<List<MetaDTO>> getMetasOfAluno(@PathVariable("id") Long id) {
+        LOG.debug("REST request to get Metas of Aluno : {}", id);
+        List<MetaDTO> metas = metaService.findAllByAluno(id);
+        // Only an empty result needs the extra existence check
+        if (metas.isEmpty() && !alunoRepository.existsById(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(metas);
     }
 
     /**
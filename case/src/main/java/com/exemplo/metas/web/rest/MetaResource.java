@@ -1,11 +1,22 @@
 package com.exemplo.metas.web.rest;
 
-import com.exemplo.metas.repository.MetaRepository;
+import com.exemplo.metas.domain.enumeration.AreaDoEnem;
+import com.exemplo.metas.service.MetaImportService;
+import com.exemplo.metas.service.MetaLeaderboardService;
 import com.exemplo.metas.service.MetaService;
+import com.exemplo.metas.service.MetaStatisticsService;
+import com.exemplo.metas.service.dto.LeaderboardEntryDTO;
+import com.exemplo.metas.service.dto.MetaBulkUpdateResultDTO;
 import com.exemplo.metas.service.dto.MetaDTO;
+import com.exemplo.metas.service.dto.MetaImportResultDTO;
+import com.exemplo.metas.service.dto.MetaStatisticsDTO;
 import com.exemplo.metas.web.rest.errors.BadRequestAlertException;
+import com.exemplo.metas.web.util.ETagUtil;
+import com.exemplo.metas.web.util.KeysetPaginationUtil;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
@@ -16,9 +27,13 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
@@ -35,16 +50,31 @@ public class MetaResource {
 
     private static final String ENTITY_NAME = "meta";
 
+    private static final int MAX_LEADERBOARD_SIZE = 1000;
+
+    private static final int MAX_BATCH_SIZE = 1000;
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
     private final MetaService metaService;
 
-    private final MetaRepository metaRepository;
+    private final MetaImportService metaImportService;
+
+    private final MetaStatisticsService metaStatisticsService;
 
-    public MetaResource(MetaService metaService, MetaRepository metaRepository) {
+    private final MetaLeaderboardService metaLeaderboardService;
+
+    public MetaResource(
+        MetaService metaService,
+        MetaImportService metaImportService,
+        MetaStatisticsService metaStatisticsService,
+        MetaLeaderboardService metaLeaderboardService
+    ) {
         this.metaService = metaService;
-        this.metaRepository = metaRepository;
+        this.metaImportService = metaImportService;
+        this.metaStatisticsService = metaStatisticsService;
+        this.metaLeaderboardService = metaLeaderboardService;
     }
 
     /**
@@ -66,19 +96,48 @@ public class MetaResource {
             .body(metaDTO);
     }
 
+    /**
+     * {@code POST  /metas/import} : Bulk import metas from a newline delimited JSON payload, one meta per line.
+     *
+     * @param body the streamed request body.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the per-row import report.
+     * @throws IOException if the request body cannot be read.
+     */
+    @PostMapping(value = "/import", consumes = { MediaType.APPLICATION_NDJSON_VALUE, "application/ndjson" })
+    public ResponseEntity<MetaImportResultDTO> importMetasNdjson(InputStream body) throws IOException {
+        LOG.debug("REST request to import Metas from NDJSON");
+        return ResponseEntity.ok(metaImportService.importNdjson(body));
+    }
+
+    /**
+     * {@code POST  /metas/import} : Bulk import metas from a CSV payload with a {@code valor,area,aluno} header.
+     *
+     * @param body the streamed request body.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the per-row import report.
+     * @throws IOException if the request body cannot be read.
+     */
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<MetaImportResultDTO> importMetasCsv(InputStream body) throws IOException {
+        LOG.debug("REST request to import Metas from CSV");
+        return ResponseEntity.ok(metaImportService.importCsv(body));
+    }
+
     /**
      * {@code PUT  /metas/:id} : Updates an existing meta.
      *
      * @param id the id of the metaDTO to save.
+     * @param ifMatch the entity tags the meta is expected to have, for lost-update protection.
      * @param metaDTO the metaDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated metaDTO,
-     * or with status {@code 400 (Bad Request)} if the metaDTO is not valid,
+     * or with status {@code 400 (Bad Request)} if the metaDTO is not valid or is not found,
+     * or with status {@code 412 (Precondition Failed)} if the meta does not match {@code If-Match},
      * or with status {@code 500 (Internal Server Error)} if the metaDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/{id}")
     public ResponseEntity<MetaDTO> updateMeta(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @Valid @RequestBody MetaDTO metaDTO
     ) throws URISyntaxException {
         LOG.debug("REST request to update Meta : {}, {}", id, metaDTO);
@@ -89,13 +148,12 @@ public class MetaResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!metaRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-
-        metaDTO = metaService.update(metaDTO);
+        metaDTO = metaService
+            .update(metaDTO, ETagUtil.parseIfMatch(ifMatch))
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, metaDTO.getId().toString()))
+            .headers(ETagUtil.generateETagHeaders(metaDTO.getVersion()))
             .body(metaDTO);
     }
 
@@ -103,16 +161,18 @@ public class MetaResource {
      * {@code PATCH  /metas/:id} : Partial updates given fields of an existing meta, field will ignore if it is null
      *
      * @param id the id of the metaDTO to save.
+     * @param ifMatch the entity tags the meta is expected to have, for lost-update protection.
      * @param metaDTO the metaDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated metaDTO,
-     * or with status {@code 400 (Bad Request)} if the metaDTO is not valid,
-     * or with status {@code 404 (Not Found)} if the metaDTO is not found,
+     * or with status {@code 400 (Bad Request)} if the metaDTO is not valid or is not found,
+     * or with status {@code 412 (Precondition Failed)} if the meta does not match {@code If-Match},
      * or with status {@code 500 (Internal Server Error)} if the metaDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/{id}", consumes = { "application/json", "application/merge-patch+json" })
     public ResponseEntity<MetaDTO> partialUpdateMeta(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @NotNull @RequestBody MetaDTO metaDTO
     ) throws URISyntaxException {
         LOG.debug("REST request to partial update Meta partially : {}, {}", id, metaDTO);
@@ -123,43 +183,160 @@ public class MetaResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!metaRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-
-        Optional<MetaDTO> result = metaService.partialUpdate(metaDTO);
+        MetaDTO result = metaService
+            .partialUpdate(metaDTO, ETagUtil.parseIfMatch(ifMatch))
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+        return ResponseEntity.ok()
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
+            .headers(ETagUtil.generateETagHeaders(result.getVersion()))
+            .body(result);
+    }
 
-        return ResponseUtil.wrapOrNotFound(
-            result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, metaDTO.getId().toString())
-        );
+    /**
+     * {@code PATCH  /metas} : Partial updates given fields of many existing metas in one transaction, fields will ignore if null
+     *
+     * @param metaDTOs the metaDTOs to update, identified by their id.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated metaDTOs and the per-id errors,
+     * or with status {@code 400 (Bad Request)} if more than {@value #MAX_BATCH_SIZE} metas are given.
+     */
+    @PatchMapping(value = "", consumes = { "application/json", "application/merge-patch+json" })
+    public ResponseEntity<MetaBulkUpdateResultDTO> partialUpdateMetas(@NotNull @RequestBody List<MetaDTO> metaDTOs) {
+        LOG.debug("REST request to partial update {} Metas", metaDTOs.size());
+        if (metaDTOs.size() > MAX_BATCH_SIZE) {
+            throw new BadRequestAlertException("Invalid number of metas", ENTITY_NAME, "sizeinvalid");
+        }
+        return ResponseEntity.ok(metaService.partialUpdateAll(metaDTOs));
     }
 
     /**
      * {@code GET  /metas} : get all the metas.
+     * <p>
+     * When the {@code after} parameter is present, metas are returned in id order after the given cursor
+     * (empty for the first page), without total count; the next cursor is sent in the {@code Link} header.
+     * <p>
+     * When the {@code ids} parameter is present, only the metas with these ids are returned, in the same order and
+     * without pagination; metas found in the second-level cache are not read from the database.
      *
      * @param pageable the pagination information.
+     * @param after the keyset cursor, enabling keyset pagination.
+     * @param ids the ids of the metas to get, at most {@value #MAX_BATCH_SIZE}.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of metas in body.
      */
     @GetMapping("")
-    public ResponseEntity<List<MetaDTO>> getAllMetas(@org.springdoc.core.annotations.ParameterObject Pageable pageable) {
+    public ResponseEntity<List<MetaDTO>> getAllMetas(
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(name = KeysetPaginationUtil.AFTER_PARAMETER, required = false) String after,
+        @RequestParam(name = "ids", required = false) List<Long> ids
+    ) {
+        if (ids != null) {
+            LOG.debug("REST request to get Metas by ids : {}", ids);
+            if (ids.size() > MAX_BATCH_SIZE) {
+                throw new BadRequestAlertException("Invalid number of ids", ENTITY_NAME, "idsinvalid");
+            }
+            return ResponseEntity.ok(metaService.findAllByIds(ids));
+        }
+        if (after != null) {
+            LOG.debug("REST request to get a keyset page of Metas");
+            Slice<MetaDTO> slice = metaService.findAllAfter(KeysetPaginationUtil.decodeCursor(after, ENTITY_NAME), pageable.getPageSize());
+            HttpHeaders headers = KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(
+                ServletUriComponentsBuilder.fromCurrentRequest(),
+                slice,
+                MetaDTO::getId
+            );
+            return ResponseEntity.ok().headers(headers).body(slice.getContent());
+        }
         LOG.debug("REST request to get a page of Metas");
         Page<MetaDTO> page = metaService.findAll(pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * {@code GET  /metas/export} : export all the metas as newline delimited JSON.
+     * <p>
+     * Rows are streamed from the database with a forward-only cursor, without count or offset queries.
+     *
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the streamed metas in body.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportMetas() {
+        LOG.debug("REST request to export all Metas");
+        StreamingResponseBody body = outputStream -> metaService.exportAll(outputStream);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    /**
+     * {@code GET  /metas/stats} : get the distribution of the metas' valor per area.
+     * <p>
+     * Answered from an in-memory histogram, without database access.
+     *
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the statistics of every area in body.
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<List<MetaStatisticsDTO>> getMetaStatistics() {
+        LOG.debug("REST request to get Meta statistics");
+        return ResponseEntity.ok(metaStatisticsService.getStatistics());
+    }
+
+    /**
+     * {@code GET  /metas/leaderboard/:area} : get the best ranked alunos of an area, by their best meta.
+     *
+     * @param area the area of the leaderboard.
+     * @param size the maximum number of entries to return.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the leaderboard entries, best first, in body.
+     */
+    @GetMapping("/leaderboard/{area}")
+    public ResponseEntity<List<LeaderboardEntryDTO>> getLeaderboard(
+        @PathVariable("area") AreaDoEnem area,
+        @RequestParam(name = "size", defaultValue = "10") int size
+    ) {
+        LOG.debug("REST request to get the Meta leaderboard of {}", area);
+        if (size < 1 || size > MAX_LEADERBOARD_SIZE) {
+            throw new BadRequestAlertException("Invalid leaderboard size", ENTITY_NAME, "sizeinvalid");
+        }
+        return ResponseEntity.ok(metaLeaderboardService.getTop(area, size));
+    }
+
+    /**
+     * {@code GET  /metas/leaderboard/:area/alunos/:alunoId} : get the rank of an aluno in an area.
+     *
+     * @param area the area of the leaderboard.
+     * @param alunoId the id of the aluno.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the leaderboard entry of the aluno,
+     * or with status {@code 404 (Not Found)} if the aluno has no meta in this area.
+     */
+    @GetMapping("/leaderboard/{area}/alunos/{alunoId}")
+    public ResponseEntity<LeaderboardEntryDTO> getLeaderboardRank(
+        @PathVariable("area") AreaDoEnem area,
+        @PathVariable("alunoId") Long alunoId
+    ) {
+        LOG.debug("REST request to get the rank of Aluno {} in the Meta leaderboard of {}", alunoId, area);
+        return ResponseUtil.wrapOrNotFound(metaLeaderboardService.getRank(area, alunoId));
+    }
+
     /**
      * {@code GET  /metas/:id} : get the "id" meta.
      *
      * @param id the id of the metaDTO to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the metaDTO, or with status {@code 404 (Not Found)}.
+     * @param ifNoneMatch the entity tags of the representations the client already has.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the metaDTO,
+     * or with status {@code 304 (Not Modified)} if the meta matches {@code If-None-Match},
+     * or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<MetaDTO> getMeta(@PathVariable("id") Long id) {
+    public ResponseEntity<MetaDTO> getMeta(
+        @PathVariable("id") Long id,
+        @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
         LOG.debug("REST request to get Meta : {}", id);
+        if (ifNoneMatch != null) {
+            Optional<Long> version = metaService.findVersion(id);
+            if (version.isPresent() && ETagUtil.matchesIfNoneMatch(ifNoneMatch, version.orElseThrow())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(ETagUtil.generateETagHeaders(version.orElseThrow())).build();
+            }
+        }
         Optional<MetaDTO> metaDTO = metaService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(metaDTO);
+        return ResponseUtil.wrapOrNotFound(metaDTO, ETagUtil.generateETagHeaders(metaDTO.map(MetaDTO::getVersion).orElse(null)));
     }
 
     /**
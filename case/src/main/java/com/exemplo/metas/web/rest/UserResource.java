@@ -10,6 +10,7 @@ import com.exemplo.metas.service.dto.AdminUserDTO;
 import com.exemplo.metas.web.rest.errors.BadRequestAlertException;
 import com.exemplo.metas.web.rest.errors.EmailAlreadyUsedException;
 import com.exemplo.metas.web.rest.errors.LoginAlreadyUsedException;
+import com.exemplo.metas.web.util.KeysetPaginationUtil;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Pattern;
 import java.net.URI;
@@ -20,6 +21,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -140,14 +142,7 @@ public class UserResource {
         @Valid @RequestBody AdminUserDTO userDTO
     ) {
         LOG.debug("REST request to update User : {}", userDTO);
-        Optional<User> existingUser = userRepository.findOneByEmailIgnoreCase(userDTO.getEmail());
-        if (existingUser.isPresent() && (!existingUser.orElseThrow().getId().equals(userDTO.getId()))) {
-            throw new EmailAlreadyUsedException();
-        }
-        existingUser = userRepository.findOneByLogin(userDTO.getLogin().toLowerCase());
-        if (existingUser.isPresent() && (!existingUser.orElseThrow().getId().equals(userDTO.getId()))) {
-            throw new LoginAlreadyUsedException();
-        }
+        // The service checks the email and login uniqueness in the same transaction as the update
         Optional<AdminUserDTO> updatedUser = userService.updateUser(userDTO);
 
         return ResponseUtil.wrapOrNotFound(
@@ -158,14 +153,33 @@ public class UserResource {
 
     /**
      * {@code GET /admin/users} : get all users with all the details - calling this are only allowed for the administrators.
+     * <p>
+     * When the {@code after} parameter is present, users are returned in id order after the given cursor
+     * (empty for the first page), without total count; the next cursor is sent in the {@code Link} header.
      *
      * @param pageable the pagination information.
+     * @param after the keyset cursor, enabling keyset pagination.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body all users.
      */
     @GetMapping("/users")
     @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
-    public ResponseEntity<List<AdminUserDTO>> getAllUsers(@org.springdoc.core.annotations.ParameterObject Pageable pageable) {
+    public ResponseEntity<List<AdminUserDTO>> getAllUsers(
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(name = KeysetPaginationUtil.AFTER_PARAMETER, required = false) String after
+    ) {
         LOG.debug("REST request to get all User for an admin");
+        if (after != null) {
+            Slice<AdminUserDTO> slice = userService.getAllManagedUsersAfter(
+                KeysetPaginationUtil.decodeCursor(after, "userManagement"),
+                pageable.getPageSize()
+            );
+            HttpHeaders headers = KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(
+                ServletUriComponentsBuilder.fromCurrentRequest(),
+                slice,
+                AdminUserDTO::getId
+            );
+            return new ResponseEntity<>(slice.getContent(), headers, HttpStatus.OK);
+        }
         if (!onlyContainsAllowedProperties(pageable)) {
             return ResponseEntity.badRequest().build();
         }
@@ -216,6 +216,7 @@ public class ExceptionTranslator extends ResponseEntityExceptionHandler {
         // Where we disagree with Spring defaults
         if (err instanceof AccessDeniedException) return HttpStatus.FORBIDDEN;
         if (err instanceof ConcurrencyFailureException) return HttpStatus.CONFLICT;
+        if (err instanceof com.exemplo.metas.service.VersionMismatchException) return HttpStatus.PRECONDITION_FAILED;
         if (err instanceof BadCredentialsException) return HttpStatus.UNAUTHORIZED;
         return null;
     }
@@ -0,0 +1,91 @@
+package com.exemplo.metas.web.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.http.HttpHeaders;
+
+/**
+ * Utility class for handling entity tags built from the {@code @Version} of an entity.
+ * <p>
+ * The tag of an entity is its version, quoted, e.g. {@code "3"}. It changes with every update, so it can be used
+ * both for conditional reads ({@code If-None-Match}) and for lost-update protection ({@code If-Match}),
+ * see <a href="https://www.rfc-editor.org/rfc/rfc9110#section-13.1">RFC 9110</a>.
+ */
+public final class ETagUtil {
+
+    private static final String WEAK_PREFIX = "W/";
+
+    private static final String ANY = "*";
+
+    private ETagUtil() {}
+
+    /**
+     * Build the strong entity tag of a version.
+     *
+     * @param version the version of the entity.
+     * @return the quoted entity tag.
+     */
+    public static String toETag(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Generate the {@code ETag} header of a version.
+     *
+     * @param version the version of the entity, {@code null} if unknown.
+     * @return the {@link HttpHeaders}, empty if the version is unknown.
+     */
+    public static HttpHeaders generateETagHeaders(Long version) {
+        HttpHeaders headers = new HttpHeaders();
+        if (version != null) {
+            headers.setETag(toETag(version));
+        }
+        return headers;
+    }
+
+    /**
+     * Check an {@code If-None-Match} header against the current version, using the weak comparison.
+     *
+     * @param ifNoneMatch the header value, may be {@code null}.
+     * @param version the current version of the entity.
+     * @return {@code true} if the client representation is current and {@code 304 (Not Modified)} can be answered.
+     */
+    public static boolean matchesIfNoneMatch(String ifNoneMatch, Long version) {
+        if (ifNoneMatch == null || version == null) {
+            return false;
+        }
+        String eTag = toETag(version);
+        for (String tag : ifNoneMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.equals(ANY) || tag.equals(eTag) || tag.equals(WEAK_PREFIX + eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Parse the versions listed in an {@code If-Match} header. Weak and foreign tags never match, as
+     * {@code If-Match} uses the strong comparison.
+     *
+     * @param ifMatch the header value, may be {@code null}.
+     * @return the acceptable versions, or {@code null} if any version is acceptable (no header, or {@code *}).
+     */
+    public static List<Long> parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals(ANY)) {
+            return null;
+        }
+        List<Long> versions = new ArrayList<>();
+        for (String tag : ifMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+                try {
+                    versions.add(Long.valueOf(tag.substring(1, tag.length() - 1)));
+                } catch (NumberFormatException e) {
+                    // Not one of our tags, it cannot match
+                }
+            }
+        }
+        return versions;
+    }
+}
@@ -0,0 +1,85 @@
+package com.exemplo.metas.web.util;
+
+import com.exemplo.metas.web.rest.errors.BadRequestAlertException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Utility class for handling keyset (seek) pagination.
+ * <p>
+ * Instead of a page number, clients send the opaque cursor of the last row they received in the {@code after}
+ * query parameter, and the next rows are looked up by primary key. No count query is run, so deep pages cost
+ * the same as the first one. The cursor of the next page is sent back in the {@code Link} header, following the
+ * <a href="https://tools.ietf.org/html/rfc5988">RFC 5988</a> format, and is omitted on the last page.
+ */
+public final class KeysetPaginationUtil {
+
+    /**
+     * Name of the query parameter carrying the cursor; an empty value starts from the first row.
+     */
+    public static final String AFTER_PARAMETER = "after";
+
+    private KeysetPaginationUtil() {}
+
+    /**
+     * Encode the primary key of the last returned row into an opaque cursor.
+     *
+     * @param id the primary key.
+     * @return the cursor.
+     */
+    public static String encodeCursor(Long id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(id.toString().getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Decode a cursor produced by {@link #encodeCursor(Long)}.
+     *
+     * @param cursor the cursor, empty to start from the first row.
+     * @param entityName the name of the paginated entity, used in the error alert.
+     * @return the primary key after which rows should be returned, or {@code null} for the first page.
+     * @throws BadRequestAlertException {@code 400 (Bad Request)} if the cursor is not valid.
+     */
+    public static Long decodeCursor(String cursor, String entityName) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.valueOf(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Invalid cursor", entityName, "cursorinvalid");
+        }
+    }
+
+    /**
+     * Generate the pagination headers for a keyset page.
+     *
+     * @param uriBuilder the builder of the current request URI.
+     * @param slice the returned rows, ordered by primary key.
+     * @param idExtractor the accessor of the primary key of a row.
+     * @param <T> the type of the rows.
+     * @return the {@link HttpHeaders}, with a {@code Link} to the next page if there is one.
+     */
+    public static <T> HttpHeaders generateKeysetPaginationHttpHeaders(
+        UriComponentsBuilder uriBuilder,
+        Slice<T> slice,
+        Function<T, Long> idExtractor
+    ) {
+        HttpHeaders headers = new HttpHeaders();
+        List<T> content = slice.getContent();
+        if (slice.hasNext() && !content.isEmpty()) {
+            String next = uriBuilder
+                .replaceQueryParam("page")
+                .replaceQueryParam("sort")
+                .replaceQueryParam(AFTER_PARAMETER, encodeCursor(idExtractor.apply(content.get(content.size() - 1))))
+                .replaceQueryParam("size", slice.getSize())
+                .toUriString();
+            headers.add(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return headers;
+    }
+}
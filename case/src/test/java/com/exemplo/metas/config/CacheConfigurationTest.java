@@ -0,0 +1,177 @@
+package com.exemplo.metas.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.exemplo.metas.repository.UserRepository;
+import com.hazelcast.config.CacheConfig;
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.MaxSizePolicy;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import javax.cache.expiry.CreatedExpiryPolicy;
+import javax.cache.expiry.TouchedExpiryPolicy;
+import org.ehcache.Cache;
+import org.ehcache.CacheManager;
+import org.ehcache.config.ResourceType;
+import org.ehcache.config.SizedResourcePool;
+import org.ehcache.config.builders.CacheManagerBuilder;
+import org.ehcache.config.units.EntryUnit;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.cache.CacheAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.util.unit.DataSize;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Unit tests for the {@link CacheConfiguration} class.
+ */
+class CacheConfigurationTest {
+
+    private JHipsterProperties.Cache.Ehcache ehcache;
+
+    private ApplicationProperties.Cache.Region region;
+
+    @BeforeEach
+    void setup() {
+        ehcache = new JHipsterProperties().getCache().getEhcache();
+        ehcache.setMaxEntries(100);
+        ehcache.setTimeToLiveSeconds(3600);
+        region = new ApplicationProperties.Cache.Region();
+    }
+
+    @Test
+    void testRegionDefaultsToJHipsterSettings() {
+        org.ehcache.config.CacheConfiguration<Object, Object> configuration = CacheConfiguration.ehcacheConfiguration(
+            "test",
+            region,
+            ehcache
+        );
+
+        SizedResourcePool heap = configuration.getResourcePools().getPoolForResource(ResourceType.Core.HEAP);
+        assertThat(heap.getSize()).isEqualTo(100);
+        assertThat(heap.getUnit()).isEqualTo(EntryUnit.ENTRIES);
+        assertThat(configuration.getResourcePools().getResourceTypeSet()).containsExactly(ResourceType.Core.HEAP);
+        assertThat(configuration.getExpiryPolicy().getExpiryForCreation("key", "value")).isEqualTo(Duration.ofHours(1));
+    }
+
+    @Test
+    void testRegionOverrides() {
+        region.setHeapSize(DataSize.ofMegabytes(1));
+        region.setOffHeapSize(DataSize.ofMegabytes(4));
+        region.setTimeToIdleSeconds(60L);
+
+        org.ehcache.config.CacheConfiguration<Object, Object> configuration = CacheConfiguration.ehcacheConfiguration(
+            "test",
+            region,
+            ehcache
+        );
+
+        SizedResourcePool heap = configuration.getResourcePools().getPoolForResource(ResourceType.Core.HEAP);
+        assertThat(MemoryUnit.B.toBytes(heap.getSize())).isEqualTo(DataSize.ofMegabytes(1).toBytes());
+        SizedResourcePool offHeap = configuration.getResourcePools().getPoolForResource(ResourceType.Core.OFFHEAP);
+        assertThat(offHeap.getSize()).isEqualTo(DataSize.ofMegabytes(4).toBytes());
+        assertThat(configuration.getExpiryPolicy().getExpiryForCreation("key", "value")).isEqualTo(Duration.ofSeconds(60));
+        assertThat(configuration.getExpiryPolicy().getExpiryForAccess("key", () -> "value")).isEqualTo(Duration.ofSeconds(60));
+    }
+
+    @Test
+    void testExclusiveSettings() {
+        region.setMaxEntries(10L);
+        region.setHeapSize(DataSize.ofMegabytes(1));
+        assertThatThrownBy(() -> CacheConfiguration.ehcacheConfiguration("test", region, ehcache)).isInstanceOf(
+            IllegalArgumentException.class
+        );
+
+        region.setHeapSize(null);
+        region.setTimeToLiveSeconds(10L);
+        region.setTimeToIdleSeconds(10L);
+        assertThatThrownBy(() -> CacheConfiguration.ehcacheConfiguration("test", region, ehcache)).isInstanceOf(
+            IllegalArgumentException.class
+        );
+    }
+
+    @Test
+    void testOffHeapTierKeepsEvictedEntries() {
+        region.setMaxEntries(10L);
+        region.setOffHeapSize(DataSize.ofMegabytes(1));
+
+        try (
+            CacheManager cacheManager = CacheManagerBuilder.newCacheManagerBuilder()
+                .withCache("test", CacheConfiguration.ehcacheConfiguration("test", region, ehcache))
+                .build(true)
+        ) {
+            Cache<Object, Object> cache = cacheManager.getCache("test", Object.class, Object.class);
+            for (long i = 0; i < 100; i++) {
+                cache.put(i, "value" + i);
+            }
+            for (long i = 0; i < 100; i++) {
+                assertThat(cache.get(i)).isEqualTo("value" + i);
+            }
+        }
+    }
+
+    @Test
+    void testDistributedRegionDefaultsToJHipsterSettings() {
+        CacheConfig<Object, Object> configuration = CacheConfiguration.hazelcastConfiguration("test", region, ehcache, 1);
+
+        assertThat(configuration.getBackupCount()).isEqualTo(1);
+        assertThat(configuration.getEvictionConfig().getSize()).isEqualTo(100);
+        assertThat(configuration.getEvictionConfig().getMaxSizePolicy()).isEqualTo(MaxSizePolicy.ENTRY_COUNT);
+        assertThat(configuration.getEvictionConfig().getEvictionPolicy()).isEqualTo(EvictionPolicy.LRU);
+        assertThat(configuration.getExpiryPolicyFactory()).isEqualTo(
+            CreatedExpiryPolicy.factoryOf(new javax.cache.expiry.Duration(TimeUnit.SECONDS, 3600))
+        );
+    }
+
+    @Test
+    void testDistributedRegionOverrides() {
+        region.setMaxEntries(10L);
+        region.setTimeToIdleSeconds(60L);
+
+        CacheConfig<Object, Object> configuration = CacheConfiguration.hazelcastConfiguration("test", region, ehcache, 0);
+
+        assertThat(configuration.getBackupCount()).isZero();
+        assertThat(configuration.getEvictionConfig().getSize()).isEqualTo(10);
+        assertThat(configuration.getExpiryPolicyFactory()).isEqualTo(
+            TouchedExpiryPolicy.factoryOf(new javax.cache.expiry.Duration(TimeUnit.SECONDS, 60))
+        );
+    }
+
+    @Test
+    void testDistributedExclusiveSettings() {
+        region.setTimeToLiveSeconds(10L);
+        region.setTimeToIdleSeconds(10L);
+        assertThatThrownBy(() -> CacheConfiguration.hazelcastConfiguration("test", region, ehcache, 1)).isInstanceOf(
+            IllegalArgumentException.class
+        );
+    }
+
+    @Test
+    void testCacheManagerAddsNearCaches() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        ApplicationProperties.Cache.Region usersByLogin = new ApplicationProperties.Cache.Region();
+        usersByLogin.setNearCacheMaxEntries(10L);
+        applicationProperties.getCache().getRegions().put(UserRepository.USERS_BY_LOGIN_CACHE, usersByLogin);
+
+        new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(CacheAutoConfiguration.class))
+            .withUserConfiguration(CacheConfiguration.class)
+            .withBean(JHipsterProperties.class)
+            .withBean(ApplicationProperties.class, () -> applicationProperties)
+            .run(context -> {
+                assertThat(context).hasSingleBean(org.springframework.cache.CacheManager.class);
+                org.springframework.cache.CacheManager cacheManager = context.getBean(org.springframework.cache.CacheManager.class);
+                assertThat(cacheManager).isInstanceOf(DecoratingJCacheCacheManager.class);
+                assertThat(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE)).isInstanceOf(NearCache.class);
+                assertThat(cacheManager.getCache(UserRepository.USERS_BY_EMAIL_CACHE)).isNotInstanceOf(NearCache.class);
+                assertThat(context.getBean(javax.cache.CacheManager.class).getCachingProvider()).isInstanceOf(
+                    EhcacheCachingProvider.class
+                );
+            });
+    }
+}
@@ -0,0 +1,70 @@
+package com.exemplo.metas.config;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+import org.hibernate.SessionFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+/**
+ * A peer of {@link CacheInvalidationBusTest}, run in a JVM of its own.
+ * <p>
+ * Prints the evictions it receives on its standard output, prefixed with {@link #OUTPUT_PREFIX}, and broadcasts the
+ * eviction of every key read from its standard input, until the input is closed.
+ */
+public final class CacheInvalidationBusPeer {
+
+    static final String OUTPUT_PREFIX = "peer: ";
+
+    private CacheInvalidationBusPeer() {}
+
+    /**
+     * @param args the port of this peer, and the port of the test.
+     */
+    public static void main(String[] args) throws Exception {
+        CacheInvalidationBus bus = CacheInvalidationBusTest.startBus(
+            Integer.parseInt(args[0]),
+            CacheInvalidationBusTest.SECRET,
+            Integer.parseInt(args[1])
+        );
+        ConcurrentMapCache usersByLogin = new ConcurrentMapCache("usersByLogin") {
+            @Override
+            public boolean evictIfPresent(Object key) {
+                print("evicted " + getName() + " " + key);
+                return super.evictIfPresent(key);
+            }
+        };
+        bus.registerCache(usersByLogin);
+        org.hibernate.Cache secondLevelCache = mock(org.hibernate.Cache.class, invocation -> {
+            print(
+                invocation.getMethod().getName() +
+                " " +
+                Arrays.stream(invocation.getArguments()).map(String::valueOf).collect(Collectors.joining(" "))
+            );
+            return null;
+        });
+        SessionFactory sessionFactory = mock(SessionFactory.class);
+        when(sessionFactory.getCache()).thenReturn(secondLevelCache);
+        bus.setSessionFactory(sessionFactory);
+        Cache cache = new BroadcastingCache(usersByLogin, bus);
+        print("ready");
+
+        BufferedReader input = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+        String key;
+        while ((key = input.readLine()) != null) {
+            cache.evict(key);
+        }
+        bus.stop();
+    }
+
+    private static synchronized void print(String line) {
+        System.out.println(OUTPUT_PREFIX + line);
+        System.out.flush();
+    }
+}
@@ -0,0 +1,322 @@
+package com.exemplo.metas.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.exemplo.metas.domain.Aluno;
+import com.exemplo.metas.domain.Meta;
+import com.exemplo.metas.repository.AlunoRepository;
+import com.exemplo.metas.service.AlunoService;
+import com.exemplo.metas.service.dto.AlunoDTO;
+import com.exemplo.metas.service.mapper.AlunoMapperImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.DatagramSocket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import org.hibernate.SessionFactory;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.engine.spi.ActionQueue;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.mockito.ArgumentCaptor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.transaction.event.TransactionalEventListenerFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+class CacheInvalidationBusTest {
+
+    static final String SECRET = "test-secret";
+
+    private CacheInvalidationBus first;
+
+    private CacheInvalidationBus second;
+
+    @AfterEach
+    void tearDown() {
+        if (first != null) {
+            first.stop();
+        }
+        if (second != null) {
+            second.stop();
+        }
+    }
+
+    @Test
+    void shouldCoalesceEvictions() {
+        Set<String> lines = new LinkedHashSet<>();
+        lines.add(CacheInvalidationBus.encode(CacheInvalidationBus.Kind.CACHE, "usersByLogin", "admin"));
+        lines.add(CacheInvalidationBus.encode(CacheInvalidationBus.Kind.ENTITY, "com.exemplo.metas.domain.Meta", 1L));
+        lines.add(CacheInvalidationBus.encode(CacheInvalidationBus.Kind.ENTITY, "com.exemplo.metas.domain.Meta", 2L));
+        lines.add(CacheInvalidationBus.encode(CacheInvalidationBus.Kind.ENTITY, "com.exemplo.metas.domain.Meta", null));
+
+        assertThat(CacheInvalidationBus.coalesce("node", lines)).containsExactly(
+            "node\nCACHE\tusersByLogin\tS:admin\nENTITY\tcom.exemplo.metas.domain.Meta"
+        );
+    }
+
+    @Test
+    void shouldSplitLargeBatches() {
+        Set<String> lines = new LinkedHashSet<>();
+        for (long id = 0; id < 200; id++) {
+            lines.add(CacheInvalidationBus.encode(CacheInvalidationBus.Kind.ENTITY, "com.exemplo.metas.domain.Meta", id));
+        }
+
+        List<String> payloads = CacheInvalidationBus.coalesce("node", lines);
+
+        assertThat(payloads).hasSizeGreaterThan(1).allSatisfy(payload -> assertThat(payload).hasSizeLessThanOrEqualTo(1400));
+        assertThat(payloads.stream().mapToLong(payload -> payload.lines().count() - 1).sum()).isEqualTo(200);
+    }
+
+    @Test
+    void shouldEvictOnPeers() throws Exception {
+        int firstPort = freePort();
+        int secondPort = freePort();
+        first = startBus(firstPort, SECRET, firstPort, secondPort);
+        second = startBus(secondPort, SECRET, firstPort, secondPort);
+        ConcurrentMapCache firstCache = new ConcurrentMapCache("usersByLogin");
+        ConcurrentMapCache secondCache = new ConcurrentMapCache("usersByLogin");
+        first.registerCache(firstCache);
+        second.registerCache(secondCache);
+        firstCache.put("admin", "first");
+        secondCache.put("admin", "second");
+        secondCache.put("user", "second");
+
+        first.publishCacheKey("usersByLogin", "admin");
+
+        awaitUntil(() -> secondCache.get("admin") == null);
+        assertThat(secondCache.get("user")).isNotNull();
+        // Its own evictions are ignored
+        assertThat(firstCache.get("admin")).isNotNull();
+
+        first.publishCacheClear("usersByLogin");
+
+        awaitUntil(() -> secondCache.getNativeCache().isEmpty());
+    }
+
+    @Test
+    // Leaves time to start the JVM of the peer
+    @Timeout(60)
+    void shouldEvictOnPeerInAnotherJvm() throws Exception {
+        int port = freePort();
+        int peerPort = freePort();
+        first = startBus(port, SECRET, peerPort);
+        ConcurrentMapCache usersByLogin = new ConcurrentMapCache("usersByLogin");
+        first.registerCache(usersByLogin);
+        Cache cache = new BroadcastingCache(usersByLogin, first);
+        Process peer = new ProcessBuilder(
+            Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+            "-cp",
+            System.getProperty("java.class.path"),
+            CacheInvalidationBusPeer.class.getName(),
+            String.valueOf(peerPort),
+            String.valueOf(port)
+        )
+            .redirectError(ProcessBuilder.Redirect.INHERIT)
+            .start();
+        try {
+            BlockingQueue<String> output = readOutput(peer);
+            awaitOutput(output, "ready");
+
+            // Evicted through the Spring cache abstraction, as by UserService.clearUserCaches
+            cache.evict("admin");
+            awaitOutput(output, "evicted usersByLogin admin");
+
+            // Updated by Hibernate, then committed
+            CacheInvalidationEventListener listener = new CacheInvalidationEventListener(first);
+            afterCommit(listener, Meta.class.getName(), 42L).doAfterTransactionCompletion(true, null);
+            awaitOutput(output, "evictEntityData " + Meta.class.getName() + " 42");
+
+            // And back from the peer
+            usersByLogin.put("user", "first");
+            Writer input = new OutputStreamWriter(peer.getOutputStream(), StandardCharsets.UTF_8);
+            input.write("user\n");
+            input.flush();
+            awaitUntil(() -> usersByLogin.get("user") == null);
+        } finally {
+            peer.getOutputStream().close();
+            if (!peer.waitFor(10, TimeUnit.SECONDS)) {
+                peer.destroyForcibly();
+            }
+        }
+    }
+
+    @Test
+    // Leaves time to mock the session factory and to load the service
+    @Timeout(60)
+    void shouldEvictDirectlyUpdatedEntityOnPeersAfterCommit() throws Exception {
+        int firstPort = freePort();
+        int secondPort = freePort();
+        first = startBus(firstPort, SECRET, secondPort);
+        second = startBus(secondPort, SECRET, firstPort);
+        SessionFactory sessionFactory = mock(SessionFactory.class);
+        org.hibernate.Cache secondLevelCache = mock(org.hibernate.Cache.class);
+        when(sessionFactory.getCache()).thenReturn(secondLevelCache);
+        second.setSessionFactory(sessionFactory);
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getPersistence().setDirectUpdates(true);
+        AlunoRepository alunoRepository = mock(AlunoRepository.class);
+        when(alunoRepository.updateNome(42L, "Maria")).thenReturn(1);
+        AlunoDTO aluno = new AlunoDTO();
+        aluno.setId(42L);
+        aluno.setNome("Maria");
+
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext()) {
+            // As registered by the transaction management of the application
+            context.registerBean(TransactionalEventListenerFactory.class);
+            context.registerBean(CacheInvalidationEventListener.class, () -> new CacheInvalidationEventListener(first));
+            context.refresh();
+            AlunoService alunoService = new AlunoService(
+                alunoRepository,
+                new AlunoMapperImpl(),
+                new ObjectMapper(),
+                mock(EntityManager.class),
+                applicationProperties,
+                context
+            );
+            TransactionSynchronizationManager.initSynchronization();
+            TransactionSynchronizationManager.setActualTransactionActive(true);
+            try {
+                // The bulk update bypasses the Hibernate event listeners
+                assertThat(alunoService.update(aluno, null)).isPresent();
+                Thread.sleep(200);
+                verify(secondLevelCache, never()).evictEntityData(Aluno.class.getName(), 42L);
+
+                TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+            } finally {
+                TransactionSynchronizationManager.setActualTransactionActive(false);
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+        }
+
+        verify(secondLevelCache, timeout(5000)).evictEntityData(Aluno.class.getName(), 42L);
+    }
+
+    @Test
+    void shouldIgnoreEvictionsSignedWithAnotherSecret() throws Exception {
+        int firstPort = freePort();
+        int secondPort = freePort();
+        first = startBus(firstPort, "another-secret", secondPort);
+        second = startBus(secondPort, SECRET, firstPort);
+        ConcurrentMapCache secondCache = new ConcurrentMapCache("usersByLogin");
+        second.registerCache(secondCache);
+        secondCache.put("admin", "second");
+
+        first.publishCacheKey("usersByLogin", "admin");
+        Thread.sleep(200);
+
+        assertThat(secondCache.get("admin")).isNotNull();
+    }
+
+    @Test
+    void shouldRequireSecretOutsideLoopback() {
+        ApplicationProperties.Cache.Invalidation properties = new ApplicationProperties.Cache.Invalidation();
+        properties.setBindAddress("0.0.0.0");
+        properties.setPort(0);
+        CacheInvalidationBus bus = new CacheInvalidationBus(properties);
+
+        assertThatIllegalStateException().isThrownBy(bus::start).withMessageContaining("secret");
+    }
+
+    static CacheInvalidationBus startBus(int port, String secret, int... peers) {
+        ApplicationProperties.Cache.Invalidation properties = new ApplicationProperties.Cache.Invalidation();
+        properties.setBindAddress("127.0.0.1");
+        properties.setSecret(secret);
+        properties.setPort(port);
+        for (int peer : peers) {
+            properties.getPeers().add("127.0.0.1:" + peer);
+        }
+        properties.setFlushIntervalMillis(5);
+        CacheInvalidationBus bus = new CacheInvalidationBus(properties);
+        bus.start();
+        return bus;
+    }
+
+    /**
+     * Feed an update of an entity to the listener, returning what it registered to run once the transaction completes.
+     */
+    private static AfterTransactionCompletionProcess afterCommit(CacheInvalidationEventListener listener, String entityName, Object id) {
+        EntityPersister persister = mock(EntityPersister.class);
+        when(persister.canWriteToCache()).thenReturn(true);
+        when(persister.getRootEntityName()).thenReturn(entityName);
+        ActionQueue actionQueue = mock(ActionQueue.class);
+        EventSource session = mock(EventSource.class);
+        when(session.getActionQueue()).thenReturn(actionQueue);
+        PostUpdateEvent event = mock(PostUpdateEvent.class);
+        when(event.getSession()).thenReturn(session);
+        when(event.getPersister()).thenReturn(persister);
+        when(event.getId()).thenReturn(id);
+
+        listener.onPostUpdate(event);
+
+        ArgumentCaptor<AfterTransactionCompletionProcess> process = ArgumentCaptor.forClass(AfterTransactionCompletionProcess.class);
+        verify(actionQueue).registerProcess(process.capture());
+        return process.getValue();
+    }
+
+    private static BlockingQueue<String> readOutput(Process process) {
+        BlockingQueue<String> output = new LinkedBlockingQueue<>();
+        Thread reader = new Thread(() -> {
+            try (
+                BufferedReader lines = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))
+            ) {
+                String line;
+                while ((line = lines.readLine()) != null) {
+                    if (line.startsWith(CacheInvalidationBusPeer.OUTPUT_PREFIX)) {
+                        output.add(line.substring(CacheInvalidationBusPeer.OUTPUT_PREFIX.length()));
+                    }
+                }
+            } catch (IOException e) {
+                // The peer exited
+            }
+        });
+        reader.setDaemon(true);
+        reader.start();
+        return output;
+    }
+
+    private static void awaitOutput(BlockingQueue<String> output, String expected) throws InterruptedException {
+        assertThat(output.poll(30, TimeUnit.SECONDS)).isEqualTo(expected);
+    }
+
+    private static int freePort() throws IOException {
+        try (DatagramSocket socket = new DatagramSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        Instant deadline = Instant.now().plus(Duration.ofSeconds(5));
+        while (!condition.getAsBoolean()) {
+            assertThat(Instant.now()).as("condition met before the deadline").isBefore(deadline);
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.exemplo.metas.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+/**
+ * Unit tests for the {@link CachingJwtDecoder} class.
+ */
+class CachingJwtDecoderTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T10:00:00Z");
+
+    private MeteredJwtDecoder delegate;
+
+    private CachingJwtDecoder decoder;
+
+    @BeforeEach
+    void setup() {
+        delegate = mock(MeteredJwtDecoder.class);
+        decoder = new CachingJwtDecoder(delegate, 2, Duration.ofMinutes(1), Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    void testVerifiedTokenIsDecodedOnce() {
+        Jwt jwt = jwt("token", NOW.plusSeconds(60));
+        when(delegate.decode("token")).thenReturn(jwt);
+
+        assertThat(decoder.decode("token")).isSameAs(jwt);
+        assertThat(decoder.decode(new String("token"))).isSameAs(jwt);
+        verify(delegate, times(1)).decode("token");
+    }
+
+    @Test
+    void testTokenWithoutExpirationIsNotCached() {
+        when(delegate.decode("token")).thenReturn(jwt("token", null));
+
+        decoder.decode("token");
+        decoder.decode("token");
+
+        verify(delegate, times(2)).decode("token");
+        assertThat(decoder.size()).isZero();
+    }
+
+    @Test
+    void testRejectedTokenIsRejectedWithoutDecoding() {
+        RejectedJwtException rejected = new RejectedJwtException(JwtFailure.INVALID_SIGNATURE);
+        when(delegate.decode("token")).thenThrow(rejected);
+        when(delegate.reject(JwtFailure.INVALID_SIGNATURE, null)).thenReturn(new RejectedJwtException(JwtFailure.INVALID_SIGNATURE));
+
+        for (int i = 0; i < 3; i++) {
+            assertThatExceptionOfType(RejectedJwtException.class).isThrownBy(() -> decoder.decode("token"));
+        }
+        verify(delegate, times(1)).decode("token");
+        verify(delegate, times(2)).reject(JwtFailure.INVALID_SIGNATURE, null);
+        assertThat(decoder.rejectedSize()).isEqualTo(1);
+    }
+
+    @Test
+    void testTokenNotYetValidIsDecodedAgain() {
+        when(delegate.decode("token")).thenThrow(new RejectedJwtException(JwtFailure.NOT_YET_VALID));
+
+        for (int i = 0; i < 2; i++) {
+            assertThatExceptionOfType(RejectedJwtException.class).isThrownBy(() -> decoder.decode("token"));
+        }
+        verify(delegate, times(2)).decode("token");
+        assertThat(decoder.rejectedSize()).isZero();
+    }
+
+    @Test
+    void testCacheIsSizeCapped() {
+        for (int i = 0; i < 10; i++) {
+            String token = "token" + i;
+            when(delegate.decode(token)).thenReturn(jwt(token, NOW.plusSeconds(60)));
+            decoder.decode(token);
+        }
+
+        assertThat(decoder.size()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void testDigestsAreEqualForEqualTokens() {
+        assertThat(CachingJwtDecoder.digest("token")).isEqualTo(CachingJwtDecoder.digest(new String("token")));
+        assertThat(CachingJwtDecoder.digest("token")).isNotEqualTo(CachingJwtDecoder.digest("tokem"));
+        // Not valid in a JWT, but must not be mistaken for one another
+        assertThat(CachingJwtDecoder.digest("tok\u00e9n")).isNotEqualTo(CachingJwtDecoder.digest("tok\u00e8n"));
+    }
+
+    private static Jwt jwt(String token, Instant expiresAt) {
+        return Jwt.withTokenValue(token).header("alg", "HS512").subject("user").issuedAt(NOW.minusSeconds(1)).expiresAt(expiresAt).build();
+    }
+}
@@ -0,0 +1,86 @@
+package com.exemplo.metas.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.autoconfigure.cache.JCacheManagerCustomizer;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Unit tests for the {@link DistributedCacheConfiguration} class.
+ */
+class DistributedCacheConfigurationTest {
+
+    private final List<HazelcastInstance> members = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        members.forEach(HazelcastInstance::shutdown);
+    }
+
+    @Test
+    // Leaves time for the members to join each other
+    @Timeout(60)
+    void testEntryIsSharedByMembers() throws IOException {
+        ApplicationProperties.Cache.Distributed distributed = new ApplicationProperties.Cache.Distributed();
+        distributed.setClusterName("test-" + UUID.randomUUID());
+        int firstPort = freePort();
+        int secondPort = freePort();
+        distributed.getMembers().addAll(List.of("127.0.0.1:" + firstPort, "127.0.0.1:" + secondPort));
+
+        HazelcastInstance first = startMember(distributed, firstPort);
+        HazelcastInstance second = startMember(distributed, secondPort);
+
+        assertThat(first.getCluster().getMembers()).hasSize(2);
+        assertThat(second.getCluster().getMembers()).hasSize(2);
+        assertThat(first.getCluster().getLocalMember().getAddress().getPort()).isEqualTo(firstPort);
+        assertThat(second.getCluster().getLocalMember().getAddress().getPort()).isEqualTo(secondPort);
+
+        String cacheName = "test-" + UUID.randomUUID();
+        try (
+            CacheManager cacheManager = new DistributedCacheConfiguration().jCacheCacheManager(
+                first,
+                new StaticListableBeanFactory().getBeanProvider(JCacheManagerCustomizer.class)
+            )
+        ) {
+            Cache<Object, Object> cache = cacheManager.createCache(
+                cacheName,
+                CacheConfiguration.hazelcastConfiguration(
+                    cacheName,
+                    new ApplicationProperties.Cache.Region(),
+                    new JHipsterProperties().getCache().getEhcache(),
+                    distributed.getBackupCount()
+                )
+            );
+            cache.put(1L, "one");
+
+            assertThat(second.getCacheManager().getCache(cacheName).get(1L)).isEqualTo("one");
+        }
+    }
+
+    private HazelcastInstance startMember(ApplicationProperties.Cache.Distributed distributed, int port) {
+        distributed.setPort(port);
+        HazelcastInstance member = Hazelcast.newHazelcastInstance(DistributedCacheConfiguration.hazelcastConfig(distributed));
+        members.add(member);
+        return member;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0, 0, InetAddress.getLoopbackAddress())) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.exemplo.metas.config;
+
+import static com.exemplo.metas.security.SecurityUtils.JWT_ALGORITHM;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+import com.exemplo.metas.management.SecurityMetersService;
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Base64;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+/**
+ * Unit tests for the {@link MeteredJwtDecoder} class.
+ */
+class MeteredJwtDecoderTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T10:00:00Z");
+
+    private static final SecretKey KEY = key((byte) 1);
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private MeteredJwtDecoder decoder;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        decoder = new MeteredJwtDecoder(
+            NimbusJwtDecoder.withSecretKey(KEY).macAlgorithm(JWT_ALGORITHM).build(),
+            new SecurityMetersService(meterRegistry),
+            Clock.fixed(NOW, ZoneOffset.UTC)
+        );
+    }
+
+    @Test
+    void testValidToken() {
+        assertThat(decoder.decode(token(KEY, NOW.plusSeconds(60), null)).getSubject()).isEqualTo("user");
+        assertThat(decoder.decode(token(KEY, NOW.minusSeconds(30), null)).getSubject()).as("within the clock skew").isEqualTo("user");
+        assertThat(meterRegistry.find(SecurityMetersService.INVALID_TOKENS_METER_NAME).counters()).allMatch(c -> c.count() == 0);
+    }
+
+    @Test
+    void testExpiredToken() {
+        assertRejected(token(KEY, NOW.minusSeconds(600), null), JwtFailure.EXPIRED, "expired");
+    }
+
+    @Test
+    void testTokenWithInvalidSignature() {
+        assertRejected(token(key((byte) 2), NOW.plusSeconds(60), null), JwtFailure.INVALID_SIGNATURE, "invalid-signature");
+    }
+
+    @Test
+    void testMalformedToken() {
+        assertRejected(token(KEY, NOW.plusSeconds(60), null).substring(1), JwtFailure.MALFORMED, "malformed");
+        assertRejected("0123456789abcdef", JwtFailure.MALFORMED, "malformed");
+    }
+
+    @Test
+    void testUnsecuredToken() {
+        String header = Base64.getUrlEncoder().withoutPadding().encodeToString("{\"alg\":\"none\"}".getBytes(StandardCharsets.UTF_8));
+        String payload = Base64.getUrlEncoder().withoutPadding().encodeToString("{\"sub\":\"user\"}".getBytes(StandardCharsets.UTF_8));
+
+        assertRejected(header + "." + payload + ".", JwtFailure.UNSUPPORTED, "unsupported");
+    }
+
+    @Test
+    void testTokenNotYetValid() {
+        RejectedJwtException e = catchRejected(token(KEY, NOW.plusSeconds(3600), NOW.plusSeconds(600)));
+
+        assertThat(e.getFailure()).isEqualTo(JwtFailure.NOT_YET_VALID);
+        assertThat(e.getFailure().isPermanent()).isFalse();
+    }
+
+    private void assertRejected(String token, JwtFailure failure, String cause) {
+        Counter counter = meterRegistry.get(SecurityMetersService.INVALID_TOKENS_METER_NAME).tag("cause", cause).counter();
+        double count = counter.count();
+
+        assertThat(catchRejected(token).getFailure()).isEqualTo(failure);
+        assertThat(counter.count()).isEqualTo(count + 1);
+    }
+
+    private RejectedJwtException catchRejected(String token) {
+        RejectedJwtException rejected = catchThrowableOfType(RejectedJwtException.class, () -> decoder.decode(token));
+        assertThat(rejected).isNotNull();
+        return rejected;
+    }
+
+    private static String token(SecretKey key, Instant expiresAt, Instant notBefore) {
+        JwtClaimsSet.Builder claims = JwtClaimsSet.builder().issuedAt(expiresAt.minusSeconds(3600)).expiresAt(expiresAt).subject("user");
+        if (notBefore != null) {
+            claims.notBefore(notBefore);
+        }
+        return new NimbusJwtEncoder(new ImmutableSecret<>(key))
+            .encode(JwtEncoderParameters.from(JwsHeader.with(JWT_ALGORITHM).build(), claims.build()))
+            .getTokenValue();
+    }
+
+    private static SecretKey key(byte seed) {
+        byte[] bytes = new byte[64];
+        Arrays.fill(bytes, seed);
+        return new SecretKeySpec(bytes, JWT_ALGORITHM.getName());
+    }
+}
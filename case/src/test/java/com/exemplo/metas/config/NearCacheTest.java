@@ -0,0 +1,165 @@
+package com.exemplo.metas.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.exemplo.metas.domain.User;
+import com.exemplo.metas.repository.UserRepository;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.cache.Caching;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.jcache.JCacheCache;
+import tech.jhipster.config.JHipsterProperties;
+
+class NearCacheTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(NearCacheTest.class);
+
+    private ConcurrentMapCache delegate;
+
+    private ConcurrentMap<Object, Object> delegateStore;
+
+    private NearCache nearCache;
+
+    @BeforeEach
+    void setUp() {
+        delegate = new ConcurrentMapCache("usersByLogin");
+        delegateStore = delegate.getNativeCache();
+        nearCache = new NearCache(delegate, 10, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void shouldServeReadsFromTheNearCache() {
+        delegate.put("user", "first");
+        assertThat(nearCache.get("user", String.class)).isEqualTo("first");
+
+        // Changed behind the near cache's back, e.g. by another instance
+        delegateStore.put("user", "second");
+
+        assertThat(nearCache.get("user", String.class)).isEqualTo("first");
+    }
+
+    @Test
+    void shouldInvalidateOnEvict() {
+        delegate.put("user", "first");
+        nearCache.get("user");
+        delegateStore.put("user", "second");
+
+        assertThat(nearCache.evictIfPresent("user")).isTrue();
+
+        assertThat(nearCache.get("user")).isNull();
+        assertThat(delegate.get("user")).isNull();
+    }
+
+    @Test
+    void shouldInvalidateOnPut() {
+        nearCache.put("user", "first");
+        assertThat(nearCache.get("user", String.class)).isEqualTo("first");
+
+        nearCache.put("user", "second");
+
+        assertThat(nearCache.get("user", String.class)).isEqualTo("second");
+    }
+
+    @Test
+    void shouldInvalidateOnClear() {
+        nearCache.put("user", "first");
+        nearCache.get("user");
+
+        nearCache.clear();
+
+        assertThat(nearCache.get("user")).isNull();
+        assertThat(delegateStore).isEmpty();
+    }
+
+    @Test
+    void shouldNotKeepValuesReadDuringAnEviction() {
+        AtomicBoolean evicting = new AtomicBoolean(true);
+        ConcurrentMapCache racingDelegate = new ConcurrentMapCache("usersByLogin") {
+            @Override
+            public ValueWrapper get(Object key) {
+                ValueWrapper value = super.get(key);
+                if (evicting.getAndSet(false)) {
+                    // The user is evicted by another thread once their previous value was read
+                    nearCache.evict(key);
+                }
+                return value;
+            }
+        };
+        racingDelegate.put("user", "deactivated");
+        nearCache = new NearCache(racingDelegate, 10, Duration.ofMinutes(1));
+
+        assertThat(nearCache.get("user", String.class)).isEqualTo("deactivated");
+
+        assertThat(nearCache.get("user")).isNull();
+    }
+
+    @Test
+    void shouldCacheLoadedValues() {
+        assertThat(nearCache.get("user", () -> "loaded")).isEqualTo("loaded");
+        delegateStore.clear();
+
+        assertThat(nearCache.get("user", () -> "reloaded")).isEqualTo("loaded");
+    }
+
+    @Test
+    // Depends on the load of the machine: only run with the benchmark profile
+    @Tag("benchmark")
+    void shouldServeNearHitsFasterThanRegionHits() {
+        javax.cache.CacheManager cacheManager = Caching.getCachingProvider(EhcacheCachingProvider.class.getName()).getCacheManager();
+        String cacheName = UserRepository.USERS_BY_LOGIN_CACHE + "-" + UUID.randomUUID();
+        try {
+            org.ehcache.config.CacheConfiguration<Object, Object> configuration = CacheConfiguration.ehcacheConfiguration(
+                cacheName,
+                new ApplicationProperties.Cache.Region(),
+                new JHipsterProperties().getCache().getEhcache()
+            );
+            JCacheCache region = new JCacheCache(
+                cacheManager.createCache(cacheName, Eh107Configuration.fromEhcacheCacheConfiguration(configuration))
+            );
+            NearCache near = new NearCache(region, 1000, Duration.ofMinutes(1));
+            String[] logins = new String[100];
+            for (int i = 0; i < logins.length; i++) {
+                User user = new User();
+                user.setLogin("user-" + i);
+                logins[i] = user.getLogin();
+                region.put(user.getLogin(), user);
+                near.get(user.getLogin());
+            }
+
+            long regionNanos = nanosPerHit(region, logins);
+            long nearNanos = nanosPerHit(near, logins);
+            LOG.info("usersByLogin hit: {} ns from the region, {} ns from the near cache", regionNanos, nearNanos);
+
+            assertThat(nearNanos).isLessThan(regionNanos);
+        } finally {
+            cacheManager.destroyCache(cacheName);
+        }
+    }
+
+    private static long nanosPerHit(Cache cache, String[] keys) {
+        int iterations = 1_000_000;
+        Object sink = null;
+        // Warm up first, then measure
+        for (int i = 0; i < iterations; i++) {
+            sink = cache.get(keys[i % keys.length]);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            sink = cache.get(keys[i % keys.length]);
+        }
+        long nanosPerHit = (System.nanoTime() - start) / iterations;
+        assertThat(sink).isNotNull();
+        return nanosPerHit;
+    }
+}
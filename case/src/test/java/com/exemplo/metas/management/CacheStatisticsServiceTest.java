@@ -0,0 +1,106 @@
+package com.exemplo.metas.management;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.net.URI;
+import java.util.UUID;
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ConfigurationBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.jcache.JCacheCache;
+
+class CacheStatisticsServiceTest {
+
+    private static final String CACHE_NAME = "region";
+
+    private CacheManager cacheManager;
+
+    private Cache<Object, Object> cache;
+
+    private CacheStatisticsService cacheStatisticsService;
+
+    @BeforeEach
+    void setUp() {
+        EhcacheCachingProvider cachingProvider = (EhcacheCachingProvider) Caching.getCachingProvider(
+            EhcacheCachingProvider.class.getName()
+        );
+        cacheManager = cachingProvider.getCacheManager(
+            URI.create("urn:cache-statistics-test:" + UUID.randomUUID()),
+            ConfigurationBuilder.newConfigurationBuilder().build()
+        );
+        cache = cacheManager.createCache(
+            CACHE_NAME,
+            Eh107Configuration.fromEhcacheCacheConfiguration(
+                CacheConfigurationBuilder.newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(2))
+            )
+        );
+        cacheManager.enableStatistics(CACHE_NAME, true);
+        cacheStatisticsService = new CacheStatisticsService(cacheManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cacheManager.close();
+    }
+
+    @Test
+    void shouldReadRegionStatistics() {
+        CacheRegionStatistics statistics = cacheStatisticsService.getRegionStatistics(CACHE_NAME).orElseThrow();
+
+        cache.put(1L, "one");
+        cache.get(1L);
+        cache.get(2L);
+        cache.put(2L, "two");
+        cache.put(3L, "three");
+
+        assertThat(statistics.getName()).isEqualTo(CACHE_NAME);
+        assertThat(statistics.getHits()).isEqualTo(1);
+        assertThat(statistics.getMisses()).isEqualTo(1);
+        assertThat(statistics.getPuts()).isEqualTo(3);
+        assertThat(statistics.getEvictions()).isEqualTo(1);
+        assertThat(statistics.getGetCount()).isEqualTo(2);
+        assertThat(statistics.getGetTimeNanos()).isPositive();
+    }
+
+    @Test
+    void shouldListAllRegions() {
+        assertThat(cacheStatisticsService.getAllRegionStatistics()).containsOnlyKeys(CACHE_NAME);
+        assertThat(cacheStatisticsService.getRegionStatistics("unknown")).isEmpty();
+    }
+
+    @Test
+    void shouldIgnoreRegionsWithoutStatistics() {
+        cacheManager.enableStatistics(CACHE_NAME, false);
+
+        assertThat(cacheStatisticsService.getRegionStatistics(CACHE_NAME)).isEmpty();
+    }
+
+    @Test
+    void shouldBindRegionMeters() {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        new CacheRegionMeterBinderProvider(cacheStatisticsService)
+            .getMeterBinder(new JCacheCache(cache), Tags.of("cache.manager", "cacheManager"))
+            .bindTo(meterRegistry);
+
+        cache.put(1L, "one");
+        cache.get(1L);
+        cache.get(2L);
+
+        assertThat(meterRegistry.get("cache.gets").tag("cache", CACHE_NAME).tag("result", "hit").functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", CACHE_NAME).tag("result", "miss").functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.puts").tag("cache", CACHE_NAME).functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.evictions").tag("cache", CACHE_NAME).functionCounter().count()).isZero();
+        assertThat(meterRegistry.get("cache.gets.latency").tag("cache", CACHE_NAME).functionTimer().count()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,85 @@
+package com.exemplo.metas.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assumptions.assumeThat;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+/**
+ * Test class for the {@link AuthorityRegistry}.
+ */
+class AuthorityRegistryTest {
+
+    private static final int ITERATIONS = 10_000;
+
+    @Test
+    void testClaimIsSplit() {
+        assertThat(AuthorityRegistry.forClaim("ROLE_ADMIN  ROLE_USER"))
+            .extracting(GrantedAuthority::getAuthority)
+            .containsExactly(AuthoritiesConstants.ADMIN, AuthoritiesConstants.USER);
+        assertThat(AuthorityRegistry.forClaim("")).isEmpty();
+        assertThat(AuthorityRegistry.forClaim(null)).isEmpty();
+    }
+
+    @Test
+    void testSetsAreShared() {
+        Set<GrantedAuthority> fromClaim = AuthorityRegistry.forClaim("ROLE_ADMIN ROLE_USER");
+        Set<GrantedAuthority> fromNames = AuthorityRegistry.forNames(List.of(AuthoritiesConstants.USER, AuthoritiesConstants.ADMIN));
+
+        assertThat(fromNames).isSameAs(fromClaim);
+        assertThat(AuthorityRegistry.forClaim(AuthoritiesConstants.USER).iterator().next()).isSameAs(
+            AuthorityRegistry.forClaim("ROLE_USER ROLE_ADMIN").iterator().next()
+        );
+    }
+
+    @Test
+    void testSetsAreImmutable() {
+        Set<GrantedAuthority> authorities = AuthorityRegistry.forClaim(AuthoritiesConstants.USER);
+
+        assertThatExceptionOfType(UnsupportedOperationException.class).isThrownBy(() ->
+            authorities.add(new SimpleGrantedAuthority(AuthoritiesConstants.ADMIN))
+        );
+    }
+
+    @Test
+    // Measures allocations, which the JIT and the test runner can skew: only run with the benchmark profile
+    @Tag("benchmark")
+    void testRegistryAllocatesLessThanSplittingTheClaim() {
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeThat(threadMXBean.isThreadAllocatedMemorySupported() && threadMXBean.isThreadAllocatedMemoryEnabled()).isTrue();
+        String claim = "ROLE_ADMIN ROLE_USER";
+        long threadId = Thread.currentThread().getId();
+
+        Object sink = null;
+        long start = threadMXBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink = split(claim);
+        }
+        long splitBytes = threadMXBean.getThreadAllocatedBytes(threadId) - start;
+
+        start = threadMXBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink = AuthorityRegistry.forClaim(claim);
+        }
+        long registryBytes = threadMXBean.getThreadAllocatedBytes(threadId) - start;
+
+        assertThat(sink).isNotNull();
+        assertThat(registryBytes).as("bytes allocated by the registry (splitting allocated %d)", splitBytes).isLessThan(splitBytes / 10);
+    }
+
+    private static Collection<GrantedAuthority> split(String claim) {
+        return Arrays.stream(claim.split(" "))
+            .filter(auth -> !auth.isEmpty())
+            .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+            .toList();
+    }
+}
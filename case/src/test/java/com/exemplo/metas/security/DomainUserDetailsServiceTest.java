@@ -0,0 +1,90 @@
+package com.exemplo.metas.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.exemplo.metas.domain.Authority;
+import com.exemplo.metas.domain.User;
+import com.exemplo.metas.repository.UserRepository;
+import java.util.Optional;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.security.core.userdetails.UserDetails;
+
+/**
+ * Test class for the caching of the principals by {@link DomainUserDetailsService}.
+ */
+class DomainUserDetailsServiceTest {
+
+    private UserRepository userRepository;
+
+    private ConcurrentMapCacheManager cacheManager;
+
+    private DomainUserDetailsService domainUserDetailsService;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        cacheManager = new ConcurrentMapCacheManager(DomainUserDetailsService.USER_PRINCIPALS_CACHE);
+        domainUserDetailsService = new DomainUserDetailsService(userRepository, cacheManager);
+
+        Authority authority = new Authority();
+        authority.setName(AuthoritiesConstants.USER);
+        user = new User();
+        user.setLogin("user");
+        user.setEmail("user@localhost");
+        user.setPassword("hash");
+        user.setActivated(true);
+        user.setAuthorities(Set.of(authority));
+    }
+
+    @Test
+    void testPrincipalIsCachedByLowercaseLogin() {
+        when(userRepository.findOneForAuthenticationByLogin("user")).thenReturn(Optional.of(user));
+
+        UserDetails userDetails = domainUserDetailsService.loadUserByUsername("User");
+
+        assertThat(userDetails.getUsername()).isEqualTo("user");
+        assertThat(userDetails.getPassword()).isEqualTo("hash");
+        assertThat(userDetails.getAuthorities()).extracting("authority").containsExactly(AuthoritiesConstants.USER);
+        assertThat(domainUserDetailsService.loadUserByUsername("user")).isSameAs(userDetails);
+        verify(userRepository, times(1)).findOneForAuthenticationByLogin("user");
+    }
+
+    @Test
+    void testPrincipalIsCachedByLowercaseEmail() {
+        when(userRepository.findOneForAuthenticationByEmailIgnoreCase("User@localhost")).thenReturn(Optional.of(user));
+
+        UserDetails userDetails = domainUserDetailsService.loadUserByUsername("User@localhost");
+
+        assertThat(userDetails.getUsername()).isEqualTo("user");
+        assertThat(domainUserDetailsService.loadUserByUsername("user@localhost")).isSameAs(userDetails);
+        assertThat(cacheManager.getCache(DomainUserDetailsService.USER_PRINCIPALS_CACHE).get("user@localhost")).isNotNull();
+    }
+
+    @Test
+    void testCachedPrincipalOfNotActivatedUserIsRejected() {
+        user.setActivated(false);
+        when(userRepository.findOneForAuthenticationByLogin("user")).thenReturn(Optional.of(user));
+
+        for (int i = 0; i < 2; i++) {
+            assertThatExceptionOfType(UserNotActivatedException.class).isThrownBy(() ->
+                domainUserDetailsService.loadUserByUsername("user")
+            );
+        }
+        verify(userRepository, times(1)).findOneForAuthenticationByLogin("user");
+    }
+
+    @Test
+    void testPrincipalHidesPasswordHash() {
+        assertThat(UserPrincipal.of(user).toString()).doesNotContain("hash");
+    }
+}
@@ -1,5 +1,6 @@
 package com.exemplo.metas.security.jwt;
 
+import com.exemplo.metas.config.ApplicationProperties;
 import com.exemplo.metas.config.SecurityConfiguration;
 import com.exemplo.metas.config.SecurityJwtConfiguration;
 import com.exemplo.metas.config.WebConfigurer;
@@ -21,6 +22,7 @@ import tech.jhipster.config.JHipsterProperties;
     },
     classes = {
         JHipsterProperties.class,
+        ApplicationProperties.class,
         WebConfigurer.class,
         SecurityConfiguration.class,
         SecurityJwtConfiguration.class,
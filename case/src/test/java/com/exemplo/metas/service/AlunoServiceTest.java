@@ -0,0 +1,62 @@
+package com.exemplo.metas.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.exemplo.metas.config.ApplicationProperties;
+import com.exemplo.metas.repository.AlunoRepository;
+import com.exemplo.metas.service.dto.AlunoDTO;
+import com.exemplo.metas.service.mapper.AlunoMapperImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * Test class for the {@link AlunoService}.
+ */
+class AlunoServiceTest {
+
+    private AlunoRepository alunoRepository;
+
+    private AlunoService alunoService;
+
+    @BeforeEach
+    void setUp() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getPersistence().setDirectUpdates(true);
+        alunoRepository = mock(AlunoRepository.class);
+        alunoService = new AlunoService(
+            alunoRepository,
+            new AlunoMapperImpl(),
+            new ObjectMapper(),
+            mock(EntityManager.class),
+            applicationProperties,
+            mock(ApplicationEventPublisher.class)
+        );
+    }
+
+    @Test
+    void testDirectUpdateSkipsLoading() {
+        when(alunoRepository.updateNome(1L, "Maria")).thenReturn(1);
+        when(alunoRepository.updateNome(2L, "Maria")).thenReturn(0);
+
+        assertThat(alunoService.update(aluno(1L, "Maria"), null)).hasValueSatisfying(updated ->
+            assertThat(updated.getNome()).isEqualTo("Maria")
+        );
+        assertThat(alunoService.update(aluno(2L, "Maria"), null)).isEmpty();
+        verify(alunoRepository, never()).findById(any());
+    }
+
+    private static AlunoDTO aluno(Long id, String nome) {
+        AlunoDTO alunoDTO = new AlunoDTO();
+        alunoDTO.setId(id);
+        alunoDTO.setNome(nome);
+        return alunoDTO;
+    }
+}
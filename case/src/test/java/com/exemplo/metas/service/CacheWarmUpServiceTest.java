@@ -0,0 +1,113 @@
+package com.exemplo.metas.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.exemplo.metas.config.ApplicationProperties;
+import com.exemplo.metas.domain.Authority;
+import com.exemplo.metas.domain.Meta;
+import com.exemplo.metas.domain.User;
+import com.exemplo.metas.repository.AuthorityRepository;
+import com.exemplo.metas.repository.UserRepository;
+import com.exemplo.metas.service.dto.MetaDTO;
+import java.util.List;
+import java.util.concurrent.Executor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Test class for the {@link CacheWarmUpService}.
+ */
+class CacheWarmUpServiceTest {
+
+    private ApplicationProperties applicationProperties;
+
+    private AuthorityRepository authorityRepository;
+
+    private UserRepository userRepository;
+
+    private MetaService metaService;
+
+    private ConcurrentMapCacheManager cacheManager;
+
+    private Executor taskExecutor;
+
+    private CacheWarmUpService cacheWarmUpService;
+
+    @BeforeEach
+    void setUp() {
+        applicationProperties = new ApplicationProperties();
+        authorityRepository = mock(AuthorityRepository.class);
+        userRepository = mock(UserRepository.class);
+        metaService = mock(MetaService.class);
+        cacheManager = new ConcurrentMapCacheManager(UserRepository.USERS_BY_LOGIN_CACHE);
+        taskExecutor = mock(Executor.class);
+        cacheWarmUpService = new CacheWarmUpService(
+            applicationProperties,
+            authorityRepository,
+            userRepository,
+            mock(AlunoService.class),
+            metaService,
+            cacheManager,
+            taskExecutor
+        );
+    }
+
+    @Test
+    void testDisabledWarmUpIsNotScheduled() {
+        cacheWarmUpService.onApplicationReady();
+
+        assertThat(cacheWarmUpService.getStatus()).isEqualTo(CacheWarmUpService.Status.DISABLED);
+        verifyNoInteractions(taskExecutor);
+    }
+
+    @Test
+    void testEnabledWarmUpIsScheduled() {
+        applicationProperties.getCache().getWarmUp().setEnabled(true);
+
+        cacheWarmUpService.onApplicationReady();
+
+        assertThat(cacheWarmUpService.getStatus()).isEqualTo(CacheWarmUpService.Status.PENDING);
+        verify(taskExecutor).execute(any());
+    }
+
+    @Test
+    void testWarmUpLoadsCaches() {
+        applicationProperties.getCache().getWarmUp().setMetaIds(List.of(1L));
+        Authority authority = new Authority().name("ROLE_USER");
+        User user = new User();
+        user.setLogin("user");
+        when(authorityRepository.findAll()).thenReturn(List.of(authority));
+        when(userRepository.findAllByIdNotNullAndActivatedIsTrue(any(Pageable.class))).thenReturn(new PageImpl<>(List.of(user)));
+        when(userRepository.findAllWithAuthoritiesByLoginIn(List.of("user"))).thenReturn(List.of(user));
+        when(metaService.findAllByIds(List.of(1L))).thenReturn(List.of(new MetaDTO()));
+
+        cacheWarmUpService.warmUp();
+
+        assertThat(cacheWarmUpService.getStatus()).isEqualTo(CacheWarmUpService.Status.COMPLETED);
+        assertThat(cacheWarmUpService.getLoaded())
+            .containsEntry(Authority.class.getName(), 1)
+            .containsEntry(UserRepository.USERS_BY_LOGIN_CACHE, 1)
+            .containsEntry(Meta.class.getName(), 1);
+        assertThat(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).get("user", User.class)).isSameAs(user);
+        assertThat(cacheWarmUpService.getDuration()).isNotNull();
+    }
+
+    @Test
+    void testFailedWarmUpIsReported() {
+        when(authorityRepository.findAll()).thenThrow(new DataAccessResourceFailureException("Database down"));
+
+        cacheWarmUpService.warmUp();
+
+        assertThat(cacheWarmUpService.getStatus()).isEqualTo(CacheWarmUpService.Status.FAILED);
+        assertThat(cacheWarmUpService.getError()).contains("Database down");
+    }
+}
@@ -0,0 +1,167 @@
+package com.exemplo.metas.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.exemplo.metas.domain.enumeration.AreaDoEnem;
+import com.exemplo.metas.repository.MetaRepository;
+import com.exemplo.metas.service.dto.AlunoDTO;
+import com.exemplo.metas.service.dto.LeaderboardEntryDTO;
+import com.exemplo.metas.service.dto.MetaDTO;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Test class for the {@link MetaLeaderboardService}.
+ */
+class MetaLeaderboardServiceTest {
+
+    private MetaRepository metaRepository;
+
+    private MetaLeaderboardService metaLeaderboardService;
+
+    @BeforeEach
+    void setUp() {
+        metaRepository = mock(MetaRepository.class);
+        metaLeaderboardService = new MetaLeaderboardService(metaRepository, mock(PlatformTransactionManager.class));
+        create(1L, 10L, AreaDoEnem.MATEMATICA, 900);
+        create(2L, 20L, AreaDoEnem.MATEMATICA, 700);
+        create(3L, 30L, AreaDoEnem.MATEMATICA, 900);
+        create(4L, 40L, AreaDoEnem.MATEMATICA, 500);
+        create(5L, 50L, AreaDoEnem.HUMANAS, 1000);
+    }
+
+    @Test
+    void testTopSharesRankOnTies() {
+        List<LeaderboardEntryDTO> top = metaLeaderboardService.getTop(AreaDoEnem.MATEMATICA, 3);
+
+        assertThat(top).extracting(LeaderboardEntryDTO::getMetaId).containsExactly(1L, 3L, 2L);
+        assertThat(top).extracting(LeaderboardEntryDTO::getRank).containsExactly(1L, 1L, 3L);
+        assertThat(metaLeaderboardService.getTop(AreaDoEnem.NATUREZA, 3)).isEmpty();
+    }
+
+    @Test
+    void testAlunoIsRankedOnceByBestMeta() {
+        create(7L, 20L, AreaDoEnem.MATEMATICA, 950);
+        create(8L, 20L, AreaDoEnem.MATEMATICA, 100);
+
+        List<LeaderboardEntryDTO> top = metaLeaderboardService.getTop(AreaDoEnem.MATEMATICA, 10);
+        assertThat(top).extracting(LeaderboardEntryDTO::getAlunoId).containsExactly(20L, 10L, 30L, 40L);
+        assertThat(top).extracting(LeaderboardEntryDTO::getMetaId).containsExactly(7L, 1L, 3L, 4L);
+        assertThat(top).extracting(LeaderboardEntryDTO::getRank).containsExactly(1L, 2L, 2L, 4L);
+        assertThat(metaLeaderboardService.getRank(AreaDoEnem.MATEMATICA, 40L)).hasValueSatisfying(entry ->
+            assertThat(entry.getRank()).isEqualTo(4)
+        );
+
+        // Their best meta is deleted, they fall back to the next one
+        metaLeaderboardService.onMetaChanged(new MetaChangedEvent(meta(7L, 20L, AreaDoEnem.MATEMATICA, 950), null));
+
+        assertThat(metaLeaderboardService.getRank(AreaDoEnem.MATEMATICA, 20L)).hasValueSatisfying(entry -> {
+            assertThat(entry.getRank()).isEqualTo(3);
+            assertThat(entry.getMetaId()).isEqualTo(2L);
+        });
+    }
+
+    @Test
+    void testRankOfAluno() {
+        assertThat(metaLeaderboardService.getRank(AreaDoEnem.MATEMATICA, 40L)).hasValueSatisfying(entry -> {
+            assertThat(entry.getRank()).isEqualTo(4);
+            assertThat(entry.getValor()).isEqualTo(500);
+        });
+        assertThat(metaLeaderboardService.getRank(AreaDoEnem.HUMANAS, 40L)).isEmpty();
+    }
+
+    @Test
+    void testUpdatesAndDeletesAdjustRanks() {
+        // aluno 40 improves, then meta 1 moves to another area and meta 3 is deleted
+        metaLeaderboardService.onMetaChanged(
+            new MetaChangedEvent(meta(4L, 40L, AreaDoEnem.MATEMATICA, 500), meta(4L, 40L, AreaDoEnem.MATEMATICA, 950))
+        );
+        metaLeaderboardService.onMetaChanged(
+            new MetaChangedEvent(meta(1L, 10L, AreaDoEnem.MATEMATICA, 900), meta(1L, 10L, AreaDoEnem.HUMANAS, 900))
+        );
+        metaLeaderboardService.onMetaChanged(new MetaChangedEvent(meta(3L, 30L, AreaDoEnem.MATEMATICA, 900), null));
+
+        assertThat(metaLeaderboardService.getTop(AreaDoEnem.MATEMATICA, 10))
+            .extracting(LeaderboardEntryDTO::getAlunoId)
+            .containsExactly(40L, 20L);
+        assertThat(metaLeaderboardService.getRank(AreaDoEnem.MATEMATICA, 20L)).hasValueSatisfying(entry ->
+            assertThat(entry.getRank()).isEqualTo(2)
+        );
+        assertThat(metaLeaderboardService.getRank(AreaDoEnem.HUMANAS, 10L)).hasValueSatisfying(entry ->
+            assertThat(entry.getRank()).isEqualTo(2)
+        );
+        assertThat(metaLeaderboardService.getRank(AreaDoEnem.MATEMATICA, 30L)).isEmpty();
+    }
+
+    @Test
+    void testMetaWithoutAlunoIsNotRanked() {
+        metaLeaderboardService.onMetaChanged(new MetaChangedEvent(null, meta(6L, null, AreaDoEnem.NATUREZA, 800)));
+
+        assertThat(metaLeaderboardService.getTop(AreaDoEnem.NATUREZA, 10)).isEmpty();
+    }
+
+    @Test
+    void testRebuildKeepsChangesCommittedMeanwhile() {
+        when(metaRepository.streamLeaderboardRows())
+            .thenAnswer(invocation -> {
+                // Committed while the first read runs, which does not see it
+                create(6L, 60L, AreaDoEnem.NATUREZA, 800);
+                return Stream.of(row(5L, 50L, AreaDoEnem.HUMANAS, 1000));
+            })
+            .thenAnswer(invocation -> Stream.of(row(5L, 50L, AreaDoEnem.HUMANAS, 1000), row(6L, 60L, AreaDoEnem.NATUREZA, 800)));
+
+        metaLeaderboardService.rebuild();
+
+        assertThat(metaLeaderboardService.getTop(AreaDoEnem.NATUREZA, 10)).extracting(LeaderboardEntryDTO::getAlunoId).containsExactly(60L);
+        assertThat(metaLeaderboardService.getTop(AreaDoEnem.MATEMATICA, 10)).isEmpty();
+        verify(metaRepository, times(2)).streamLeaderboardRows();
+    }
+
+    private void create(Long metaId, Long alunoId, AreaDoEnem area, int valor) {
+        metaLeaderboardService.onMetaChanged(new MetaChangedEvent(null, meta(metaId, alunoId, area, valor)));
+    }
+
+    private static MetaRepository.LeaderboardRow row(Long metaId, Long alunoId, AreaDoEnem area, int valor) {
+        return new MetaRepository.LeaderboardRow() {
+            @Override
+            public Long getId() {
+                return metaId;
+            }
+
+            @Override
+            public Long getAlunoId() {
+                return alunoId;
+            }
+
+            @Override
+            public AreaDoEnem getArea() {
+                return area;
+            }
+
+            @Override
+            public Integer getValor() {
+                return valor;
+            }
+        };
+    }
+
+    private static MetaDTO meta(Long metaId, Long alunoId, AreaDoEnem area, int valor) {
+        MetaDTO metaDTO = new MetaDTO();
+        metaDTO.setId(metaId);
+        metaDTO.setArea(area);
+        metaDTO.setValor(valor);
+        if (alunoId != null) {
+            AlunoDTO alunoDTO = new AlunoDTO();
+            alunoDTO.setId(alunoId);
+            metaDTO.setAluno(alunoDTO);
+        }
+        return metaDTO;
+    }
+}
@@ -0,0 +1,102 @@
+package com.exemplo.metas.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.exemplo.metas.domain.Meta;
+import com.exemplo.metas.domain.enumeration.AreaDoEnem;
+import com.exemplo.metas.repository.MetaRepository;
+import com.exemplo.metas.service.dto.MetaBulkUpdateResultDTO;
+import com.exemplo.metas.service.dto.MetaDTO;
+import com.exemplo.metas.service.mapper.MetaMapperImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * Test class for the {@link MetaService}.
+ */
+class MetaServiceTest {
+
+    private ValidatorFactory validatorFactory;
+
+    private MetaRepository metaRepository;
+
+    private EntityManager entityManager;
+
+    private ApplicationEventPublisher eventPublisher;
+
+    private MetaService metaService;
+
+    @BeforeEach
+    void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        metaRepository = mock(MetaRepository.class);
+        entityManager = mock(EntityManager.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        metaService = new MetaService(
+            metaRepository,
+            new MetaMapperImpl(),
+            new ObjectMapper(),
+            entityManager,
+            eventPublisher,
+            validatorFactory.getValidator()
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Test
+    void testPartialUpdateAllReportsErrorsPerId() {
+        Meta valid = meta(1L, 100);
+        Meta invalid = meta(2L, 200);
+        when(metaRepository.findAllById(any())).thenReturn(new ArrayList<>(List.of(valid, invalid)));
+
+        MetaBulkUpdateResultDTO result = metaService.partialUpdateAll(
+            List.of(patch(1L, 300), patch(2L, 1001), patch(3L, 10), patch(null, 10), patch(1L, 400))
+        );
+
+        assertThat(result.getUpdated()).singleElement().satisfies(updated -> assertThat(updated.getValor()).isEqualTo(300));
+        assertThat(result.getErrors())
+            .extracting(MetaBulkUpdateResultDTO.ItemError::getId, MetaBulkUpdateResultDTO.ItemError::getError)
+            .containsExactly(
+                tuple(2L, "invalid"),
+                tuple(3L, "idnotfound"),
+                tuple(null, "idnull"),
+                tuple(1L, "idduplicate")
+            );
+        assertThat(valid.getValor()).isEqualTo(300);
+        assertThat(valid.getArea()).isEqualTo(AreaDoEnem.MATEMATICA);
+        verify(entityManager).detach(invalid);
+        verify(metaRepository, times(1)).flush();
+        verify(eventPublisher, times(1)).publishEvent(any(MetaChangedEvent.class));
+    }
+
+    private static Meta meta(Long id, int valor) {
+        Meta meta = new Meta().valor(valor).area(AreaDoEnem.MATEMATICA);
+        meta.setId(id);
+        return meta;
+    }
+
+    private static MetaDTO patch(Long id, int valor) {
+        MetaDTO metaDTO = new MetaDTO();
+        metaDTO.setId(id);
+        metaDTO.setValor(valor);
+        return metaDTO;
+    }
+}
@@ -0,0 +1,164 @@
+package com.exemplo.metas.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.exemplo.metas.domain.enumeration.AreaDoEnem;
+import com.exemplo.metas.repository.MetaRepository;
+import com.exemplo.metas.service.dto.MetaDTO;
+import com.exemplo.metas.service.dto.MetaStatisticsDTO;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+/**
+ * Test class for the {@link MetaStatisticsService}.
+ */
+class MetaStatisticsServiceTest {
+
+    private MetaRepository metaRepository;
+
+    private MetaStatisticsService metaStatisticsService;
+
+    @BeforeEach
+    void setUp() {
+        metaRepository = mock(MetaRepository.class);
+        metaStatisticsService = new MetaStatisticsService(metaRepository);
+    }
+
+    @Test
+    void testEmptyArea() {
+        MetaStatisticsDTO statistics = metaStatisticsService.getStatistics(AreaDoEnem.HUMANAS);
+
+        assertThat(statistics.getCount()).isZero();
+        assertThat(statistics.getMin()).isNull();
+        assertThat(statistics.getAverage()).isNull();
+        assertThat(statistics.getP50()).isNull();
+    }
+
+    @Test
+    void testStatisticsFollowCreationsUpdatesAndDeletions() {
+        for (int valor = 1; valor <= 100; valor++) {
+            metaStatisticsService.onMetaChanged(new MetaChangedEvent(null, meta(AreaDoEnem.MATEMATICA, valor)));
+        }
+        metaStatisticsService.onMetaChanged(new MetaChangedEvent(null, meta(AreaDoEnem.NATUREZA, 1000)));
+
+        MetaStatisticsDTO statistics = metaStatisticsService.getStatistics(AreaDoEnem.MATEMATICA);
+        assertThat(statistics.getCount()).isEqualTo(100);
+        assertThat(statistics.getMin()).isEqualTo(1);
+        assertThat(statistics.getMax()).isEqualTo(100);
+        assertThat(statistics.getAverage()).isEqualTo(50.5);
+        assertThat(statistics.getP50()).isEqualTo(50);
+        assertThat(statistics.getP90()).isEqualTo(90);
+        assertThat(statistics.getP99()).isEqualTo(99);
+
+        // Move the highest meta to another area, then delete the lowest one
+        metaStatisticsService.onMetaChanged(new MetaChangedEvent(meta(AreaDoEnem.MATEMATICA, 100), meta(AreaDoEnem.NATUREZA, 0)));
+        metaStatisticsService.onMetaChanged(new MetaChangedEvent(meta(AreaDoEnem.MATEMATICA, 1), null));
+
+        statistics = metaStatisticsService.getStatistics(AreaDoEnem.MATEMATICA);
+        assertThat(statistics.getCount()).isEqualTo(98);
+        assertThat(statistics.getMin()).isEqualTo(2);
+        assertThat(statistics.getMax()).isEqualTo(99);
+
+        statistics = metaStatisticsService.getStatistics(AreaDoEnem.NATUREZA);
+        assertThat(statistics.getCount()).isEqualTo(2);
+        assertThat(statistics.getMin()).isZero();
+        assertThat(statistics.getMax()).isEqualTo(1000);
+        assertThat(statistics.getAverage()).isEqualTo(500.0);
+    }
+
+    @Test
+    void testRebuildReplacesHistograms() {
+        metaStatisticsService.onMetaChanged(new MetaChangedEvent(null, meta(AreaDoEnem.LINGUAGENS, 10)));
+        when(metaRepository.countByAreaAndValor()).thenReturn(
+            List.of(valorCount(AreaDoEnem.LINGUAGENS, 700, 3L), valorCount(AreaDoEnem.HUMANAS, 300, 1L))
+        );
+
+        metaStatisticsService.rebuild();
+
+        List<MetaStatisticsDTO> statistics = metaStatisticsService.getStatistics();
+        assertThat(statistics).extracting(MetaStatisticsDTO::getArea).containsExactly(AreaDoEnem.values());
+        assertThat(statistics.get(AreaDoEnem.LINGUAGENS.ordinal()).getCount()).isEqualTo(3);
+        assertThat(statistics.get(AreaDoEnem.LINGUAGENS.ordinal()).getMin()).isEqualTo(700);
+        assertThat(statistics.get(AreaDoEnem.HUMANAS.ordinal()).getP50()).isEqualTo(300);
+    }
+
+    @Test
+    void testRebuildKeepsChangesCommittedMeanwhile() {
+        List<MetaRepository.ValorCount> before = List.of(valorCount(AreaDoEnem.LINGUAGENS, 700, 3L));
+        List<MetaRepository.ValorCount> after = List.of(
+            valorCount(AreaDoEnem.LINGUAGENS, 700, 3L),
+            valorCount(AreaDoEnem.LINGUAGENS, 10, 1L)
+        );
+        when(metaRepository.countByAreaAndValor())
+            .thenAnswer(invocation -> {
+                // Committed while the first read runs, which does not see it
+                metaStatisticsService.onMetaChanged(new MetaChangedEvent(null, meta(AreaDoEnem.LINGUAGENS, 10)));
+                return before;
+            })
+            .thenReturn(after);
+
+        metaStatisticsService.rebuild();
+
+        MetaStatisticsDTO statistics = metaStatisticsService.getStatistics(AreaDoEnem.LINGUAGENS);
+        assertThat(statistics.getCount()).isEqualTo(4);
+        assertThat(statistics.getMin()).isEqualTo(10);
+        verify(metaRepository, times(2)).countByAreaAndValor();
+    }
+
+    @Test
+    void testRebuildDoesNotCountPendingChangesTwice() throws Exception {
+        when(metaRepository.countByAreaAndValor()).thenReturn(
+            List.of(valorCount(AreaDoEnem.LINGUAGENS, 700, 3L), valorCount(AreaDoEnem.LINGUAGENS, 10, 1L))
+        );
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            metaStatisticsService.onMetaChanged(new MetaChangedEvent(null, meta(AreaDoEnem.LINGUAGENS, 10)));
+            TransactionSynchronizationUtils.triggerBeforeCommit(false);
+            // The change is committed, so the rebuild may read it, but it is not applied yet
+            Thread rebuild = new Thread(metaStatisticsService::rebuild);
+            rebuild.start();
+            Thread.sleep(30);
+            TransactionSynchronizationUtils.triggerAfterCommit();
+            TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+            rebuild.join();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(metaStatisticsService.getStatistics(AreaDoEnem.LINGUAGENS).getCount()).isEqualTo(4);
+    }
+
+    private static MetaDTO meta(AreaDoEnem area, int valor) {
+        MetaDTO metaDTO = new MetaDTO();
+        metaDTO.setArea(area);
+        metaDTO.setValor(valor);
+        return metaDTO;
+    }
+
+    private static MetaRepository.ValorCount valorCount(AreaDoEnem area, int valor, long total) {
+        return new MetaRepository.ValorCount() {
+            @Override
+            public AreaDoEnem getArea() {
+                return area;
+            }
+
+            @Override
+            public Integer getValor() {
+                return valor;
+            }
+
+            @Override
+            public Long getTotal() {
+                return total;
+            }
+        };
+    }
+}
@@ -6,6 +6,8 @@ import static org.mockito.Mockito.when;
 import com.exemplo.metas.IntegrationTest;
 import com.exemplo.metas.domain.User;
 import com.exemplo.metas.repository.UserRepository;
+import com.exemplo.metas.security.DomainUserDetailsService;
+import com.exemplo.metas.security.UserPrincipal;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
@@ -21,6 +23,7 @@ import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.data.auditing.AuditingHandler;
 import org.springframework.data.auditing.DateTimeProvider;
+import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.transaction.annotation.Transactional;
 import tech.jhipster.security.RandomUtil;
@@ -205,4 +208,17 @@ class UserServiceIT {
         Optional<User> maybeDbUser = userRepository.findById(dbUser.getId());
         assertThat(maybeDbUser).contains(dbUser);
     }
+
+    @Test
+    @Transactional
+    @WithMockUser(DEFAULT_LOGIN)
+    void assertThatPrincipalOfPreviousEmailIsEvicted() {
+        userRepository.saveAndFlush(user);
+        Cache userPrincipals = cacheManager.getCache(DomainUserDetailsService.USER_PRINCIPALS_CACHE);
+        userPrincipals.put(DEFAULT_EMAIL, UserPrincipal.of(user));
+
+        userService.updateUser(DEFAULT_FIRSTNAME, DEFAULT_LASTNAME, "johndoe_service_new@localhost", DEFAULT_LANGKEY, DEFAULT_IMAGEURL);
+
+        assertThat(userPrincipals.get(DEFAULT_EMAIL)).isNull();
+    }
 }
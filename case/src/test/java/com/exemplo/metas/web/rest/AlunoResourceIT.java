@@ -1,19 +1,24 @@
 package com.exemplo.metas.web.rest;
 
 import static com.exemplo.metas.domain.AlunoAsserts.*;
+import static com.exemplo.metas.web.rest.TestUtil.countPreparedStatements;
 import static com.exemplo.metas.web.rest.TestUtil.createUpdateProxyForBean;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.exemplo.metas.IntegrationTest;
 import com.exemplo.metas.domain.Aluno;
+import com.exemplo.metas.domain.Meta;
+import com.exemplo.metas.domain.enumeration.AreaDoEnem;
 import com.exemplo.metas.repository.AlunoRepository;
 import com.exemplo.metas.service.dto.AlunoDTO;
 import com.exemplo.metas.service.mapper.AlunoMapper;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
 import org.junit.jupiter.api.AfterEach;
@@ -21,9 +26,11 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -55,6 +62,9 @@ class AlunoResourceIT {
     @Autowired
     private EntityManager em;
 
+    @Autowired
+    private EntityManagerFactory emf;
+
     @Autowired
     private MockMvc restAlunoMockMvc;
 
@@ -169,6 +179,26 @@ class AlunoResourceIT {
             .andExpect(jsonPath("$.[*].nome").value(hasItem(DEFAULT_NOME)));
     }
 
+    @Test
+    @Transactional
+    void getAlunosByIds() throws Exception {
+        // Initialize the database
+        Aluno other = alunoRepository.saveAndFlush(createUpdatedEntity());
+        insertedAluno = alunoRepository.saveAndFlush(aluno);
+
+        // Get both alunos and an unknown one, in the requested order
+        restAlunoMockMvc
+            .perform(get(ENTITY_API_URL).param("ids", other.getId() + "," + Long.MAX_VALUE + "," + aluno.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$.[0].nome").value(UPDATED_NOME))
+            .andExpect(jsonPath("$.[1].id").value(aluno.getId().intValue()))
+            .andExpect(jsonPath("$.[1].nome").value(DEFAULT_NOME));
+
+        alunoRepository.delete(other);
+    }
+
     @Test
     @Transactional
     void getAluno() throws Exception {
@@ -184,6 +214,93 @@ class AlunoResourceIT {
             .andExpect(jsonPath("$.nome").value(DEFAULT_NOME));
     }
 
+    @Test
+    void exportAlunos() throws Exception {
+        // Initialize the database outside of the test transaction, the export runs on another thread
+        insertedAluno = alunoRepository.saveAndFlush(aluno);
+
+        MvcResult mvcResult = restAlunoMockMvc
+            .perform(get(ENTITY_API_URL + "/export"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        restAlunoMockMvc
+            .perform(asyncDispatch(mvcResult))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+            .andExpect(content().string(containsString("{\"id\":" + aluno.getId() + ",\"nome\":\"" + DEFAULT_NOME + "\"}")));
+    }
+
+    @Test
+    @Transactional
+    void getMetasOfAluno() throws Exception {
+        // Initialize the database
+        em.persist(aluno);
+        Meta natureza = MetaResourceIT.createEntity().area(AreaDoEnem.NATUREZA).valor(700).aluno(aluno);
+        Meta humanas = MetaResourceIT.createEntity().area(AreaDoEnem.HUMANAS).valor(650).aluno(aluno);
+        em.persist(natureza);
+        em.persist(humanas);
+        em.persist(MetaResourceIT.createEntity());
+        em.flush();
+
+        // Get the metas of the aluno, ordered by area
+        restAlunoMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/metas", aluno.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$.[0].id").value(humanas.getId().intValue()))
+            .andExpect(jsonPath("$.[0].aluno.id").value(aluno.getId().intValue()))
+            .andExpect(jsonPath("$.[1].id").value(natureza.getId().intValue()));
+    }
+
+    @Test
+    @Transactional
+    void getMetasOfAlunoWithoutMetas() throws Exception {
+        // Initialize the database
+        em.persist(aluno);
+        em.flush();
+
+        restAlunoMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/metas", aluno.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    @Transactional
+    void getMetasOfNonExistingAluno() throws Exception {
+        restAlunoMockMvc.perform(get(ENTITY_API_URL_ID + "/metas", Long.MAX_VALUE)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    @Transactional
+    void getMetasOfAlunos() throws Exception {
+        // Initialize the database
+        Aluno other = createUpdatedEntity();
+        em.persist(aluno);
+        em.persist(other);
+        Meta meta = MetaResourceIT.createEntity().aluno(aluno);
+        Meta otherMeta = MetaResourceIT.createEntity().aluno(other);
+        em.persist(meta);
+        em.persist(otherMeta);
+        em.flush();
+
+        // Get the metas of both alunos and of an unknown one in one request
+        restAlunoMockMvc
+            .perform(get(ENTITY_API_URL + "/metas").param("ids", aluno.getId() + "," + other.getId() + "," + Long.MAX_VALUE))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$." + aluno.getId() + ".[0].id").value(meta.getId().intValue()))
+            .andExpect(jsonPath("$." + other.getId() + ".[0].id").value(otherMeta.getId().intValue()))
+            .andExpect(jsonPath("$." + Long.MAX_VALUE + ".length()").value(0));
+    }
+
+    @Test
+    @Transactional
+    void getMetasOfAlunosWithoutIds() throws Exception {
+        restAlunoMockMvc.perform(get(ENTITY_API_URL + "/metas").param("ids", "")).andExpect(status().isBadRequest());
+    }
+
     @Test
     @Transactional
     void getNonExistingAluno() throws Exception {
@@ -217,6 +334,24 @@ class AlunoResourceIT {
         assertPersistedAlunoToMatchAllProperties(updatedAluno);
     }
 
+    @Test
+    void putExistingAlunoWithoutExistenceCheck() throws Exception {
+        // Initialize the database outside of a test transaction, so that the update is committed
+        insertedAluno = alunoRepository.saveAndFlush(aluno);
+        AlunoDTO alunoDTO = alunoMapper.toDto(insertedAluno);
+        alunoDTO.setNome(UPDATED_NOME);
+
+        // Load and update only: no separate existence check
+        long statements = countPreparedStatements(emf, () ->
+            restAlunoMockMvc
+                .perform(
+                    put(ENTITY_API_URL_ID, alunoDTO.getId()).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(alunoDTO))
+                )
+                .andExpect(status().isOk())
+        );
+        assertThat(statements).isEqualTo(2);
+    }
+
     @Test
     @Transactional
     void putNonExistingAluno() throws Exception {
@@ -333,6 +468,42 @@ class AlunoResourceIT {
         assertAlunoUpdatableFieldsEquals(partialUpdatedAluno, getPersistedAluno(partialUpdatedAluno));
     }
 
+    @Test
+    @Transactional
+    void patchAlunoWithIfMatch() throws Exception {
+        // Initialize the database
+        insertedAluno = alunoRepository.saveAndFlush(aluno);
+        long version = aluno.getVersion();
+
+        AlunoDTO alunoDTO = new AlunoDTO();
+        alunoDTO.setId(aluno.getId());
+        alunoDTO.setNome(UPDATED_NOME);
+
+        restAlunoMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, alunoDTO.getId())
+                    .header(HttpHeaders.IF_MATCH, "W/\"" + version + "\"")
+                    .contentType("application/merge-patch+json")
+                    .content(om.writeValueAsBytes(alunoDTO))
+            )
+            .andExpect(status().isPreconditionFailed());
+
+        restAlunoMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, alunoDTO.getId())
+                    .header(HttpHeaders.IF_MATCH, "\"" + version + "\"")
+                    .contentType("application/merge-patch+json")
+                    .content(om.writeValueAsBytes(alunoDTO))
+            )
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + (version + 1) + "\""));
+
+        // The new version is served as not modified
+        restAlunoMockMvc
+            .perform(get(ENTITY_API_URL_ID, aluno.getId()).header(HttpHeaders.IF_NONE_MATCH, "\"" + (version + 1) + "\""))
+            .andExpect(status().isNotModified());
+    }
+
     @Test
     @Transactional
     void patchNonExistingAluno() throws Exception {
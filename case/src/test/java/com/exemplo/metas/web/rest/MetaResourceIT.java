@@ -1,8 +1,11 @@
 package com.exemplo.metas.web.rest;
 
 import static com.exemplo.metas.domain.MetaAsserts.*;
+import static com.exemplo.metas.web.rest.TestUtil.countPreparedStatements;
 import static com.exemplo.metas.web.rest.TestUtil.createUpdateProxyForBean;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -13,18 +16,24 @@ import com.exemplo.metas.domain.enumeration.AreaDoEnem;
 import com.exemplo.metas.repository.MetaRepository;
 import com.exemplo.metas.service.dto.MetaDTO;
 import com.exemplo.metas.service.mapper.MetaMapper;
+import com.exemplo.metas.web.util.KeysetPaginationUtil;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
 import java.util.Random;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -59,6 +68,9 @@ class MetaResourceIT {
     @Autowired
     private EntityManager em;
 
+    @Autowired
+    private EntityManagerFactory emf;
+
     @Autowired
     private MockMvc restMetaMockMvc;
 
@@ -191,6 +203,84 @@ class MetaResourceIT {
             .andExpect(jsonPath("$.[*].area").value(hasItem(DEFAULT_AREA.toString())));
     }
 
+    @Test
+    @Transactional
+    void getAllMetasWithKeysetPagination() throws Exception {
+        // Initialize the database
+        Meta first = metaRepository.saveAndFlush(createEntity());
+        Meta second = metaRepository.saveAndFlush(createEntity());
+        String cursor = KeysetPaginationUtil.encodeCursor(first.getId() - 1);
+
+        restMetaMockMvc
+            .perform(get(ENTITY_API_URL + "?after=" + cursor + "&size=1"))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(
+                header().string(HttpHeaders.LINK, containsString("after=" + KeysetPaginationUtil.encodeCursor(first.getId())))
+            )
+            .andExpect(jsonPath("$.[*].id").value(contains(first.getId().intValue())));
+
+        restMetaMockMvc
+            .perform(get(ENTITY_API_URL + "?after=" + KeysetPaginationUtil.encodeCursor(first.getId()) + "&size=1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(second.getId().intValue())));
+    }
+
+    @Test
+    @Transactional
+    void getAllMetasWithInvalidCursor() throws Exception {
+        restMetaMockMvc.perform(get(ENTITY_API_URL + "?after=not-a-cursor")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getMetaStatistics() throws Exception {
+        long countBefore = om
+            .readTree(restMetaMockMvc.perform(get(ENTITY_API_URL + "/stats")).andReturn().getResponse().getContentAsString())
+            .get(DEFAULT_AREA.ordinal())
+            .get("count")
+            .asLong();
+        MetaDTO metaDTO = metaMapper.toDto(meta);
+        MetaDTO returnedMetaDTO = om.readValue(
+            restMetaMockMvc
+                .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(metaDTO)))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(),
+            MetaDTO.class
+        );
+        insertedMeta = metaMapper.toEntity(returnedMetaDTO);
+
+        restMetaMockMvc
+            .perform(get(ENTITY_API_URL + "/stats"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(AreaDoEnem.values().length))
+            .andExpect(jsonPath("$.[" + DEFAULT_AREA.ordinal() + "].area").value(DEFAULT_AREA.toString()))
+            .andExpect(jsonPath("$.[" + DEFAULT_AREA.ordinal() + "].count").value(countBefore + 1))
+            .andExpect(jsonPath("$.[" + DEFAULT_AREA.ordinal() + "].min").value(DEFAULT_VALOR));
+    }
+
+    @Test
+    @Transactional
+    void getMetasByIds() throws Exception {
+        // Initialize the database
+        Meta other = metaRepository.saveAndFlush(createUpdatedEntity());
+        insertedMeta = metaRepository.saveAndFlush(meta);
+
+        // Get both metas and an unknown one, in the requested order
+        restMetaMockMvc
+            .perform(get(ENTITY_API_URL).param("ids", meta.getId() + "," + Long.MAX_VALUE + "," + other.getId() + "," + meta.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$.[0].id").value(meta.getId().intValue()))
+            .andExpect(jsonPath("$.[0].valor").value(DEFAULT_VALOR))
+            .andExpect(jsonPath("$.[1].id").value(other.getId().intValue()))
+            .andExpect(jsonPath("$.[1].area").value(UPDATED_AREA.toString()));
+
+        metaRepository.delete(other);
+    }
+
     @Test
     @Transactional
     void getMeta() throws Exception {
@@ -207,6 +297,46 @@ class MetaResourceIT {
             .andExpect(jsonPath("$.area").value(DEFAULT_AREA.toString()));
     }
 
+    @Test
+    void exportMetas() throws Exception {
+        // Initialize the database outside of the test transaction, the export runs on another thread
+        insertedMeta = metaRepository.saveAndFlush(meta);
+
+        MvcResult mvcResult = restMetaMockMvc
+            .perform(get(ENTITY_API_URL + "/export"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        restMetaMockMvc
+            .perform(asyncDispatch(mvcResult))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+            .andExpect(content().string(containsString("\"id\":" + meta.getId() + ",\"valor\":" + DEFAULT_VALOR + ",\"area\":\"" + DEFAULT_AREA + "\"")));
+    }
+
+    @Test
+    @Transactional
+    void getMetaNotModified() throws Exception {
+        // Initialize the database
+        insertedMeta = metaRepository.saveAndFlush(meta);
+
+        // Get the meta and its entity tag
+        String eTag = restMetaMockMvc
+            .perform(get(ENTITY_API_URL_ID, meta.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + meta.getVersion() + "\""))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+        // Get it again with the entity tag
+        restMetaMockMvc
+            .perform(get(ENTITY_API_URL_ID, meta.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, eTag))
+            .andExpect(content().string(""));
+    }
+
     @Test
     @Transactional
     void getNonExistingMeta() throws Exception {
@@ -238,6 +368,57 @@ class MetaResourceIT {
         assertPersistedMetaToMatchAllProperties(updatedMeta);
     }
 
+    @Test
+    void putExistingMetaWithoutExistenceCheck() throws Exception {
+        // Initialize the database outside of a test transaction, so that the update is committed
+        insertedMeta = metaRepository.saveAndFlush(meta);
+        MetaDTO metaDTO = metaMapper.toDto(insertedMeta);
+        metaDTO.setValor(UPDATED_VALOR);
+
+        // Load and update only: no separate existence check
+        long statements = countPreparedStatements(emf, () ->
+            restMetaMockMvc
+                .perform(
+                    put(ENTITY_API_URL_ID, metaDTO.getId()).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(metaDTO))
+                )
+                .andExpect(status().isOk())
+        );
+        assertThat(statements).isEqualTo(2);
+    }
+
+    @Test
+    @Transactional
+    void putMetaWithIfMatch() throws Exception {
+        // Initialize the database
+        insertedMeta = metaRepository.saveAndFlush(meta);
+        long version = meta.getVersion();
+
+        MetaDTO metaDTO = metaMapper.toDto(meta);
+        metaDTO.setValor(UPDATED_VALOR);
+
+        // A stale entity tag is rejected
+        restMetaMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, metaDTO.getId())
+                    .header(HttpHeaders.IF_MATCH, "\"" + (version + 1) + "\"")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(metaDTO))
+            )
+            .andExpect(status().isPreconditionFailed());
+
+        // The current one is accepted, and the entity tag of the new version is returned
+        restMetaMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, metaDTO.getId())
+                    .header(HttpHeaders.IF_MATCH, "\"" + version + "\"")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(metaDTO))
+            )
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + (version + 1) + "\""))
+            .andExpect(jsonPath("$.valor").value(UPDATED_VALOR));
+    }
+
     @Test
     @Transactional
     void putNonExistingMeta() throws Exception {
@@ -322,6 +503,44 @@ class MetaResourceIT {
         assertMetaUpdatableFieldsEquals(createUpdateProxyForBean(partialUpdatedMeta, meta), getPersistedMeta(meta));
     }
 
+    @Test
+    @Transactional
+    void partialUpdateMetasWithBulkPatch() throws Exception {
+        // Initialize the database
+        insertedMeta = metaRepository.saveAndFlush(meta);
+        Meta other = metaRepository.saveAndFlush(createEntity());
+
+        long databaseSizeBeforeUpdate = getRepositoryCount();
+
+        // Update one meta, make another one invalid and target an unknown one
+        String body = String.join(
+            ",",
+            "{\"id\":" + meta.getId() + ",\"valor\":" + UPDATED_VALOR + "}",
+            "{\"id\":" + other.getId() + ",\"valor\":1001}",
+            "{\"id\":" + Long.MAX_VALUE + ",\"area\":\"" + UPDATED_AREA + "\"}"
+        );
+
+        restMetaMockMvc
+            .perform(patch(ENTITY_API_URL).contentType("application/merge-patch+json").content("[" + body + "]"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.updated.length()").value(1))
+            .andExpect(jsonPath("$.updated.[0].id").value(meta.getId().intValue()))
+            .andExpect(jsonPath("$.updated.[0].valor").value(UPDATED_VALOR))
+            .andExpect(jsonPath("$.updated.[0].area").value(DEFAULT_AREA.toString()))
+            .andExpect(jsonPath("$.errors.length()").value(2))
+            .andExpect(jsonPath("$.errors.[0].id").value(other.getId().intValue()))
+            .andExpect(jsonPath("$.errors.[0].error").value("invalid"))
+            .andExpect(jsonPath("$.errors.[1].id").value(Long.MAX_VALUE))
+            .andExpect(jsonPath("$.errors.[1].error").value("idnotfound"));
+
+        // Validate the Metas in the database
+        assertSameRepositoryCount(databaseSizeBeforeUpdate);
+        assertThat(getPersistedMeta(meta).getValor()).isEqualTo(UPDATED_VALOR);
+        assertThat(getPersistedMeta(other).getValor()).isEqualTo(DEFAULT_VALOR);
+
+        metaRepository.delete(other);
+    }
+
     @Test
     @Transactional
     void fullUpdateMetaWithPatch() throws Exception {
@@ -427,6 +646,51 @@ class MetaResourceIT {
         assertDecrementedRepositoryCount(databaseSizeBeforeDelete);
     }
 
+    @Test
+    void importMetasFromNdjson() throws Exception {
+        Set<Long> existingIds = metaRepository.findAll().stream().map(Meta::getId).collect(Collectors.toSet());
+        String body = String.join(
+            "\n",
+            "{\"valor\":" + DEFAULT_VALOR + ",\"area\":\"" + DEFAULT_AREA + "\"}",
+            "{\"valor\":1001,\"area\":\"" + DEFAULT_AREA + "\"}",
+            "",
+            "{not json",
+            "{\"valor\":" + UPDATED_VALOR + ",\"area\":\"" + UPDATED_AREA + "\"}"
+        );
+
+        try {
+            restMetaMockMvc
+                .perform(post(ENTITY_API_URL + "/import").contentType(MediaType.APPLICATION_NDJSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.failed").value(2))
+                .andExpect(jsonPath("$.errors.[*].line").value(contains(2, 4)));
+
+            assertThat(getRepositoryCount()).isEqualTo(existingIds.size() + 2L);
+        } finally {
+            metaRepository.deleteAll(metaRepository.findAll().stream().filter(m -> !existingIds.contains(m.getId())).toList());
+        }
+    }
+
+    @Test
+    void importMetasFromCsv() throws Exception {
+        Set<Long> existingIds = metaRepository.findAll().stream().map(Meta::getId).collect(Collectors.toSet());
+        String body = String.join("\n", "area;valor", DEFAULT_AREA + ";" + DEFAULT_VALOR, "UNKNOWN;10", UPDATED_AREA + ";");
+
+        try {
+            restMetaMockMvc
+                .perform(post(ENTITY_API_URL + "/import").contentType("text/csv").content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.failed").value(2))
+                .andExpect(jsonPath("$.errors.[*].line").value(contains(3, 4)));
+
+            assertThat(getRepositoryCount()).isEqualTo(existingIds.size() + 1L);
+        } finally {
+            metaRepository.deleteAll(metaRepository.findAll().stream().filter(m -> !existingIds.contains(m.getId())).toList());
+        }
+    }
+
     protected long getRepositoryCount() {
         return metaRepository.count();
     }
@@ -3,6 +3,7 @@ package com.exemplo.metas.web.rest;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.TypedQuery;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
@@ -15,6 +16,8 @@ import java.util.List;
 import org.hamcrest.Description;
 import org.hamcrest.TypeSafeDiagnosingMatcher;
 import org.hamcrest.TypeSafeMatcher;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.springframework.cglib.proxy.Enhancer;
 import org.springframework.cglib.proxy.MethodInterceptor;
 import org.springframework.cglib.proxy.MethodProxy;
@@ -180,6 +183,31 @@ public final class TestUtil {
         return allQuery.getResultList();
     }
 
+    /**
+     * Runs an action with an empty second-level cache and counts the JDBC statements it prepares.
+     * @param emf The instance of the EntityManagerFactory
+     * @param action The action to run, outside of any transaction
+     * @return The number of prepared statements
+     */
+    public static long countPreparedStatements(EntityManagerFactory emf, StatementsAction action) throws Exception {
+        emf.getCache().evictAll();
+        Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        boolean enabled = statistics.isStatisticsEnabled();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        try {
+            action.run();
+            return statistics.getPrepareStatementCount();
+        } finally {
+            statistics.setStatisticsEnabled(enabled);
+        }
+    }
+
+    @FunctionalInterface
+    public interface StatementsAction {
+        void run() throws Exception;
+    }
+
     @SuppressWarnings("unchecked")
     public static <T> T createUpdateProxyForBean(T update, T original) {
         Enhancer e = new Enhancer();
@@ -0,0 +1,35 @@
+package com.exemplo.metas.web.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+/**
+ * Test class for the {@link ETagUtil} utility class.
+ */
+class ETagUtilUnitTest {
+
+    @Test
+    void testETagHeaders() {
+        assertThat(ETagUtil.generateETagHeaders(3L).getETag()).isEqualTo("\"3\"");
+        assertThat(ETagUtil.generateETagHeaders(null).containsKey(HttpHeaders.ETAG)).isFalse();
+    }
+
+    @Test
+    void testIfNoneMatchUsesWeakComparison() {
+        assertThat(ETagUtil.matchesIfNoneMatch("\"3\"", 3L)).isTrue();
+        assertThat(ETagUtil.matchesIfNoneMatch("\"1\", W/\"3\"", 3L)).isTrue();
+        assertThat(ETagUtil.matchesIfNoneMatch("*", 3L)).isTrue();
+        assertThat(ETagUtil.matchesIfNoneMatch("\"2\"", 3L)).isFalse();
+        assertThat(ETagUtil.matchesIfNoneMatch(null, 3L)).isFalse();
+    }
+
+    @Test
+    void testIfMatchUsesStrongComparison() {
+        assertThat(ETagUtil.parseIfMatch(null)).isNull();
+        assertThat(ETagUtil.parseIfMatch("*")).isNull();
+        assertThat(ETagUtil.parseIfMatch("\"3\", \"4\"")).containsExactly(3L, 4L);
+        assertThat(ETagUtil.parseIfMatch("W/\"3\", \"abc\"")).isEmpty();
+    }
+}
@@ -0,0 +1,60 @@
+package com.exemplo.metas.web.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.exemplo.metas.web.rest.errors.BadRequestAlertException;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Test class for the {@link KeysetPaginationUtil} utility class.
+ */
+class KeysetPaginationUtilUnitTest {
+
+    private static final String BASE_URL = "/api/metas";
+
+    @Test
+    void testCursorRoundTrip() {
+        String cursor = KeysetPaginationUtil.encodeCursor(1051L);
+        assertThat(cursor).doesNotContain("1051");
+        assertThat(KeysetPaginationUtil.decodeCursor(cursor, "meta")).isEqualTo(1051L);
+    }
+
+    @Test
+    void testEmptyCursorStartsFromFirstRow() {
+        assertThat(KeysetPaginationUtil.decodeCursor("", "meta")).isNull();
+    }
+
+    @Test
+    void testInvalidCursor() {
+        assertThatThrownBy(() -> KeysetPaginationUtil.decodeCursor("not a cursor!", "meta")).isInstanceOf(BadRequestAlertException.class);
+        assertThatThrownBy(() -> KeysetPaginationUtil.decodeCursor("YWJj", "meta")).isInstanceOf(BadRequestAlertException.class);
+    }
+
+    @Test
+    void testNextLinkPointsAfterLastRow() {
+        UriComponentsBuilder uriBuilder = UriComponentsBuilder.fromUriString(BASE_URL + "?after=&size=2&sort=valor,desc");
+        SliceImpl<Long> slice = new SliceImpl<>(List.of(3L, 7L), PageRequest.of(0, 2), true);
+
+        HttpHeaders headers = KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(uriBuilder, slice, id -> id);
+
+        assertThat(headers.get(HttpHeaders.LINK)).containsExactly(
+            "<" + BASE_URL + "?after=" + KeysetPaginationUtil.encodeCursor(7L) + "&size=2>; rel=\"next\""
+        );
+    }
+
+    @Test
+    void testNoNextLinkOnLastPage() {
+        UriComponentsBuilder uriBuilder = UriComponentsBuilder.fromUriString(BASE_URL + "?after=&size=2");
+        SliceImpl<Long> slice = new SliceImpl<>(List.of(3L), PageRequest.of(0, 2), false);
+
+        HttpHeaders headers = KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(uriBuilder, slice, id -> id);
+
+        assertThat(headers.containsKey(HttpHeaders.LINK)).isFalse();
+    }
+}
@@ -1,5 +1,10 @@
 package com.gama.enem.config;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -9,4 +14,228 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  * See {@link tech.jhipster.config.JHipsterProperties} for a good example.
  */
 @ConfigurationProperties(prefix = "application", ignoreUnknownFields = false)
-public class ApplicationProperties {}
+public class ApplicationProperties {
+
+    private final Security security = new Security();
+
+    private final RateLimit rateLimit = new RateLimit();
+
+    private final LoadBalancer loadBalancer = new LoadBalancer();
+
+    public Security getSecurity() {
+        return security;
+    }
+
+    public RateLimit getRateLimit() {
+        return rateLimit;
+    }
+
+    public LoadBalancer getLoadBalancer() {
+        return loadBalancer;
+    }
+
+    public static class Security {
+
+        private final JwtCache jwtCache = new JwtCache();
+
+        public JwtCache getJwtCache() {
+            return jwtCache;
+        }
+
+        /**
+         * Cache of the verified JWT tokens, sparing the signature check and parsing of tokens sent again.
+         */
+        public static class JwtCache {
+
+            private boolean enabled = true;
+
+            /**
+             * Maximum number of tokens kept; each one stays until it expires.
+             */
+            private long maxEntries = 10_000;
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public long getMaxEntries() {
+                return maxEntries;
+            }
+
+            public void setMaxEntries(long maxEntries) {
+                this.maxEntries = maxEntries;
+            }
+        }
+    }
+
+    /**
+     * Rate limiting of the routed requests, with a token bucket per route and per user, or per client IP for the
+     * anonymous requests.
+     */
+    public static class RateLimit {
+
+        public enum Storage {
+            /**
+             * Each gateway replica keeps its own buckets in memory.
+             */
+            LOCAL,
+            /**
+             * The buckets are kept in a JCache, shared by all the gateway replicas when its provider is distributed.
+             */
+            JCACHE,
+        }
+
+        private boolean enabled = true;
+
+        private Storage storage = Storage.LOCAL;
+
+        /**
+         * Name of the JCache keeping the buckets, with the {@code jcache} storage.
+         */
+        private String cacheName = "rate-limit-buckets";
+
+        /**
+         * Maximum number of buckets kept in memory, with the {@code local} storage.
+         */
+        private long maxBuckets = 100_000;
+
+        /**
+         * Proxies in front of the gateway, as IP addresses or CIDR ranges, whose {@code X-Forwarded-For} header is
+         * trusted to tell the address of the anonymous clients. Without them, all the anonymous clients behind a proxy
+         * share the bucket of its address.
+         */
+        private List<String> trustedProxies = new ArrayList<>();
+
+        private final Limit defaultLimit = new Limit();
+
+        /**
+         * Limits of the routes that do not use the default one, by route id.
+         */
+        private final Map<String, Limit> routes = new HashMap<>();
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Storage getStorage() {
+            return storage;
+        }
+
+        public void setStorage(Storage storage) {
+            this.storage = storage;
+        }
+
+        public String getCacheName() {
+            return cacheName;
+        }
+
+        public void setCacheName(String cacheName) {
+            this.cacheName = cacheName;
+        }
+
+        public long getMaxBuckets() {
+            return maxBuckets;
+        }
+
+        public void setMaxBuckets(long maxBuckets) {
+            this.maxBuckets = maxBuckets;
+        }
+
+        public List<String> getTrustedProxies() {
+            return trustedProxies;
+        }
+
+        public void setTrustedProxies(List<String> trustedProxies) {
+            this.trustedProxies = trustedProxies;
+        }
+
+        public Limit getDefaultLimit() {
+            return defaultLimit;
+        }
+
+        public Map<String, Limit> getRoutes() {
+            return routes;
+        }
+
+        /**
+         * At most {@code capacity} requests in a burst, refilled at the rate of {@code capacity} requests per
+         * {@code period}.
+         */
+        public static class Limit {
+
+            private long capacity = 100;
+
+            private Duration period = Duration.ofSeconds(1);
+
+            public long getCapacity() {
+                return capacity;
+            }
+
+            public void setCapacity(long capacity) {
+                this.capacity = capacity;
+            }
+
+            public Duration getPeriod() {
+                return period;
+            }
+
+            public void setPeriod(Duration period) {
+                this.period = period;
+            }
+        }
+    }
+
+    /**
+     * Load balancing of the requests routed to the discovered services.
+     */
+    public static class LoadBalancer {
+
+        public enum Strategy {
+            ROUND_ROBIN,
+            /**
+             * The less loaded of two random instances, judged by their latency and their requests in flight.
+             */
+            LATENCY_AWARE,
+        }
+
+        private Strategy defaultStrategy = Strategy.ROUND_ROBIN;
+
+        /**
+         * Strategies of the services that do not use the default one, by service id.
+         */
+        private final Map<String, Strategy> services = new HashMap<>();
+
+        /**
+         * Time for the weight of a latency sample to decay by a factor of e, with the {@code latency-aware} strategy.
+         */
+        private Duration decayTime = Duration.ofSeconds(10);
+
+        public Strategy getDefaultStrategy() {
+            return defaultStrategy;
+        }
+
+        public void setDefaultStrategy(Strategy defaultStrategy) {
+            this.defaultStrategy = defaultStrategy;
+        }
+
+        public Map<String, Strategy> getServices() {
+            return services;
+        }
+
+        public Duration getDecayTime() {
+            return decayTime;
+        }
+
+        public void setDecayTime(Duration decayTime) {
+            this.decayTime = decayTime;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.gama.enem.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+import org.springframework.cloud.client.loadbalancer.TimedRequestContext;
+
+/**
+ * Tracks the requests in flight and the latency of the instances of a service, from the load balancer lifecycle
+ * callbacks of the gateway.
+ * <p>
+ * The latency is an exponentially weighted moving average, whose samples lose weight with time rather than with the
+ * number of samples: the estimate of an instance which no longer receives requests fades, so that it is tried again.
+ * A failed request counts as a sample of {@link #FAILURE_PENALTY}, so that an instance failing fast is avoided rather
+ * than taken for the fastest one.
+ */
+public class InstanceLatencyTracker implements LoadBalancerLifecycle<RequestDataContext, ResponseData, ServiceInstance> {
+
+    /**
+     * Cost of an instance which has requests in flight but has not answered any yet, so that it does not get all the
+     * requests until its latency is known.
+     */
+    static final double UNANSWERED_PENALTY = TimeUnit.HOURS.toNanos(1);
+
+    /**
+     * Latency counted for a failed request, longer than any request expected to succeed.
+     */
+    static final long FAILURE_PENALTY = TimeUnit.SECONDS.toNanos(10);
+
+    /**
+     * Number of decay times after which the statistics of an instance left unused are dropped, as they have faded
+     * anyway; the ids of the instances change with each deployment.
+     */
+    private static final int EXPIRY_DECAY_TIMES = 5;
+
+    private final double decayNanos;
+
+    private final LongSupplier nanoTime;
+
+    private final Cache<String, InstanceStats> stats;
+
+    public InstanceLatencyTracker(Duration decayTime) {
+        this(decayTime, System::nanoTime);
+    }
+
+    InstanceLatencyTracker(Duration decayTime, LongSupplier nanoTime) {
+        this.decayNanos = decayTime.toNanos();
+        this.nanoTime = nanoTime;
+        this.stats = Caffeine.newBuilder()
+            .expireAfterAccess(decayTime.multipliedBy(EXPIRY_DECAY_TIMES))
+            .ticker(nanoTime::getAsLong)
+            .build();
+    }
+
+    @Override
+    public void onStart(Request<RequestDataContext> request) {
+        // The instance is not chosen yet
+    }
+
+    @Override
+    public void onStartRequest(Request<RequestDataContext> request, Response<ServiceInstance> lbResponse) {
+        if (request.getContext() instanceof TimedRequestContext) {
+            ((TimedRequestContext) request.getContext()).setRequestStartTime(nanoTime.getAsLong());
+        }
+        if (lbResponse.hasServer()) {
+            statsOf(lbResponse.getServer()).start();
+        }
+    }
+
+    @Override
+    public void onComplete(CompletionContext<ResponseData, ServiceInstance, RequestDataContext> completionContext) {
+        Response<ServiceInstance> lbResponse = completionContext.getLoadBalancerResponse();
+        if (lbResponse == null || !lbResponse.hasServer()) {
+            return;
+        }
+        InstanceStats instanceStats = statsOf(lbResponse.getServer());
+        Object context = completionContext.getLoadBalancerRequest().getContext();
+        if (completionContext.status() == CompletionContext.Status.DISCARD || !(context instanceof TimedRequestContext)) {
+            instanceStats.complete();
+            return;
+        }
+        long now = nanoTime.getAsLong();
+        long latency = now - ((TimedRequestContext) context).getRequestStartTime();
+        if (completionContext.status() == CompletionContext.Status.FAILED) {
+            latency = Math.max(latency, FAILURE_PENALTY);
+        }
+        instanceStats.complete(latency, now, decayNanos);
+    }
+
+    /**
+     * The cost of sending a request to the instance: its latency, weighted by the requests it already has in flight.
+     */
+    public double cost(ServiceInstance instance) {
+        InstanceStats instanceStats = stats.getIfPresent(key(instance));
+        if (instanceStats == null) {
+            // Same cost as an instance without latency nor request in flight
+            return 1;
+        }
+        return instanceStats.cost(nanoTime.getAsLong(), decayNanos);
+    }
+
+    private InstanceStats statsOf(ServiceInstance instance) {
+        return stats.get(key(instance), k -> new InstanceStats());
+    }
+
+    long trackedInstanceCount() {
+        stats.cleanUp();
+        return stats.estimatedSize();
+    }
+
+    private static String key(ServiceInstance instance) {
+        return instance.getInstanceId() != null ? instance.getInstanceId() : instance.getHost() + ':' + instance.getPort();
+    }
+
+    private static final class InstanceStats {
+
+        private int inFlight;
+
+        private double latencyNanos;
+
+        private boolean sampled;
+
+        private long lastUpdate;
+
+        synchronized void start() {
+            inFlight++;
+        }
+
+        synchronized void complete() {
+            inFlight = Math.max(0, inFlight - 1);
+        }
+
+        synchronized void complete(long latency, long now, double decayNanos) {
+            complete();
+            if (!sampled) {
+                latencyNanos = latency;
+                sampled = true;
+            } else {
+                double weight = Math.exp(-(now - lastUpdate) / decayNanos);
+                latencyNanos = latencyNanos * weight + latency * (1 - weight);
+            }
+            lastUpdate = now;
+        }
+
+        synchronized double cost(long now, double decayNanos) {
+            if (!sampled) {
+                return inFlight == 0 ? 1 : UNANSWERED_PENALTY + inFlight;
+            }
+            return (latencyNanos * Math.exp(-(now - lastUpdate) / decayNanos) + 1) * (inFlight + 1);
+        }
+    }
+}
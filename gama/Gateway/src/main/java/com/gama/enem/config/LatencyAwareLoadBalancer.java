@@ -0,0 +1,81 @@
+package com.gama.enem.config;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.SelectedInstanceCallback;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Mono;
+
+/**
+ * A load balancer choosing the less costly of two random instances, as estimated by an {@link InstanceLatencyTracker}.
+ * <p>
+ * Comparing two random instances, rather than picking the best of all, keeps the instances with a stale estimate from
+ * being flooded by the requests of all the gateways at once.
+ */
+public class LatencyAwareLoadBalancer implements ReactorServiceInstanceLoadBalancer {
+
+    private final Logger log = LoggerFactory.getLogger(LatencyAwareLoadBalancer.class);
+
+    private final ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider;
+
+    private final String serviceId;
+
+    private final InstanceLatencyTracker latencyTracker;
+
+    public LatencyAwareLoadBalancer(
+        ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider,
+        String serviceId,
+        InstanceLatencyTracker latencyTracker
+    ) {
+        this.serviceInstanceListSupplierProvider = serviceInstanceListSupplierProvider;
+        this.serviceId = serviceId;
+        this.latencyTracker = latencyTracker;
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        ServiceInstanceListSupplier supplier = serviceInstanceListSupplierProvider.getIfAvailable(NoopServiceInstanceListSupplier::new);
+        return supplier
+            .get(request)
+            .next()
+            .map(instances -> {
+                Response<ServiceInstance> response = choose(instances);
+                if (supplier instanceof SelectedInstanceCallback && response.hasServer()) {
+                    ((SelectedInstanceCallback) supplier).selectedServiceInstance(response.getServer());
+                }
+                return response;
+            });
+    }
+
+    Response<ServiceInstance> choose(List<ServiceInstance> instances) {
+        if (instances.isEmpty()) {
+            log.warn("No servers available for service: {}", serviceId);
+            return new EmptyResponse();
+        }
+        if (instances.size() == 1) {
+            return new DefaultResponse(instances.get(0));
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(instances.size());
+        int second = random.nextInt(instances.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+        ServiceInstance firstInstance = instances.get(first);
+        ServiceInstance secondInstance = instances.get(second);
+        return new DefaultResponse(
+            latencyTracker.cost(firstInstance) <= latencyTracker.cost(secondInstance) ? firstInstance : secondInstance
+        );
+    }
+}
@@ -0,0 +1,26 @@
+package com.gama.enem.config;
+
+import java.util.Map;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Load balancing of the requests routed to the discovered services, with the strategy configured for each service by
+ * {@code application.load-balancer}.
+ */
+@Configuration
+@LoadBalancerClients(defaultConfiguration = ServiceLoadBalancerConfiguration.class)
+public class LoadBalancerConfiguration {
+
+    /**
+     * The strategy of a service; its id is compared ignoring case, as the discovery client may report it in upper case.
+     */
+    static ApplicationProperties.LoadBalancer.Strategy strategy(ApplicationProperties.LoadBalancer properties, String serviceId) {
+        for (Map.Entry<String, ApplicationProperties.LoadBalancer.Strategy> service : properties.getServices().entrySet()) {
+            if (service.getKey().equalsIgnoreCase(serviceId)) {
+                return service.getValue();
+            }
+        }
+        return properties.getDefaultStrategy();
+    }
+}
@@ -0,0 +1,65 @@
+package com.gama.enem.config;
+
+import com.gama.enem.web.filter.RateLimitingFilter;
+import io.github.bucket4j.grid.jcache.JCacheProxyManager;
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import javax.cache.configuration.MutableConfiguration;
+import javax.cache.expiry.ModifiedExpiryPolicy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Rate limiting of the routed requests, see {@link RateLimitingFilter}.
+ * <p>
+ * With the {@code jcache} storage, the buckets are kept in the JCache named by
+ * {@code application.rate-limit.cache-name}. They are only shared by the gateway replicas if the JCache provider on the
+ * classpath is a distributed one, such as Hazelcast. That storage needs a JCache {@link CacheManager} bean, since the
+ * JCache provider to use cannot be told apart when there is none or several on the classpath.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.rate-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitingConfiguration {
+
+    private final Logger log = LoggerFactory.getLogger(RateLimitingConfiguration.class);
+
+    @Bean
+    public RateLimitingFilter rateLimitingFilter(ApplicationProperties applicationProperties, ObjectProvider<CacheManager> cacheManager) {
+        ApplicationProperties.RateLimit rateLimit = applicationProperties.getRateLimit();
+        if (rateLimit.getStorage() == ApplicationProperties.RateLimit.Storage.JCACHE) {
+            log.debug("Keeping the rate limiting buckets in the {} JCache", rateLimit.getCacheName());
+            CacheManager jCacheManager = cacheManager.getIfAvailable();
+            if (jCacheManager == null) {
+                throw new IllegalStateException(
+                    "The jcache rate limit storage needs a javax.cache.CacheManager bean: define one, or use the local storage"
+                );
+            }
+            return new RateLimitingFilter(rateLimit, new JCacheProxyManager<>(bucketsCache(jCacheManager, rateLimit)));
+        }
+        return new RateLimitingFilter(rateLimit);
+    }
+
+    static Cache<String, byte[]> bucketsCache(CacheManager cacheManager, ApplicationProperties.RateLimit rateLimit) {
+        Cache<String, byte[]> cache = cacheManager.getCache(rateLimit.getCacheName(), String.class, byte[].class);
+        if (cache == null) {
+            // Every consumption rewrites the bucket: one left unchanged for the longest period is full again and can expire
+            Duration longestPeriod = RateLimitingFilter.longestPeriod(rateLimit);
+            cache =
+                cacheManager.createCache(
+                    rateLimit.getCacheName(),
+                    new MutableConfiguration<String, byte[]>()
+                        .setTypes(String.class, byte[].class)
+                        .setExpiryPolicyFactory(
+                            ModifiedExpiryPolicy.factoryOf(new javax.cache.expiry.Duration(TimeUnit.MILLISECONDS, longestPeriod.toMillis()))
+                        )
+                );
+        }
+        return cache;
+    }
+}
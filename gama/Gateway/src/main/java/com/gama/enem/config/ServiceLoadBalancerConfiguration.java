@@ -0,0 +1,54 @@
+package com.gama.enem.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.RoundRobinLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+/**
+ * Beans of the load balancer of a service, created by {@link LoadBalancerConfiguration} in the child context of that
+ * service.
+ * <p>
+ * As required by Spring Cloud LoadBalancer, this class is neither annotated with {@code @Configuration} nor nested in
+ * a configuration class: either would have its beans registered in the main context too, outside of any service.
+ */
+public class ServiceLoadBalancerConfiguration {
+
+    private static final Logger log = LoggerFactory.getLogger(ServiceLoadBalancerConfiguration.class);
+
+    /**
+     * Registered as a bean, so that the gateway calls it back around each request to the service.
+     */
+    @Bean
+    public InstanceLatencyTracker instanceLatencyTracker(ApplicationProperties applicationProperties) {
+        return new InstanceLatencyTracker(applicationProperties.getLoadBalancer().getDecayTime());
+    }
+
+    @Bean
+    public ReactorServiceInstanceLoadBalancer reactorServiceInstanceLoadBalancer(
+        Environment environment,
+        LoadBalancerClientFactory loadBalancerClientFactory,
+        ApplicationProperties applicationProperties,
+        InstanceLatencyTracker instanceLatencyTracker
+    ) {
+        String serviceId = LoadBalancerClientFactory.getName(environment);
+        ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider = loadBalancerClientFactory.getLazyProvider(
+            serviceId,
+            ServiceInstanceListSupplier.class
+        );
+        ApplicationProperties.LoadBalancer.Strategy strategy = LoadBalancerConfiguration.strategy(
+            applicationProperties.getLoadBalancer(),
+            serviceId
+        );
+        log.debug("Load balancing {} with the {} strategy", serviceId, strategy);
+        if (strategy == ApplicationProperties.LoadBalancer.Strategy.LATENCY_AWARE) {
+            return new LatencyAwareLoadBalancer(serviceInstanceListSupplierProvider, serviceId, instanceLatencyTracker);
+        }
+        return new RoundRobinLoadBalancer(serviceInstanceListSupplierProvider, serviceId);
+    }
+}
@@ -1,7 +1,6 @@
 package com.gama.enem.security.jwt;
 
 import org.springframework.http.server.reactive.ServerHttpRequest;
-import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.ReactiveSecurityContextHolder;
 import org.springframework.util.StringUtils;
 import org.springframework.web.server.ServerWebExchange;
@@ -12,11 +11,16 @@ import reactor.core.publisher.Mono;
 /**
  * Filters incoming requests and installs a Spring Security principal if a header corresponding to a valid user is
  * found.
+ * <p>
+ * The verification of the token of the {@code Authorization} header is kept in the {@link #VERIFIED_TOKEN_ATTRIBUTE}
+ * attribute of the exchange, so that the later filters do not parse it again.
  */
 public class JWTFilter implements WebFilter {
 
     public static final String AUTHORIZATION_HEADER = "Authorization";
 
+    public static final String VERIFIED_TOKEN_ATTRIBUTE = JWTFilter.class.getName() + ".verifiedToken";
+
     private final TokenProvider tokenProvider;
 
     public JWTFilter(TokenProvider tokenProvider) {
@@ -26,9 +30,14 @@ public class JWTFilter implements WebFilter {
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
         String jwt = resolveToken(exchange.getRequest());
-        if (StringUtils.hasText(jwt) && this.tokenProvider.validateToken(jwt)) {
-            Authentication authentication = this.tokenProvider.getAuthentication(jwt);
-            return chain.filter(exchange).subscriberContext(ReactiveSecurityContextHolder.withAuthentication(authentication));
+        if (StringUtils.hasText(jwt)) {
+            VerifiedToken verifiedToken = this.tokenProvider.verify(jwt);
+            if (verifiedToken != null) {
+                exchange.getAttributes().put(VERIFIED_TOKEN_ATTRIBUTE, verifiedToken);
+                return chain
+                    .filter(exchange)
+                    .subscriberContext(ReactiveSecurityContextHolder.withAuthentication(verifiedToken.getAuthentication(jwt)));
+            }
         }
         return chain.filter(exchange);
     }
@@ -7,6 +7,7 @@ import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFac
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
+import org.springframework.web.server.ServerWebExchange;
 
 @Component
 public class JWTRelayGatewayFilterFactory extends AbstractGatewayFilterFactory<Object> {
@@ -21,7 +22,7 @@ public class JWTRelayGatewayFilterFactory extends AbstractGatewayFilterFactory<O
     public GatewayFilter apply(Object config) {
         return (exchange, chain) -> {
             String token = this.extractJWTToken(exchange.getRequest());
-            if (StringUtils.hasText(token) && this.tokenProvider.validateToken(token)) {
+            if (StringUtils.hasText(token) && isVerified(exchange, token)) {
                 ServerHttpRequest request = exchange.getRequest().mutate().header(AUTHORIZATION_HEADER, "Bearer " + token).build();
 
                 return chain.filter(exchange.mutate().request(request).build());
@@ -30,6 +31,17 @@ public class JWTRelayGatewayFilterFactory extends AbstractGatewayFilterFactory<O
         };
     }
 
+    /**
+     * Reuse the verification of the {@link JWTFilter} of the exchange, if any, instead of parsing the token again: both
+     * read the token from the {@code Authorization} header of the request.
+     */
+    private boolean isVerified(ServerWebExchange exchange, String token) {
+        if (exchange.getAttribute(JWTFilter.VERIFIED_TOKEN_ATTRIBUTE) != null) {
+            return true;
+        }
+        return this.tokenProvider.verify(token) != null;
+    }
+
     private String extractJWTToken(ServerHttpRequest request) {
         String bearerToken = request.getHeaders().getFirst(AUTHORIZATION_HEADER);
         if (bearerToken == null) {
@@ -1,22 +1,28 @@
 package com.gama.enem.security.jwt;
 
+import com.gama.enem.config.ApplicationProperties;
 import com.gama.enem.management.SecurityMetersService;
+import com.gama.enem.security.AuthorityRegistry;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.jackson.io.JacksonSerializer;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.userdetails.User;
 import org.springframework.stereotype.Component;
 import org.springframework.util.ObjectUtils;
 import tech.jhipster.config.JHipsterProperties;
@@ -30,6 +36,14 @@ public class TokenProvider {
 
     private static final String INVALID_JWT_TOKEN = "Invalid JWT token.";
 
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
     private final Key key;
 
     private final JwtParser jwtParser;
@@ -40,7 +54,16 @@ public class TokenProvider {
 
     private final SecurityMetersService securityMetersService;
 
-    public TokenProvider(JHipsterProperties jHipsterProperties, SecurityMetersService securityMetersService) {
+    /**
+     * The verified tokens, keyed by their SHA-256 digest, until they expire; {@code null} when disabled.
+     */
+    private final Cache<ByteBuffer, VerifiedToken> verifiedTokens;
+
+    public TokenProvider(
+        JHipsterProperties jHipsterProperties,
+        ApplicationProperties applicationProperties,
+        SecurityMetersService securityMetersService
+    ) {
         byte[] keyBytes;
         String secret = jHipsterProperties.getSecurity().getAuthentication().getJwt().getBase64Secret();
         if (!ObjectUtils.isEmpty(secret)) {
@@ -61,6 +84,12 @@ public class TokenProvider {
             1000 * jHipsterProperties.getSecurity().getAuthentication().getJwt().getTokenValidityInSecondsForRememberMe();
 
         this.securityMetersService = securityMetersService;
+
+        ApplicationProperties.Security.JwtCache jwtCache = applicationProperties.getSecurity().getJwtCache();
+        this.verifiedTokens =
+            jwtCache.isEnabled()
+                ? Caffeine.newBuilder().maximumSize(jwtCache.getMaxEntries()).expireAfter(new UntilExpiration()).build()
+                : null;
     }
 
     public String createToken(Authentication authentication, boolean rememberMe) {
@@ -87,22 +116,43 @@ public class TokenProvider {
     public Authentication getAuthentication(String token) {
         Claims claims = jwtParser.parseClaimsJws(token).getBody();
 
-        Collection<? extends GrantedAuthority> authorities = Arrays
-            .stream(claims.get(AUTHORITIES_KEY).toString().split(","))
-            .filter(auth -> !auth.trim().isEmpty())
-            .map(SimpleGrantedAuthority::new)
-            .collect(Collectors.toList());
+        return newVerifiedToken(claims).getAuthentication(token);
+    }
 
-        User principal = new User(claims.getSubject(), "", authorities);
+    private static VerifiedToken newVerifiedToken(Claims claims) {
+        return new VerifiedToken(claims, AuthorityRegistry.forClaim(claims.get(AUTHORITIES_KEY).toString()));
+    }
 
-        return new UsernamePasswordAuthenticationToken(principal, token, authorities);
+    /**
+     * Verify a token, parsing it only if it was not verified before.
+     *
+     * @param token the token.
+     * @return the verified token, or {@code null} if the token is not valid.
+     */
+    public VerifiedToken verify(String token) {
+        ByteBuffer key = verifiedTokens != null ? digest(token) : null;
+        VerifiedToken verifiedToken = key != null ? verifiedTokens.getIfPresent(key) : null;
+        if (verifiedToken != null) {
+            return verifiedToken;
+        }
+        Claims claims = parseClaims(token);
+        if (claims == null) {
+            return null;
+        }
+        verifiedToken = newVerifiedToken(claims);
+        if (key != null && claims.getExpiration() != null) {
+            verifiedTokens.put(key, verifiedToken);
+        }
+        return verifiedToken;
     }
 
     public boolean validateToken(String authToken) {
-        try {
-            jwtParser.parseClaimsJws(authToken);
+        return parseClaims(authToken) != null;
+    }
 
-            return true;
+    private Claims parseClaims(String authToken) {
+        try {
+            return jwtParser.parseClaimsJws(authToken).getBody();
         } catch (ExpiredJwtException e) {
             this.securityMetersService.trackTokenExpired();
 
@@ -123,6 +173,32 @@ public class TokenProvider {
             log.error("Token validation error {}", e.getMessage());
         }
 
-        return false;
+        return null;
+    }
+
+    static ByteBuffer digest(String token) {
+        return ByteBuffer.wrap(SHA_256.get().digest(token.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Keeps each verified token until its {@code exp} claim.
+     */
+    private static final class UntilExpiration implements Expiry<ByteBuffer, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(ByteBuffer key, VerifiedToken verifiedToken, long currentTime) {
+            long millis = verifiedToken.getClaims().getExpiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, millis));
+        }
+
+        @Override
+        public long expireAfterUpdate(ByteBuffer key, VerifiedToken verifiedToken, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, verifiedToken, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(ByteBuffer key, VerifiedToken verifiedToken, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
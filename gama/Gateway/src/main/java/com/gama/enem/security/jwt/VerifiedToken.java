@@ -0,0 +1,47 @@
+package com.gama.enem.security.jwt;
+
+import io.jsonwebtoken.Claims;
+import java.util.Collection;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+/**
+ * A JWT token whose signature and expiration were checked by the {@link TokenProvider}, with its claims and the
+ * authorities they grant.
+ * <p>
+ * Instances are shared by all the requests sending the same token: their claims must not be modified. They do not keep
+ * the token itself, and each request builds its own {@link Authentication} with {@link #getAuthentication(String)}.
+ */
+public final class VerifiedToken {
+
+    private final Claims claims;
+
+    private final Collection<? extends GrantedAuthority> authorities;
+
+    VerifiedToken(Claims claims, Collection<? extends GrantedAuthority> authorities) {
+        this.claims = claims;
+        this.authorities = authorities;
+    }
+
+    public Claims getClaims() {
+        return claims;
+    }
+
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    /**
+     * Build the authentication of a request sending this token.
+     *
+     * @param token the token, as sent by the request.
+     * @return a new authentication, sharing the authorities of this token.
+     */
+    public Authentication getAuthentication(String token) {
+        User principal = new User(claims.getSubject(), "", authorities);
+
+        return new UsernamePasswordAuthenticationToken(principal, token, authorities);
+    }
+}
@@ -1,14 +1,20 @@
 package com.gama.enem.web.filter;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
-import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.StringWriter;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.List;
 import java.util.Objects;
 import java.util.zip.GZIPInputStream;
@@ -24,6 +30,7 @@ import org.springframework.core.io.buffer.DataBufferFactory;
 import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.core.io.buffer.DefaultDataBufferFactory;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
 import org.springframework.stereotype.Component;
@@ -35,8 +42,16 @@ import reactor.core.publisher.Mono;
 public class ModifyServersOpenApiFilter implements GlobalFilter, Ordered {
 
     private static final String OPEN_API_PATH = "/v3/api-docs";
+    private static final String SERVERS_FIELD = "servers";
+    private static final int MAX_CACHED_API_DOCS = 256;
+    private static final ObjectMapper MAPPER = new ObjectMapper();
     private static final Logger log = LoggerFactory.getLogger(ModifyServersOpenApiFilter.class);
 
+    /**
+     * The rewritten api-docs, encoded as they are sent, by path, encoding and version of the upstream document.
+     */
+    private final Cache<String, byte[]> rewrittenApiDocs = Caffeine.newBuilder().maximumSize(MAX_CACHED_API_DOCS).build();
+
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
         String path = exchange.getRequest().getURI().getPath();
@@ -70,7 +85,7 @@ public class ModifyServersOpenApiFilter implements GlobalFilter, Ordered {
         private final String path;
         private final ServerHttpResponse originalResponse;
         private final DataBufferFactory bufferFactory;
-        private String rewritedBody = "";
+        private byte[] rewrittenContent;
 
         private ModifyServersOpenApiInterceptor(String path, ServerHttpResponse originalResponse, DataBufferFactory bufferFactory) {
             super(originalResponse);
@@ -79,16 +94,28 @@ public class ModifyServersOpenApiFilter implements GlobalFilter, Ordered {
             this.bufferFactory = bufferFactory;
         }
 
+        /**
+         * The body written by this interceptor, decoded on each call since only its encoded bytes are kept.
+         */
         public String getRewritedBody() {
-            return rewritedBody;
+            return rewrittenContent != null ? contentToString(rewrittenContent) : "";
         }
 
         @Override
         public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
-            rewritedBody = "";
-            if (body instanceof Flux) {
+            rewrittenContent = null;
+            // a 304 or an error has no api-doc to rewrite, nor to replace with the cached one
+            if (body instanceof Flux && isSuccessful()) {
                 Flux<? extends DataBuffer> fluxBody = (Flux<? extends DataBuffer>) body;
 
+                String etag = originalResponse.getHeaders().getETag();
+                byte[] cached = etag != null ? rewrittenApiDocs.getIfPresent(cacheKey("etag:" + etag)) : null;
+                if (cached != null) {
+                    // same upstream document: the body is drained without being read
+                    return fluxBody
+                        .doOnNext(DataBufferUtils::release)
+                        .then(Mono.defer(() -> super.writeWith(Mono.just(toDataBuffer(cached)))));
+                }
                 return super.writeWith(fluxBody.buffer().map(dataBuffers -> rewriteBodyWithServers(dataBuffers)));
             }
             // when body is not a flux
@@ -103,37 +130,95 @@ public class ModifyServersOpenApiFilter implements GlobalFilter, Ordered {
 
             // release memory
             DataBufferUtils.release(join);
-            String strBody = contentToString(content);
+
+            // without an ETag, the upstream document is identified by the length and digest of its raw content
+            String etag = originalResponse.getHeaders().getETag();
+            String cacheKey = cacheKey(etag != null ? "etag:" + etag : "sha256:" + content.length + ':' + digest(content));
+            byte[] cached = rewrittenApiDocs.getIfPresent(cacheKey);
+            if (cached != null) {
+                return toDataBuffer(cached);
+            }
 
             try {
-                // create custom server
-                ObjectMapper mapper = new ObjectMapper();
-                JsonNode jsonBody = mapper.readTree(strBody);
-                ObjectNode serversToJson = mapper.createObjectNode();
-                serversToJson.set("url", mapper.valueToTree(path.replaceFirst(OPEN_API_PATH + "(/.*)?$", "")));
-                serversToJson.set("description", mapper.valueToTree("added by global filter"));
-
-                // add custom server
-                ArrayNode servers = mapper.createArrayNode();
-                servers.add(serversToJson);
-                ((ObjectNode) jsonBody).set("servers", servers);
-
-                rewritedBody = jsonBody.toString();
-                return rewritedBodyToDataBuffer();
-            } catch (JsonProcessingException e) {
+                String rewritten = rewriteServers(contentToString(content));
+                byte[] rewrittenApiDoc = isZippedResponse() ? zipContent(rewritten) : rewritten.getBytes(StandardCharsets.UTF_8);
+                rewrittenApiDocs.put(cacheKey, rewrittenApiDoc);
+                return toDataBuffer(rewrittenApiDoc);
+            } catch (IOException e) {
                 log.error("Error when modify servers from api-doc of {}: {}", path, e.getMessage());
             }
-            return join;
+            return bufferFactory.wrap(content);
         }
 
-        private DataBuffer rewritedBodyToDataBuffer() {
-            if (isZippedResponse()) {
-                byte[] zippedBody = zipContent(rewritedBody);
-                originalResponse.getHeaders().setContentLength(zippedBody.length);
-                return bufferFactory.wrap(zippedBody);
+        /**
+         * Copies the api-doc token by token, only replacing its top-level {@code servers} field.
+         */
+        private String rewriteServers(String strBody) throws IOException {
+            StringWriter writer = new StringWriter(strBody.length() + 128);
+            try (
+                JsonParser parser = MAPPER.getFactory().createParser(strBody);
+                JsonGenerator generator = MAPPER.getFactory().createGenerator(writer)
+            ) {
+                if (parser.nextToken() != JsonToken.START_OBJECT) {
+                    throw new JsonParseException(parser, "api-doc is not a JSON object");
+                }
+                generator.writeStartObject();
+                boolean serversWritten = false;
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String fieldName = parser.getCurrentName();
+                    parser.nextToken();
+                    if (SERVERS_FIELD.equals(fieldName)) {
+                        parser.skipChildren();
+                        writeServers(generator);
+                        serversWritten = true;
+                    } else {
+                        generator.writeFieldName(fieldName);
+                        generator.copyCurrentStructure(parser);
+                    }
+                }
+                if (parser.currentToken() != JsonToken.END_OBJECT) {
+                    throw new JsonParseException(parser, "api-doc is not a complete JSON object");
+                }
+                if (!serversWritten) {
+                    writeServers(generator);
+                }
+                generator.writeEndObject();
+            }
+            return writer.toString();
+        }
+
+        private void writeServers(JsonGenerator generator) throws IOException {
+            // add custom server
+            generator.writeArrayFieldStart(SERVERS_FIELD);
+            generator.writeStartObject();
+            generator.writeStringField("url", path.replaceFirst(OPEN_API_PATH + "(/.*)?$", ""));
+            generator.writeStringField("description", "added by global filter");
+            generator.writeEndObject();
+            generator.writeEndArray();
+        }
+
+        private DataBuffer toDataBuffer(byte[] rewrittenApiDoc) {
+            rewrittenContent = rewrittenApiDoc;
+            originalResponse.getHeaders().setContentLength(rewrittenApiDoc.length);
+            return bufferFactory.wrap(rewrittenApiDoc);
+        }
+
+        private boolean isSuccessful() {
+            Integer status = originalResponse.getRawStatusCode();
+            // the status defaults to 200 when not set
+            return status == null || HttpStatus.Series.resolve(status) == HttpStatus.Series.SUCCESSFUL;
+        }
+
+        private String cacheKey(String version) {
+            return path + '|' + isZippedResponse() + '|' + version;
+        }
+
+        private String digest(byte[] content) {
+            try {
+                return Base64.getEncoder().encodeToString(MessageDigest.getInstance("SHA-256").digest(content));
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 is not available", e);
             }
-            originalResponse.getHeaders().setContentLength(rewritedBody.getBytes().length);
-            return bufferFactory.wrap(rewritedBody.getBytes());
         }
 
         private String contentToString(byte[] content) {
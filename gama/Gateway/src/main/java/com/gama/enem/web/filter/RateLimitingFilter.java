@@ -0,0 +1,255 @@
+package com.gama.enem.web.filter;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+import com.gama.enem.config.ApplicationProperties;
+import com.gama.enem.security.jwt.JWTFilter;
+import com.gama.enem.security.jwt.VerifiedToken;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.ConsumptionProbe;
+import io.github.bucket4j.distributed.proxy.ProxyManager;
+import io.github.bucket4j.local.SynchronizationStrategy;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Limits the rate of the requests routed by the gateway, with a token bucket per route and per user.
+ * <p>
+ * Users are identified by the subject of the token verified by the {@link JWTFilter}, and anonymous requests by their
+ * client IP. Behind the trusted proxies, the client IP is the last address of the {@code X-Forwarded-For} header which
+ * is not a trusted proxy: the addresses before it may be forged by the client.
+ * <p>
+ * A request exceeding the limit of its route is rejected with a {@code 429 Too Many Requests} response, whose
+ * {@code Retry-After} header tells when the bucket has a token again.
+ * <p>
+ * The buckets are either kept in memory by each gateway, as lock-free local buckets, or shared by all the gateways
+ * through a {@link ProxyManager}.
+ */
+public class RateLimitingFilter implements GlobalFilter, Ordered {
+
+    public static final String REMAINING_HEADER = "X-Rate-Limit-Remaining";
+
+    private static final Logger log = LoggerFactory.getLogger(RateLimitingFilter.class);
+
+    private static final String X_FORWARDED_FOR = "X-Forwarded-For";
+
+    /**
+     * IPv4 or IPv6 literals, so that a forwarded address is never resolved as a host name.
+     */
+    private static final Pattern IP_ADDRESS = Pattern.compile(
+        "((25[0-5]|2[0-4]\\d|1?\\d?\\d)\\.){3}(25[0-5]|2[0-4]\\d|1?\\d?\\d)|[0-9a-fA-F]*:[0-9a-fA-F:.]*"
+    );
+
+    private final Bandwidth defaultLimit;
+
+    private final Map<String, Bandwidth> routeLimits = new HashMap<>();
+
+    private final Cache<String, Bucket> localBuckets;
+
+    private final ProxyManager<String> sharedBuckets;
+
+    private final List<AddressRange> trustedProxies;
+
+    /**
+     * Creates a filter keeping the buckets in memory.
+     */
+    public RateLimitingFilter(ApplicationProperties.RateLimit properties) {
+        this(properties, null);
+    }
+
+    /**
+     * Creates a filter keeping the buckets in the given {@link ProxyManager}, or in memory when it is {@code null}.
+     */
+    public RateLimitingFilter(ApplicationProperties.RateLimit properties, ProxyManager<String> sharedBuckets) {
+        this.defaultLimit = bandwidth(properties.getDefaultLimit());
+        for (Map.Entry<String, ApplicationProperties.RateLimit.Limit> route : properties.getRoutes().entrySet()) {
+            this.routeLimits.put(route.getKey(), bandwidth(route.getValue()));
+        }
+        this.trustedProxies = properties.getTrustedProxies().stream().map(AddressRange::new).collect(Collectors.toList());
+        this.sharedBuckets = sharedBuckets;
+        if (sharedBuckets == null) {
+            // A bucket left unused for its whole period is full again: it can be dropped and created anew
+            this.localBuckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxBuckets())
+                .expireAfterAccess(longestPeriod(properties))
+                .build();
+        } else {
+            this.localBuckets = null;
+        }
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        String routeId = route != null ? route.getId() : "";
+        Bandwidth limit = routeLimits.getOrDefault(routeId, defaultLimit);
+        String key = routeId + '|' + clientKey(exchange);
+        if (sharedBuckets == null) {
+            return proceedOrReject(exchange, chain, tryConsume(key, limit));
+        }
+        // The shared buckets are read and written through blocking calls
+        return Mono
+            .fromCallable(() -> tryConsume(key, limit))
+            .subscribeOn(Schedulers.boundedElastic())
+            .flatMap(probe -> proceedOrReject(exchange, chain, probe));
+    }
+
+    @Override
+    public int getOrder() {
+        // Before the other global filters, so that rejected requests cost as little as possible
+        return -2;
+    }
+
+    ConsumptionProbe tryConsume(String key, Bandwidth limit) {
+        Bucket bucket;
+        if (sharedBuckets == null) {
+            bucket = localBuckets.get(key, k -> newLocalBucket(limit));
+        } else {
+            bucket = sharedBuckets.builder().build(key, () -> BucketConfiguration.builder().addLimit(limit).build());
+        }
+        return bucket.tryConsumeAndReturnRemaining(1);
+    }
+
+    private Mono<Void> proceedOrReject(ServerWebExchange exchange, GatewayFilterChain chain, ConsumptionProbe probe) {
+        ServerHttpResponse response = exchange.getResponse();
+        if (probe.isConsumed()) {
+            response.getHeaders().set(REMAINING_HEADER, Long.toString(probe.getRemainingTokens()));
+            return chain.filter(exchange);
+        }
+        long retryAfterSeconds = Math.max(1, (long) Math.ceil(probe.getNanosToWaitForRefill() / (double) TimeUnit.SECONDS.toNanos(1)));
+        log.debug("Rate limit exceeded for {}, retry after {}s", exchange.getRequest().getPath(), retryAfterSeconds);
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.getHeaders().set(REMAINING_HEADER, "0");
+        return response.setComplete();
+    }
+
+    private String clientKey(ServerWebExchange exchange) {
+        VerifiedToken verifiedToken = exchange.getAttribute(JWTFilter.VERIFIED_TOKEN_ATTRIBUTE);
+        if (verifiedToken != null && verifiedToken.getClaims().getSubject() != null) {
+            return "user:" + verifiedToken.getClaims().getSubject();
+        }
+        InetSocketAddress remoteAddress = exchange.getRequest().getRemoteAddress();
+        if (remoteAddress != null && remoteAddress.getAddress() != null) {
+            return "ip:" + clientAddress(exchange.getRequest(), remoteAddress.getAddress()).getHostAddress();
+        }
+        return "ip:unknown";
+    }
+
+    private InetAddress clientAddress(ServerHttpRequest request, InetAddress remoteAddress) {
+        InetAddress clientAddress = remoteAddress;
+        // Each proxy appends the address it received the request from
+        List<String> forwardedFor = request.getHeaders().getValuesAsList(X_FORWARDED_FOR);
+        for (int i = forwardedFor.size() - 1; i >= 0 && isTrustedProxy(clientAddress); i--) {
+            String forwardedIp = forwardedFor.get(i);
+            if (!IP_ADDRESS.matcher(forwardedIp).matches()) {
+                break;
+            }
+            try {
+                clientAddress = InetAddress.getByName(forwardedIp);
+            } catch (UnknownHostException e) {
+                log.debug("Invalid forwarded address {}", forwardedIp);
+                break;
+            }
+        }
+        return clientAddress;
+    }
+
+    private boolean isTrustedProxy(InetAddress address) {
+        for (AddressRange trustedProxy : trustedProxies) {
+            if (trustedProxy.contains(address)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Bucket newLocalBucket(Bandwidth limit) {
+        return Bucket.builder().addLimit(limit).withSynchronizationStrategy(SynchronizationStrategy.LOCK_FREE).build();
+    }
+
+    /**
+     * The longest refill period of the configured limits: a bucket left unused for that long is full again.
+     */
+    public static Duration longestPeriod(ApplicationProperties.RateLimit properties) {
+        Duration longestPeriod = properties.getDefaultLimit().getPeriod();
+        for (ApplicationProperties.RateLimit.Limit limit : properties.getRoutes().values()) {
+            if (limit.getPeriod().compareTo(longestPeriod) > 0) {
+                longestPeriod = limit.getPeriod();
+            }
+        }
+        return longestPeriod;
+    }
+
+    private static Bandwidth bandwidth(ApplicationProperties.RateLimit.Limit limit) {
+        return Bandwidth.simple(limit.getCapacity(), limit.getPeriod());
+    }
+
+    long localBucketCount() {
+        localBuckets.cleanUp();
+        return localBuckets.estimatedSize();
+    }
+
+    /**
+     * An IP address, or a range of addresses in CIDR notation.
+     */
+    private static final class AddressRange {
+
+        private final byte[] network;
+
+        private final int prefixLength;
+
+        AddressRange(String range) {
+            int slash = range.indexOf('/');
+            try {
+                this.network = InetAddress.getByName(slash < 0 ? range : range.substring(0, slash)).getAddress();
+                this.prefixLength = slash < 0 ? network.length * 8 : Integer.parseInt(range.substring(slash + 1));
+            } catch (UnknownHostException | NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid trusted proxy " + range, e);
+            }
+            if (prefixLength < 0 || prefixLength > network.length * 8) {
+                throw new IllegalArgumentException("Invalid trusted proxy " + range);
+            }
+        }
+
+        boolean contains(InetAddress address) {
+            byte[] bytes = address.getAddress();
+            if (bytes.length != network.length) {
+                return false;
+            }
+            int fullBytes = prefixLength / 8;
+            for (int i = 0; i < fullBytes; i++) {
+                if (bytes[i] != network[i]) {
+                    return false;
+                }
+            }
+            int mask = (0xFF00 >> (prefixLength % 8)) & 0xFF;
+            return mask == 0 || (bytes[fullBytes] & mask) == (network[fullBytes] & mask);
+        }
+    }
+}
@@ -2,34 +2,53 @@ package com.gama.enem.web.rest;
 
 import com.gama.enem.security.AuthoritiesConstants;
 import com.gama.enem.web.rest.vm.RouteVM;
-import java.util.ArrayList;
+import java.time.Duration;
 import java.util.List;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.client.discovery.ReactiveDiscoveryClient;
+import org.springframework.cloud.client.discovery.event.HeartbeatEvent;
+import org.springframework.cloud.gateway.event.RefreshRoutesResultEvent;
 import org.springframework.cloud.gateway.route.Route;
 import org.springframework.cloud.gateway.route.RouteLocator;
+import org.springframework.context.event.EventListener;
 import org.springframework.http.*;
 import org.springframework.security.access.annotation.Secured;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 /**
  * REST controller for managing Gateway configuration.
+ * <p>
+ * The routes are served from a snapshot of the route table and of the service instances, taken again after the routes
+ * are refreshed or the discovery client sends a heartbeat.
  */
 @RestController
 @RequestMapping("/api/gateway")
 public class GatewayResource {
 
+    /**
+     * How long a snapshot is served if no event replaces it.
+     */
+    static final Duration SNAPSHOT_TIME_TO_LIVE = Duration.ofMinutes(1);
+
     private final RouteLocator routeLocator;
 
-    private final DiscoveryClient discoveryClient;
+    private final ReactiveDiscoveryClient discoveryClient;
 
-    @Value("${spring.application.name}")
-    private String appName;
+    private final String appName;
 
-    public GatewayResource(RouteLocator routeLocator, DiscoveryClient discoveryClient) {
+    private volatile Mono<List<RouteVM>> routes;
+
+    public GatewayResource(
+        RouteLocator routeLocator,
+        ReactiveDiscoveryClient discoveryClient,
+        @Value("${spring.application.name}") String appName
+    ) {
         this.routeLocator = routeLocator;
         this.discoveryClient = discoveryClient;
+        this.appName = appName;
+        this.routes = snapshot();
     }
 
     /**
@@ -39,23 +58,47 @@ public class GatewayResource {
      */
     @GetMapping("/routes")
     @Secured(AuthoritiesConstants.ADMIN)
-    public ResponseEntity<List<RouteVM>> activeRoutes() {
-        Flux<Route> routes = routeLocator.getRoutes();
-        List<RouteVM> routeVMs = new ArrayList<>();
-        routes.subscribe(route -> {
-            RouteVM routeVM = new RouteVM();
-            // Manipulate strings to make Gateway routes look like Zuul's
-            String predicate = route.getPredicate().toString();
-            String path = predicate.substring(predicate.indexOf("[") + 1, predicate.indexOf("]"));
-            routeVM.setPath(path);
-            String serviceId = route.getId().substring(route.getId().indexOf("_") + 1).toLowerCase();
-            routeVM.setServiceId(serviceId);
+    public Mono<ResponseEntity<List<RouteVM>>> activeRoutes() {
+        return routes.map(ResponseEntity::ok);
+    }
+
+    /**
+     * Replaces the snapshot of the routes when the route table or the service instances may have changed.
+     */
+    @EventListener({ RefreshRoutesResultEvent.class, HeartbeatEvent.class })
+    public void refreshRoutes() {
+        routes = snapshot();
+    }
+
+    private Mono<List<RouteVM>> snapshot() {
+        // Deferred, since the route locator replaces its routes when they are refreshed
+        return Flux
+            .defer(routeLocator::getRoutes)
+            .map(this::toRouteVM)
             // Exclude gateway app from routes
-            if (!serviceId.equalsIgnoreCase(appName)) {
-                routeVM.setServiceInstances(discoveryClient.getInstances(serviceId));
-                routeVMs.add(routeVM);
-            }
-        });
-        return ResponseEntity.ok(routeVMs);
+            .filter(routeVM -> !routeVM.getServiceId().equalsIgnoreCase(appName))
+            .flatMapSequential(routeVM ->
+                discoveryClient
+                    .getInstances(routeVM.getServiceId())
+                    .collectList()
+                    .map(instances -> {
+                        routeVM.setServiceInstances(instances);
+                        return routeVM;
+                    })
+            )
+            .collectList()
+            // Failures are not kept, so that the next request tries again
+            .cache(routeVMs -> SNAPSHOT_TIME_TO_LIVE, error -> Duration.ZERO, () -> Duration.ZERO);
+    }
+
+    private RouteVM toRouteVM(Route route) {
+        RouteVM routeVM = new RouteVM();
+        // Manipulate strings to make Gateway routes look like Zuul's
+        String predicate = route.getPredicate().toString();
+        String path = predicate.substring(predicate.indexOf("[") + 1, predicate.indexOf("]"));
+        routeVM.setPath(path);
+        String serviceId = route.getId().substring(route.getId().indexOf("_") + 1).toLowerCase();
+        routeVM.setServiceId(serviceId);
+        return routeVM;
     }
 }
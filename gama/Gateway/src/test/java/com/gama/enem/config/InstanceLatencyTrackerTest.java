@@ -0,0 +1,135 @@
+package com.gama.enem.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+
+class InstanceLatencyTrackerTest {
+
+    private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final AtomicLong nanoTime = new AtomicLong(1_000 * MILLIS);
+
+    private final ServiceInstance instance = new DefaultServiceInstance("enem-1", "enem", "localhost", 8081, false);
+
+    private InstanceLatencyTracker latencyTracker;
+
+    @BeforeEach
+    void setup() {
+        latencyTracker = new InstanceLatencyTracker(Duration.ofSeconds(10), nanoTime::get);
+    }
+
+    @Test
+    void testUnknownInstanceHasLowestCost() {
+        assertThat(latencyTracker.cost(instance)).isEqualTo(1);
+    }
+
+    @Test
+    void testInstanceIsAvoidedUntilItAnswers() {
+        start();
+
+        assertThat(latencyTracker.cost(instance)).isGreaterThanOrEqualTo(InstanceLatencyTracker.UNANSWERED_PENALTY);
+    }
+
+    @Test
+    void testCostIsLatencyWeightedByRequestsInFlight() {
+        complete(start(), 100 * MILLIS);
+        double cost = latencyTracker.cost(instance);
+        assertThat(cost).isCloseTo(100 * MILLIS, within((double) MILLIS));
+
+        start();
+        start();
+
+        assertThat(latencyTracker.cost(instance)).isCloseTo(3 * cost, within((double) MILLIS));
+    }
+
+    @Test
+    void testLatencyIsMovingAverage() {
+        complete(start(), 100 * MILLIS);
+        // A sample taken one decay time later weighs 1 - 1/e
+        complete(start(), TimeUnit.SECONDS.toNanos(10));
+
+        double expected = (100 * MILLIS) / Math.E + TimeUnit.SECONDS.toNanos(10) * (1 - 1 / Math.E);
+        assertThat(latencyTracker.cost(instance)).isCloseTo(expected, within((double) MILLIS));
+    }
+
+    @Test
+    void testLatencyEstimateFadesWithoutRequests() {
+        complete(start(), 100 * MILLIS);
+
+        nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(50));
+
+        assertThat(latencyTracker.cost(instance)).isLessThan(MILLIS);
+    }
+
+    @Test
+    void testFailedRequestRaisesCost() {
+        complete(start(), 100 * MILLIS);
+        double cost = latencyTracker.cost(instance);
+
+        Request<RequestDataContext> request = start();
+        nanoTime.addAndGet(MILLIS);
+        fail(request);
+
+        assertThat(latencyTracker.cost(instance)).isGreaterThan(cost);
+    }
+
+    @Test
+    void testInstanceFailingFastIsAvoided() {
+        Request<RequestDataContext> request = start();
+        fail(request);
+
+        assertThat(latencyTracker.cost(instance)).isGreaterThanOrEqualTo(InstanceLatencyTracker.FAILURE_PENALTY);
+    }
+
+    @Test
+    void testUnusedInstanceIsForgotten() {
+        complete(start(), 100 * MILLIS);
+        assertThat(latencyTracker.trackedInstanceCount()).isEqualTo(1);
+
+        nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(60));
+
+        assertThat(latencyTracker.trackedInstanceCount()).isZero();
+    }
+
+    @Test
+    void testDiscardedRequestIsNotSampled() {
+        Request<RequestDataContext> request = start();
+        latencyTracker.onComplete(new CompletionContext<>(CompletionContext.Status.DISCARD, request, new DefaultResponse(instance)));
+
+        assertThat(latencyTracker.cost(instance)).isEqualTo(1);
+    }
+
+    private Request<RequestDataContext> start() {
+        Request<RequestDataContext> request = new DefaultRequest<>(new RequestDataContext());
+        latencyTracker.onStart(request);
+        latencyTracker.onStartRequest(request, new DefaultResponse(instance));
+        return request;
+    }
+
+    private void fail(Request<RequestDataContext> request) {
+        Response<ServiceInstance> response = new DefaultResponse(instance);
+        IOException error = new IOException("Connection refused");
+        latencyTracker.onComplete(new CompletionContext<>(CompletionContext.Status.FAILED, error, request, response));
+    }
+
+    private void complete(Request<RequestDataContext> request, long latency) {
+        nanoTime.addAndGet(latency);
+        Response<ServiceInstance> response = new DefaultResponse(instance);
+        latencyTracker.onComplete(new CompletionContext<>(CompletionContext.Status.SUCCESS, request, response));
+    }
+}
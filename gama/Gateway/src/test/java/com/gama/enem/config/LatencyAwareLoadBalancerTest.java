@@ -0,0 +1,203 @@
+package com.gama.enem.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.ServiceInstanceListSuppliers;
+
+class LatencyAwareLoadBalancerTest {
+
+    private static final String SERVICE_ID = "enem";
+
+    private final List<HttpServer> servers = new ArrayList<>();
+
+    private final Map<String, AtomicInteger> requestCounts = new ConcurrentHashMap<>();
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @AfterEach
+    void stopServers() {
+        servers.forEach(server -> server.stop(0));
+    }
+
+    @Test
+    void testSlowInstanceIsAvoided() throws Exception {
+        ServiceInstance[] instances = {
+            stubInstance("fast-1", Duration.ZERO),
+            stubInstance("fast-2", Duration.ZERO),
+            stubInstance("slow", Duration.ofMillis(100)),
+        };
+        // Keeps the connection setup and the warm-up of the client out of the latencies
+        for (ServiceInstance instance : instances) {
+            send(instance);
+            requestCounts.get(instance.getInstanceId()).set(0);
+        }
+        InstanceLatencyTracker latencyTracker = new InstanceLatencyTracker(Duration.ofSeconds(1));
+        LatencyAwareLoadBalancer loadBalancer = new LatencyAwareLoadBalancer(provider(instances), SERVICE_ID, latencyTracker);
+
+        int clients = 4;
+        int requestsPerClient = 50;
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < clients; i++) {
+                futures.add(
+                    executor.submit(() -> {
+                        for (int j = 0; j < requestsPerClient; j++) {
+                            route(loadBalancer, latencyTracker);
+                        }
+                        return null;
+                    })
+                );
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Round robin would send it a third of the requests
+        assertThat(requestCounts.get("slow").get()).isLessThan(clients * requestsPerClient / 10);
+    }
+
+    @Test
+    void testInstanceRefusingConnectionsIsAvoided() throws Exception {
+        ServiceInstance[] instances = {
+            stubInstance("fast-1", Duration.ZERO),
+            stubInstance("fast-2", Duration.ZERO),
+            refusingInstance("refusing"),
+        };
+        InstanceLatencyTracker latencyTracker = new InstanceLatencyTracker(Duration.ofSeconds(1));
+        LatencyAwareLoadBalancer loadBalancer = new LatencyAwareLoadBalancer(provider(instances), SERVICE_ID, latencyTracker);
+
+        int requests = 200;
+        int refused = 0;
+        for (int i = 0; i < requests; i++) {
+            if (route(loadBalancer, latencyTracker).getInstanceId().equals("refusing")) {
+                refused++;
+            }
+        }
+
+        // Failing fast, it would get most of the requests if its failures counted as short latencies
+        assertThat(refused).isLessThan(requests / 10);
+    }
+
+    @Test
+    void testSingleInstanceIsChosen() {
+        ServiceInstance instance = new DefaultServiceInstance("enem-1", SERVICE_ID, "localhost", 8081, false);
+        LatencyAwareLoadBalancer loadBalancer = new LatencyAwareLoadBalancer(
+            provider(instance),
+            SERVICE_ID,
+            new InstanceLatencyTracker(Duration.ofSeconds(10))
+        );
+
+        assertThat(loadBalancer.choose(Collections.singletonList(instance)).getServer()).isEqualTo(instance);
+        assertThat(loadBalancer.choose(Collections.emptyList()).hasServer()).isFalse();
+    }
+
+    @Test
+    void testStrategyIsSelectedPerService() {
+        ApplicationProperties.LoadBalancer properties = new ApplicationProperties().getLoadBalancer();
+        properties.getServices().put(SERVICE_ID, ApplicationProperties.LoadBalancer.Strategy.LATENCY_AWARE);
+
+        assertThat(LoadBalancerConfiguration.strategy(properties, "ENEM"))
+            .isEqualTo(ApplicationProperties.LoadBalancer.Strategy.LATENCY_AWARE);
+        assertThat(LoadBalancerConfiguration.strategy(properties, "other"))
+            .isEqualTo(ApplicationProperties.LoadBalancer.Strategy.ROUND_ROBIN);
+    }
+
+    /**
+     * Sends a request the way the gateway does, calling the tracker back around it.
+     *
+     * @return the instance the request was sent to.
+     */
+    private ServiceInstance route(LatencyAwareLoadBalancer loadBalancer, InstanceLatencyTracker latencyTracker) throws Exception {
+        Request<RequestDataContext> request = new DefaultRequest<>(new RequestDataContext());
+        latencyTracker.onStart(request);
+        Response<ServiceInstance> response = loadBalancer.choose(request).block();
+        latencyTracker.onStartRequest(request, response);
+        try {
+            send(response.getServer());
+        } catch (IOException e) {
+            latencyTracker.onComplete(new CompletionContext<>(CompletionContext.Status.FAILED, e, request, response));
+            return response.getServer();
+        }
+        latencyTracker.onComplete(new CompletionContext<>(CompletionContext.Status.SUCCESS, request, response));
+        return response.getServer();
+    }
+
+    private void send(ServiceInstance instance) throws IOException, InterruptedException {
+        httpClient.send(HttpRequest.newBuilder(instance.getUri()).build(), HttpResponse.BodyHandlers.discarding());
+    }
+
+    private ServiceInstance stubInstance(String instanceId, Duration latency) throws IOException {
+        AtomicInteger requestCount = new AtomicInteger();
+        requestCounts.put(instanceId, requestCount);
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext(
+            "/",
+            exchange -> {
+                requestCount.incrementAndGet();
+                try {
+                    Thread.sleep(latency.toMillis());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                // The stub server does not handle the reuse of its connections reliably
+                exchange.getResponseHeaders().set("Connection", "close");
+                exchange.sendResponseHeaders(200, -1);
+                exchange.close();
+            }
+        );
+        server.start();
+        servers.add(server);
+        return new DefaultServiceInstance(instanceId, SERVICE_ID, "localhost", server.getAddress().getPort(), false);
+    }
+
+    /**
+     * An instance on a port nobody listens on.
+     */
+    private static ServiceInstance refusingInstance(String instanceId) throws IOException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0, 0, InetAddress.getLoopbackAddress())) {
+            port = socket.getLocalPort();
+        }
+        return new DefaultServiceInstance(instanceId, SERVICE_ID, "127.0.0.1", port, false);
+    }
+
+    private static ObjectProvider<ServiceInstanceListSupplier> provider(ServiceInstance... instances) {
+        ServiceInstanceListSupplier supplier = ServiceInstanceListSuppliers.from(SERVICE_ID, instances);
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory(Collections.singletonMap("supplier", supplier));
+        return beanFactory.getBeanProvider(ServiceInstanceListSupplier.class);
+    }
+}
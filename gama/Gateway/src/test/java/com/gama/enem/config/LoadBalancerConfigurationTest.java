@@ -0,0 +1,90 @@
+package com.gama.enem.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerClientsProperties;
+import org.springframework.cloud.gateway.config.GatewayLoadBalancerProperties;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClientSpecification;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.cloud.loadbalancer.support.ServiceInstanceListSuppliers;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+class LoadBalancerConfigurationTest {
+
+    private static final String SERVICE_ID = "enem";
+
+    private final ServiceInstance instance = new DefaultServiceInstance("enem-1", SERVICE_ID, "localhost", 8081, false);
+
+    private AnnotationConfigApplicationContext context;
+
+    @BeforeEach
+    void setup() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getLoadBalancer().getServices().put(SERVICE_ID, ApplicationProperties.LoadBalancer.Strategy.LATENCY_AWARE);
+        context = new AnnotationConfigApplicationContext();
+        context.registerBean(ApplicationProperties.class, () -> applicationProperties);
+        context.registerBean(ServiceInstanceListSupplier.class, () -> ServiceInstanceListSuppliers.from(SERVICE_ID, instance));
+    }
+
+    @AfterEach
+    void close() {
+        context.close();
+    }
+
+    @Test
+    void testServiceBeansAreNotInTheMainContext() {
+        context.register(LoadBalancerConfiguration.class);
+        context.refresh();
+
+        assertThat(context.getBeansOfType(InstanceLatencyTracker.class)).isEmpty();
+        assertThat(context.getBeanNamesForType(ServiceLoadBalancerConfiguration.class)).isEmpty();
+    }
+
+    @Test
+    void testTrackerIsCalledBackForRoutedRequests() {
+        LoadBalancerClientFactory loadBalancerClientFactory = new LoadBalancerClientFactory(new LoadBalancerClientsProperties());
+        loadBalancerClientFactory.setConfigurations(
+            Collections.singletonList(
+                new LoadBalancerClientSpecification("default." + LoadBalancerConfiguration.class.getName(), new Class<?>[] {
+                    ServiceLoadBalancerConfiguration.class,
+                })
+            )
+        );
+        context.registerBean(LoadBalancerClientFactory.class, () -> loadBalancerClientFactory);
+        context.refresh();
+        ReactiveLoadBalancerClientFilter filter = new ReactiveLoadBalancerClientFilter(
+            loadBalancerClientFactory,
+            new GatewayLoadBalancerProperties()
+        );
+        GatewayFilterChain filterChain = mock(GatewayFilterChain.class);
+        when(filterChain.filter(any())).thenReturn(Mono.delay(Duration.ofMillis(50)).then());
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/services/enem/api"));
+        exchange.getAttributes().put(GATEWAY_REQUEST_URL_ATTR, URI.create("lb://" + SERVICE_ID + "/api"));
+
+        filter.filter(exchange, filterChain).block();
+
+        assertThat(loadBalancerClientFactory.getInstance(SERVICE_ID)).isInstanceOf(LatencyAwareLoadBalancer.class);
+        InstanceLatencyTracker latencyTracker = loadBalancerClientFactory.getInstance(SERVICE_ID, InstanceLatencyTracker.class);
+        // The latency of the request was sampled
+        assertThat(latencyTracker.cost(instance)).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(50));
+    }
+}
@@ -0,0 +1,51 @@
+package com.gama.enem.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import javax.cache.CacheManager;
+import javax.cache.configuration.MutableConfiguration;
+import javax.cache.expiry.ExpiryPolicy;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+class RateLimitingConfigurationTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testBucketsExpireAfterTheLongestPeriod() {
+        ApplicationProperties.RateLimit rateLimit = new ApplicationProperties.RateLimit();
+        rateLimit.getDefaultLimit().setPeriod(Duration.ofSeconds(1));
+        ApplicationProperties.RateLimit.Limit routeLimit = new ApplicationProperties.RateLimit.Limit();
+        routeLimit.setPeriod(Duration.ofMinutes(1));
+        rateLimit.getRoutes().put("enem", routeLimit);
+        CacheManager cacheManager = mock(CacheManager.class);
+
+        RateLimitingConfiguration.bucketsCache(cacheManager, rateLimit);
+
+        ArgumentCaptor<MutableConfiguration<String, byte[]>> configuration = ArgumentCaptor.forClass(MutableConfiguration.class);
+        verify(cacheManager).createCache(eq(rateLimit.getCacheName()), configuration.capture());
+        ExpiryPolicy expiryPolicy = configuration.getValue().getExpiryPolicyFactory().create();
+        assertThat(expiryPolicy.getExpiryForCreation()).isEqualTo(new javax.cache.expiry.Duration(TimeUnit.MINUTES, 1));
+        assertThat(expiryPolicy.getExpiryForUpdate()).isEqualTo(new javax.cache.expiry.Duration(TimeUnit.MINUTES, 1));
+    }
+
+    @Test
+    void testJCacheStorageNeedsACacheManager() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getRateLimit().setStorage(ApplicationProperties.RateLimit.Storage.JCACHE);
+
+        assertThatThrownBy(() ->
+                new RateLimitingConfiguration()
+                    .rateLimitingFilter(applicationProperties, new StaticListableBeanFactory().getBeanProvider(CacheManager.class))
+            )
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("CacheManager");
+    }
+}
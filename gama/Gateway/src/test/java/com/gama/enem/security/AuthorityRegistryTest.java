@@ -0,0 +1,36 @@
+package com.gama.enem.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+class AuthorityRegistryTest {
+
+    @Test
+    void testClaimIsSplit() {
+        assertThat(AuthorityRegistry.forClaim("ROLE_ADMIN,,ROLE_USER"))
+            .extracting(GrantedAuthority::getAuthority)
+            .containsExactly(AuthoritiesConstants.ADMIN, AuthoritiesConstants.USER);
+        assertThat(AuthorityRegistry.forClaim("")).isEmpty();
+        assertThat(AuthorityRegistry.forClaim(null)).isEmpty();
+    }
+
+    @Test
+    void testSetsAreShared() {
+        assertThat(AuthorityRegistry.forClaim("ROLE_ADMIN,ROLE_USER")).isSameAs(AuthorityRegistry.forClaim("ROLE_ADMIN,ROLE_USER"));
+        assertThat(AuthorityRegistry.forClaim(AuthoritiesConstants.USER).iterator().next())
+            .isSameAs(AuthorityRegistry.forClaim("ROLE_ADMIN,ROLE_USER").stream().skip(1).findFirst().get());
+    }
+
+    @Test
+    void testSetsAreImmutable() {
+        Set<GrantedAuthority> authorities = AuthorityRegistry.forClaim(AuthoritiesConstants.USER);
+
+        assertThatExceptionOfType(UnsupportedOperationException.class)
+            .isThrownBy(() -> authorities.add(new SimpleGrantedAuthority(AuthoritiesConstants.ADMIN)));
+    }
+}
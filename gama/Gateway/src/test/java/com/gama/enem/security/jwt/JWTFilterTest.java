@@ -2,6 +2,7 @@ package com.gama.enem.security.jwt;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import com.gama.enem.config.ApplicationProperties;
 import com.gama.enem.management.SecurityMetersService;
 import com.gama.enem.security.AuthoritiesConstants;
 import io.jsonwebtoken.io.Decoders;
@@ -34,7 +35,7 @@ class JWTFilterTest {
 
         SecurityMetersService securityMetersService = new SecurityMetersService(new SimpleMeterRegistry());
 
-        tokenProvider = new TokenProvider(jHipsterProperties, securityMetersService);
+        tokenProvider = new TokenProvider(jHipsterProperties, new ApplicationProperties(), securityMetersService);
         ReflectionTestUtils.setField(tokenProvider, "key", Keys.hmacShaKeyFor(Decoders.BASE64.decode(base64Secret)));
 
         ReflectionTestUtils.setField(tokenProvider, "tokenValidityInMilliseconds", 60000);
@@ -68,6 +69,25 @@ class JWTFilterTest {
             .block();
     }
 
+    @Test
+    void testJWTFilterKeepsVerifiedToken() {
+        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+            "test-user",
+            "test-password",
+            Collections.singletonList(new SimpleGrantedAuthority(AuthoritiesConstants.USER))
+        );
+        String jwt = tokenProvider.createToken(authentication, false);
+        MockServerHttpRequest.BaseBuilder request = MockServerHttpRequest
+            .get("/api/test")
+            .header(JWTFilter.AUTHORIZATION_HEADER, "Bearer " + jwt);
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        jwtFilter.filter(exchange, it -> Mono.empty()).block();
+
+        VerifiedToken verifiedToken = exchange.getAttribute(JWTFilter.VERIFIED_TOKEN_ATTRIBUTE);
+        assertThat(verifiedToken).isNotNull();
+        assertThat(verifiedToken.getClaims().getSubject()).isEqualTo("test-user");
+    }
+
     @Test
     void testJWTFilterInvalidToken() {
         String jwt = "wrong_jwt";
@@ -2,6 +2,7 @@ package com.gama.enem.security.jwt;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import com.gama.enem.config.ApplicationProperties;
 import com.gama.enem.management.SecurityMetersService;
 import com.gama.enem.security.AuthoritiesConstants;
 import io.jsonwebtoken.Jwts;
@@ -43,7 +44,7 @@ class TokenProviderSecurityMetersTests {
 
         SecurityMetersService securityMetersService = new SecurityMetersService(meterRegistry);
 
-        tokenProvider = new TokenProvider(jHipsterProperties, securityMetersService);
+        tokenProvider = new TokenProvider(jHipsterProperties, new ApplicationProperties(), securityMetersService);
         Key key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(base64Secret));
 
         ReflectionTestUtils.setField(tokenProvider, "key", key);
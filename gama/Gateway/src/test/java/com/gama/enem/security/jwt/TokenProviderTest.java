@@ -2,6 +2,7 @@ package com.gama.enem.security.jwt;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import com.gama.enem.config.ApplicationProperties;
 import com.gama.enem.management.SecurityMetersService;
 import com.gama.enem.security.AuthoritiesConstants;
 import io.jsonwebtoken.Jwts;
@@ -36,7 +37,7 @@ class TokenProviderTest {
 
         SecurityMetersService securityMetersService = new SecurityMetersService(new SimpleMeterRegistry());
 
-        tokenProvider = new TokenProvider(jHipsterProperties, securityMetersService);
+        tokenProvider = new TokenProvider(jHipsterProperties, new ApplicationProperties(), securityMetersService);
         key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(base64Secret));
 
         ReflectionTestUtils.setField(tokenProvider, "key", key);
@@ -88,6 +89,67 @@ class TokenProviderTest {
         assertThat(isTokenValid).isFalse();
     }
 
+    @Test
+    void testVerifiedTokenIsReused() {
+        String token = tokenProvider.createToken(createAuthentication(), false);
+
+        VerifiedToken verifiedToken = tokenProvider.verify(token);
+
+        assertThat(verifiedToken).isNotNull();
+        assertThat(verifiedToken.getAuthentication(token).getName()).isEqualTo("anonymous");
+        assertThat(verifiedToken.getClaims().getSubject()).isEqualTo("anonymous");
+        assertThat(tokenProvider.verify(new String(token))).isSameAs(verifiedToken);
+    }
+
+    @Test
+    void testEachRequestHasItsOwnAuthentication() {
+        String token = tokenProvider.createToken(createAuthentication(), false);
+        VerifiedToken verifiedToken = tokenProvider.verify(token);
+
+        Authentication authentication = verifiedToken.getAuthentication(token);
+        Authentication otherAuthentication = tokenProvider.verify(token).getAuthentication(token);
+
+        assertThat(otherAuthentication).isNotSameAs(authentication).isEqualTo(authentication);
+        assertThat(otherAuthentication.getCredentials()).isEqualTo(token);
+        // Erasing the credentials of a request does not affect the others
+        ((UsernamePasswordAuthenticationToken) authentication).eraseCredentials();
+        assertThat(otherAuthentication.getCredentials()).isEqualTo(token);
+    }
+
+    @Test
+    void testInvalidTokenIsNotVerified() {
+        assertThat(tokenProvider.verify(createTokenWithDifferentSignature())).isNull();
+        assertThat(tokenProvider.verify("")).isNull();
+    }
+
+    @Test
+    void testVerifiedTokenIsNotReusedWhenCacheIsDisabled() {
+        JHipsterProperties jHipsterProperties = new JHipsterProperties();
+        jHipsterProperties
+            .getSecurity()
+            .getAuthentication()
+            .getJwt()
+            .setBase64Secret("fd54a45s65fds737b9aafcb3412e07ed99b267f33413274720ddbb7f6c5e64e9f14075f2d7ed041592f0b7657baf8");
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getSecurity().getJwtCache().setEnabled(false);
+        TokenProvider tokenProvider = new TokenProvider(
+            jHipsterProperties,
+            applicationProperties,
+            new SecurityMetersService(new SimpleMeterRegistry())
+        );
+        String token = tokenProvider.createToken(createAuthentication(), false);
+
+        assertThat(tokenProvider.verify(token)).isNotNull().isNotSameAs(tokenProvider.verify(token));
+    }
+
+    @Test
+    void testDigestsAreEqualForEqualTokens() {
+        assertThat(TokenProvider.digest("token")).isEqualTo(TokenProvider.digest(new String("token")));
+        assertThat(TokenProvider.digest("token")).isNotEqualTo(TokenProvider.digest("tokem"));
+        // Not valid in a JWT, but must not be mistaken for one another
+        assertThat(TokenProvider.digest("tok\u00e9n")).isNotEqualTo(TokenProvider.digest("tok\u00e8n"));
+    }
+
     @Test
     void testKeyIsSetFromSecretWhenSecretIsNotEmpty() {
         final String secret = "NwskoUmKHZtzGRKJKVjsJF7BtQMMxNWi";
@@ -96,7 +158,7 @@ class TokenProviderTest {
 
         SecurityMetersService securityMetersService = new SecurityMetersService(new SimpleMeterRegistry());
 
-        TokenProvider tokenProvider = new TokenProvider(jHipsterProperties, securityMetersService);
+        TokenProvider tokenProvider = new TokenProvider(jHipsterProperties, new ApplicationProperties(), securityMetersService);
 
         Key key = (Key) ReflectionTestUtils.getField(tokenProvider, "key");
         assertThat(key).isNotNull().isEqualTo(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)));
@@ -110,7 +172,7 @@ class TokenProviderTest {
 
         SecurityMetersService securityMetersService = new SecurityMetersService(new SimpleMeterRegistry());
 
-        TokenProvider tokenProvider = new TokenProvider(jHipsterProperties, securityMetersService);
+        TokenProvider tokenProvider = new TokenProvider(jHipsterProperties, new ApplicationProperties(), securityMetersService);
 
         Key key = (Key) ReflectionTestUtils.getField(tokenProvider, "key");
         assertThat(key).isNotNull().isEqualTo(Keys.hmacShaKeyFor(Decoders.BASE64.decode(base64Secret)));
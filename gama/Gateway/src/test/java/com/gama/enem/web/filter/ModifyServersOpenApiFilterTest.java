@@ -17,6 +17,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
 import org.springframework.mock.web.server.MockServerWebExchange;
 import org.springframework.web.server.ServerWebExchange;
@@ -135,6 +136,101 @@ class ModifyServersOpenApiFilterTest {
             assertThat(interceptor.getRewritedBody()).isEmpty();
         }
 
+        @Test
+        void shouldOnlyReplaceServersWhenBodyHasOtherFields() {
+            ModifyServersOpenApiFilter.ModifyServersOpenApiInterceptor interceptor = modifyServersOpenApiFilter.createModifyServersOpenApiInterceptor(
+                path,
+                exchange.getResponse(),
+                exchange.getResponse().bufferFactory()
+            );
+
+            byte[] bytes = "{\"openapi\":\"3.0.1\",\"servers\":[{\"url\":\"http://localhost:8081\"}],\"paths\":{\"/api\":{}}}".getBytes();
+            DataBuffer body = exchange.getResponse().bufferFactory().wrap(bytes);
+            interceptor.writeWith(Flux.just(body)).subscribe();
+            assertThat(interceptor.getRewritedBody())
+                .isEqualTo(
+                    "{\"openapi\":\"3.0.1\"," +
+                    "\"servers\":[{\"url\":\"/services/service-test/instance-test\",\"description\":\"added by global filter\"}]," +
+                    "\"paths\":{\"/api\":{}}}"
+                );
+        }
+
+        @Test
+        void shouldServeCachedBodyWhenETagIsUnchanged() {
+            exchange.getResponse().getHeaders().setETag("\"v1\"");
+            modifyServersOpenApiFilter
+                .createModifyServersOpenApiInterceptor(path, exchange.getResponse(), exchange.getResponse().bufferFactory())
+                .writeWith(Flux.just(exchange.getResponse().bufferFactory().wrap("{\"info\":\"v1\"}".getBytes())))
+                .subscribe();
+
+            ServerWebExchange nextExchange = MockServerWebExchange.from(MockServerHttpRequest.get(path).build());
+            nextExchange.getResponse().getHeaders().setETag("\"v1\"");
+            ModifyServersOpenApiFilter.ModifyServersOpenApiInterceptor interceptor = modifyServersOpenApiFilter.createModifyServersOpenApiInterceptor(
+                path,
+                nextExchange.getResponse(),
+                nextExchange.getResponse().bufferFactory()
+            );
+            interceptor.writeWith(Flux.just(nextExchange.getResponse().bufferFactory().wrap("{\"info\":\"v2\"}".getBytes()))).subscribe();
+
+            assertThat(interceptor.getRewritedBody()).contains("\"info\":\"v1\"");
+            assertThat(nextExchange.getResponse().getHeaders().getContentLength()).isEqualTo(interceptor.getRewritedBody().length());
+        }
+
+        @Test
+        void shouldNotServeCachedBodyWhenNotModified() {
+            exchange.getResponse().getHeaders().setETag("\"v1\"");
+            modifyServersOpenApiFilter
+                .createModifyServersOpenApiInterceptor(path, exchange.getResponse(), exchange.getResponse().bufferFactory())
+                .writeWith(Flux.just(exchange.getResponse().bufferFactory().wrap("{\"info\":\"v1\"}".getBytes())))
+                .subscribe();
+
+            MockServerWebExchange nextExchange = MockServerWebExchange.from(MockServerHttpRequest.get(path).build());
+            nextExchange.getResponse().setStatusCode(HttpStatus.NOT_MODIFIED);
+            nextExchange.getResponse().getHeaders().setETag("\"v1\"");
+            ModifyServersOpenApiFilter.ModifyServersOpenApiInterceptor interceptor = modifyServersOpenApiFilter.createModifyServersOpenApiInterceptor(
+                path,
+                nextExchange.getResponse(),
+                nextExchange.getResponse().bufferFactory()
+            );
+            interceptor.writeWith(Flux.empty()).block();
+
+            assertThat(interceptor.getRewritedBody()).isEmpty();
+            assertThat(nextExchange.getResponse().getHeaders().getContentLength()).isEqualTo(-1);
+            assertThat(nextExchange.getResponse().getBodyAsString().block()).isEmpty();
+        }
+
+        @Test
+        void shouldRewriteBodyAgainWhenBodyChangesWithoutETag() {
+            modifyServersOpenApiFilter
+                .createModifyServersOpenApiInterceptor(path, exchange.getResponse(), exchange.getResponse().bufferFactory())
+                .writeWith(Flux.just(exchange.getResponse().bufferFactory().wrap("{\"info\":\"v1\"}".getBytes())))
+                .subscribe();
+
+            ServerWebExchange nextExchange = MockServerWebExchange.from(MockServerHttpRequest.get(path).build());
+            ModifyServersOpenApiFilter.ModifyServersOpenApiInterceptor interceptor = modifyServersOpenApiFilter.createModifyServersOpenApiInterceptor(
+                path,
+                nextExchange.getResponse(),
+                nextExchange.getResponse().bufferFactory()
+            );
+            interceptor.writeWith(Flux.just(nextExchange.getResponse().bufferFactory().wrap("{\"info\":\"v2\"}".getBytes()))).subscribe();
+
+            assertThat(interceptor.getRewritedBody()).contains("\"info\":\"v2\"");
+        }
+
+        @Test
+        void shouldNotRewriteBodyWhenBodyIsNotJsonObject() {
+            ModifyServersOpenApiFilter.ModifyServersOpenApiInterceptor interceptor = modifyServersOpenApiFilter.createModifyServersOpenApiInterceptor(
+                path,
+                exchange.getResponse(),
+                exchange.getResponse().bufferFactory()
+            );
+
+            byte[] bytes = "[{}]".getBytes();
+            DataBuffer body = exchange.getResponse().bufferFactory().wrap(bytes);
+            interceptor.writeWith(Flux.just(body)).subscribe();
+            assertThat(interceptor.getRewritedBody()).isEmpty();
+        }
+
         private byte[] zipContent() {
             try {
                 ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream("{}".length());
@@ -0,0 +1,231 @@
+package com.gama.enem.web.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+import com.gama.enem.config.ApplicationProperties;
+import com.gama.enem.management.SecurityMetersService;
+import com.gama.enem.security.AuthoritiesConstants;
+import com.gama.enem.security.jwt.JWTFilter;
+import com.gama.enem.security.jwt.TokenProvider;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.ConsumptionProbe;
+import io.github.bucket4j.distributed.BucketProxy;
+import io.github.bucket4j.distributed.proxy.ProxyManager;
+import io.github.bucket4j.distributed.proxy.RemoteBucketBuilder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+import tech.jhipster.config.JHipsterProperties;
+
+class RateLimitingFilterTest {
+
+    private static final Logger log = LoggerFactory.getLogger(RateLimitingFilterTest.class);
+
+    private final GatewayFilterChain filterChain = mock(GatewayFilterChain.class);
+
+    private ApplicationProperties.RateLimit properties;
+
+    @BeforeEach
+    void setup() {
+        when(filterChain.filter(any())).thenReturn(Mono.empty());
+        properties = new ApplicationProperties().getRateLimit();
+        properties.getDefaultLimit().setCapacity(2);
+        properties.getDefaultLimit().setPeriod(Duration.ofSeconds(1));
+    }
+
+    @Test
+    void testRequestsBeyondTheLimitAreRejected() {
+        RateLimitingFilter filter = new RateLimitingFilter(properties);
+
+        MockServerWebExchange first = exchange("route", "10.0.0.1");
+        filter.filter(first, filterChain).block();
+        filter.filter(exchange("route", "10.0.0.1"), filterChain).block();
+        MockServerWebExchange rejected = exchange("route", "10.0.0.1");
+        filter.filter(rejected, filterChain).block();
+
+        verify(filterChain, times(2)).filter(any());
+        assertThat(first.getResponse().getHeaders().getFirst(RateLimitingFilter.REMAINING_HEADER)).isEqualTo("1");
+        assertThat(rejected.getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(rejected.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+    }
+
+    @Test
+    void testClientsAndRoutesHaveTheirOwnBuckets() {
+        RateLimitingFilter filter = new RateLimitingFilter(properties);
+
+        for (int i = 0; i < 2; i++) {
+            filter.filter(exchange("route", "10.0.0.1"), filterChain).block();
+            filter.filter(exchange("route", "10.0.0.2"), filterChain).block();
+            filter.filter(exchange("other", "10.0.0.1"), filterChain).block();
+        }
+
+        verify(filterChain, times(6)).filter(any());
+        assertThat(filter.localBucketCount()).isEqualTo(3);
+    }
+
+    @Test
+    void testClientsBehindTrustedProxiesHaveTheirOwnBuckets() {
+        properties.getTrustedProxies().add("10.0.0.0/8");
+        RateLimitingFilter filter = new RateLimitingFilter(properties);
+
+        filter.filter(exchange("route", "10.0.0.1", "203.0.113.1"), filterChain).block();
+        filter.filter(exchange("route", "10.0.0.2", "203.0.113.2, 10.0.0.3"), filterChain).block();
+        // The addresses set by the client itself are ignored
+        filter.filter(exchange("route", "10.0.0.1", "198.51.100.1, 203.0.113.1"), filterChain).block();
+        MockServerWebExchange rejected = exchange("route", "10.0.0.2", "198.51.100.2, 203.0.113.1");
+        filter.filter(rejected, filterChain).block();
+
+        assertThat(filter.localBucketCount()).isEqualTo(2);
+        assertThat(rejected.getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    @Test
+    void testForwardedAddressesOfUntrustedClientsAreIgnored() {
+        RateLimitingFilter filter = new RateLimitingFilter(properties);
+
+        filter.filter(exchange("route", "10.0.0.1", "203.0.113.1"), filterChain).block();
+        filter.filter(exchange("route", "10.0.0.1", "203.0.113.2"), filterChain).block();
+        filter.filter(exchange("route", "10.0.0.1", "not-an-address"), filterChain).block();
+
+        verify(filterChain, times(2)).filter(any());
+        assertThat(filter.localBucketCount()).isEqualTo(1);
+    }
+
+    @Test
+    void testAuthenticatedUsersAreLimitedBySubject() {
+        RateLimitingFilter filter = new RateLimitingFilter(properties);
+        String jwt = createToken("test-user");
+        TokenProvider tokenProvider = tokenProvider();
+
+        for (String ip : new String[] { "10.0.0.1", "10.0.0.2", "10.0.0.3" }) {
+            MockServerWebExchange exchange = exchange("route", ip);
+            exchange.getAttributes().put(JWTFilter.VERIFIED_TOKEN_ATTRIBUTE, tokenProvider.verify(jwt));
+            filter.filter(exchange, filterChain).block();
+        }
+
+        verify(filterChain, times(2)).filter(any());
+        assertThat(filter.localBucketCount()).isEqualTo(1);
+    }
+
+    @Test
+    void testRouteLimitOverridesTheDefaultOne() {
+        ApplicationProperties.RateLimit.Limit limit = new ApplicationProperties.RateLimit.Limit();
+        limit.setCapacity(1);
+        limit.setPeriod(Duration.ofMinutes(1));
+        properties.getRoutes().put("limited", limit);
+        RateLimitingFilter filter = new RateLimitingFilter(properties);
+
+        filter.filter(exchange("limited", "10.0.0.1"), filterChain).block();
+        MockServerWebExchange rejected = exchange("limited", "10.0.0.1");
+        filter.filter(rejected, filterChain).block();
+
+        assertThat(rejected.getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(rejected.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("60");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testSharedBucketsAreUsedWhenConfigured() {
+        ProxyManager<String> proxyManager = mock(ProxyManager.class);
+        RemoteBucketBuilder<String> builder = mock(RemoteBucketBuilder.class);
+        BucketProxy bucket = mock(BucketProxy.class);
+        when(proxyManager.builder()).thenReturn(builder);
+        when(builder.build(eq("route|ip:10.0.0.1"), any(Supplier.class))).thenReturn(bucket);
+        when(bucket.tryConsumeAndReturnRemaining(1)).thenReturn(ConsumptionProbe.rejected(0, 2_500_000_000L, 2_500_000_000L));
+        RateLimitingFilter filter = new RateLimitingFilter(properties, proxyManager);
+
+        MockServerWebExchange rejected = exchange("route", "10.0.0.1");
+        filter.filter(rejected, filterChain).block();
+
+        verify(filterChain, times(0)).filter(any());
+        assertThat(rejected.getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(rejected.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("3");
+    }
+
+    @Test
+    // Depends on the load of the machine: only run with the benchmark profile
+    @Tag("benchmark")
+    void testBucketCheckOverhead() {
+        RateLimitingFilter filter = new RateLimitingFilter(properties);
+        Bandwidth limit = Bandwidth.simple(1_000_000, Duration.ofSeconds(1));
+        String[] keys = new String[1000];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = "route|ip:10.0." + (i / 256) + "." + (i % 256);
+        }
+
+        int iterations = 500_000;
+        for (int i = 0; i < iterations; i++) {
+            filter.tryConsume(keys[i % keys.length], limit);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            filter.tryConsume(keys[i % keys.length], limit);
+        }
+        long nanosPerCheck = (System.nanoTime() - start) / iterations;
+        log.info("Rate limiting bucket check: {} ns", nanosPerCheck);
+
+        // A loose bound, only meant to catch a check becoming blocking or contended
+        assertThat(nanosPerCheck).isLessThan(TimeUnit.MICROSECONDS.toNanos(20));
+    }
+
+    private static MockServerWebExchange exchange(String routeId, String ip, String... forwardedFor) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+            MockServerHttpRequest
+                .get("/services/test/api")
+                .remoteAddress(new InetSocketAddress(ip, 12345))
+                .header("X-Forwarded-For", forwardedFor)
+        );
+        exchange.getAttributes().put(GATEWAY_ROUTE_ATTR, Route.async().id(routeId).uri("http://localhost").predicate(e -> true).build());
+        return exchange;
+    }
+
+    private static String createToken(String login) {
+        return tokenProvider()
+            .createToken(
+                new UsernamePasswordAuthenticationToken(
+                    login,
+                    "test-password",
+                    Collections.singletonList(new SimpleGrantedAuthority(AuthoritiesConstants.USER))
+                ),
+                false
+            );
+    }
+
+    private static TokenProvider tokenProvider() {
+        JHipsterProperties jHipsterProperties = new JHipsterProperties();
+        String base64Secret = "fd54a45s65fds737b9aafcb3412e07ed99b267f33413274720ddbb7f6c5e64e9f14075f2d7ed041592f0b7657baf8";
+        jHipsterProperties.getSecurity().getAuthentication().getJwt().setBase64Secret(base64Secret);
+        TokenProvider tokenProvider = new TokenProvider(
+            jHipsterProperties,
+            new ApplicationProperties(),
+            new SecurityMetersService(new SimpleMeterRegistry())
+        );
+        ReflectionTestUtils.setField(tokenProvider, "tokenValidityInMilliseconds", 60000);
+        return tokenProvider;
+    }
+}
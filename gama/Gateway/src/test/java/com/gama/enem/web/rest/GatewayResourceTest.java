@@ -0,0 +1,88 @@
+package com.gama.enem.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.gama.enem.web.rest.vm.RouteVM;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.ReactiveDiscoveryClient;
+import org.springframework.cloud.gateway.handler.predicate.PathRoutePredicateFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.route.RouteLocator;
+import reactor.core.publisher.Flux;
+
+class GatewayResourceTest {
+
+    private final RouteLocator routeLocator = mock(RouteLocator.class);
+
+    private final ReactiveDiscoveryClient discoveryClient = mock(ReactiveDiscoveryClient.class);
+
+    private final ServiceInstance instance = new DefaultServiceInstance("enem-1", "enem", "localhost", 8081, false);
+
+    private GatewayResource gatewayResource;
+
+    @BeforeEach
+    void setup() {
+        when(routeLocator.getRoutes()).thenReturn(Flux.just(route("enem"), route("gatewayenem")));
+        when(discoveryClient.getInstances("enem")).thenReturn(Flux.just(instance));
+        gatewayResource = new GatewayResource(routeLocator, discoveryClient, "GatewayEnem");
+    }
+
+    @Test
+    void testActiveRoutesExcludeGateway() {
+        List<RouteVM> routes = gatewayResource.activeRoutes().block().getBody();
+
+        assertThat(routes).hasSize(1);
+        assertThat(routes.get(0).getServiceId()).isEqualTo("enem");
+        assertThat(routes.get(0).getPath()).isEqualTo("/services/enem/**");
+        assertThat(routes.get(0).getServiceInstances()).containsExactly(instance);
+    }
+
+    @Test
+    void testActiveRoutesAreServedFromSnapshot() {
+        gatewayResource.activeRoutes().block();
+        gatewayResource.activeRoutes().block();
+
+        verify(routeLocator, times(1)).getRoutes();
+        verify(discoveryClient, times(1)).getInstances("enem");
+    }
+
+    @Test
+    void testSnapshotIsTakenAgainAfterRefresh() {
+        gatewayResource.activeRoutes().block();
+        when(discoveryClient.getInstances("enem")).thenReturn(Flux.empty());
+
+        gatewayResource.refreshRoutes();
+        List<RouteVM> routes = gatewayResource.activeRoutes().block().getBody();
+
+        verify(routeLocator, times(2)).getRoutes();
+        assertThat(routes.get(0).getServiceInstances()).isEmpty();
+    }
+
+    @Test
+    void testFailedSnapshotIsNotKept() {
+        when(routeLocator.getRoutes()).thenReturn(Flux.error(new IllegalStateException("test")), Flux.just(route("enem")));
+
+        assertThatIllegalStateException().isThrownBy(() -> gatewayResource.activeRoutes().block());
+        assertThat(gatewayResource.activeRoutes().block().getBody()).hasSize(1);
+    }
+
+    private static Route route(String serviceId) {
+        String path = "/services/" + serviceId + "/**";
+        return Route
+            .async()
+            .id("ReactiveCompositeDiscoveryClient_" + serviceId.toUpperCase())
+            .uri("lb://" + serviceId.toUpperCase())
+            .predicate(new PathRoutePredicateFactory().apply(config -> config.setPatterns(Collections.singletonList(path))))
+            .build();
+    }
+}
@@ -0,0 +1,74 @@
+package com.gama.enem.security;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+/**
+ * Registry of the canonical, immutable sets of authorities read from the JWT tokens.
+ * <p>
+ * There are only a handful of distinct combinations of authorities, so each set is built once, keyed by the raw
+ * value of the authorities claim, and then reused by all the requests.
+ */
+public final class AuthorityRegistry {
+
+    /**
+     * Upper bound of the interned sets and authorities; past it, they are still built but no longer kept.
+     */
+    static final int MAX_INTERNED_SETS = 1024;
+
+    private static final Map<String, Set<GrantedAuthority>> SETS = new ConcurrentHashMap<>();
+
+    private static final Map<String, GrantedAuthority> AUTHORITIES = new ConcurrentHashMap<>();
+
+    private AuthorityRegistry() {}
+
+    /**
+     * Get the authorities of a claim.
+     *
+     * @param claim the comma-separated authorities.
+     * @return the canonical set of authorities, empty if the claim is {@code null}.
+     */
+    public static Set<GrantedAuthority> forClaim(String claim) {
+        if (claim == null) {
+            return Collections.emptySet();
+        }
+        Set<GrantedAuthority> authorities = SETS.get(claim);
+        if (authorities != null) {
+            return authorities;
+        }
+        authorities = build(claim);
+        if (SETS.size() < MAX_INTERNED_SETS) {
+            Set<GrantedAuthority> previous = SETS.putIfAbsent(claim, authorities);
+            return previous != null ? previous : authorities;
+        }
+        return authorities;
+    }
+
+    private static Set<GrantedAuthority> build(String claim) {
+        Set<GrantedAuthority> authorities = new LinkedHashSet<>();
+        for (String name : claim.split(",")) {
+            if (!name.trim().isEmpty()) {
+                authorities.add(authority(name));
+            }
+        }
+        return Collections.unmodifiableSet(authorities);
+    }
+
+    private static GrantedAuthority authority(String name) {
+        GrantedAuthority authority = AUTHORITIES.get(name);
+        if (authority != null) {
+            return authority;
+        }
+        authority = new SimpleGrantedAuthority(name);
+        if (AUTHORITIES.size() < MAX_INTERNED_SETS) {
+            GrantedAuthority previous = AUTHORITIES.putIfAbsent(name, authority);
+            return previous != null ? previous : authority;
+        }
+        return authority;
+    }
+}